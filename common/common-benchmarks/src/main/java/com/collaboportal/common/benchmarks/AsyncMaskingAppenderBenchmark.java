@@ -0,0 +1,104 @@
+package com.collaboportal.common.benchmarks;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.collaboportal.common.appender.MaskingAsyncAppender;
+import com.collaboportal.common.encoder.SensitiveDataMaskingEncoder;
+import com.collaboportal.common.filter.SensitiveDataMaskingFilter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * リクエストスレッドから見たマスキング付きログ出力のコストのベンチマーク
+ * 1回の操作は、リクエストの処理（{@code work} トークン分のCPU処理）と機密情報を含むログ1行の出力です。
+ * {@code sync} はフィルター・マスキングエンコーダー・出力をリクエストスレッドで行い、
+ * {@code async} は {@link MaskingAsyncAppender} のキューに渡してワーカースレッドで行います。
+ * 出力先は書き込みを捨てるストリームです。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncMaskingAppenderBenchmark {
+
+    private static final String PATTERN = "date:%d{yyyy-MM-dd HH:mm:ss}\tthread:%thread\tX-Track:%X{X-Track}"
+            + "\tlevel:%-5level\tlogger:%-48logger{48}\tmessage:%replace(%msg){'(\\r\\n|\\r|\\n)','$1  '}%n"
+            + "%replace(%replace(%xEx){'(\\r\\n|\\r|\\n)','$1  '}){'  $',''}%nopex";
+
+    @Param({ "sync", "async" })
+    public String mode;
+
+    @Param({ "2000" })
+    public long work;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        SensitiveDataMaskingFilter filter = new SensitiveDataMaskingFilter();
+        filter.setContext(context);
+        filter.start();
+        SensitiveDataMaskingEncoder encoder = new SensitiveDataMaskingEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setName("MASKED");
+        output.setEncoder(encoder);
+        output.addFilter(filter);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        logger = context.getLogger("com.collaboportal.common.filter.AuthorizationServletFilter");
+        logger.setAdditive(false);
+        if ("async".equals(mode)) {
+            MaskingAsyncAppender async = new MaskingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_MASKED");
+            async.addAppender(output);
+            async.start();
+            logger.addAppender(async);
+        } else {
+            logger.addAppender(output);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void request() {
+        Blackhole.consumeCPU(work);
+        logger.info("login request user={} mail={} password={}", "alice", "alice.smith@example.com", "hunter2");
+    }
+}
@@ -0,0 +1,79 @@
+package com.collaboportal.common.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.filter.RequestContextFilter;
+
+import com.collaboportal.common.filter.AuthorizationServletFilter;
+import com.collaboportal.common.filter.CommonContextBindingFilter;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionStrategy;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * 認可フィルターチェーン全体のベンチマーク
+ * Spring Boot 実行時と同じ順序で {@link RequestContextFilter}、{@link CommonContextBindingFilter}、
+ * {@link AuthorizationServletFilter} を通過し、終端のサーブレットまでの1リクエスト分を計測します。
+ *
+ * <p>アロケーションレートは {@code -prof gc} を付けて実行してください。</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthFilterChainBenchmark {
+
+    /** 認証対象パス、除外パス、除外パス（完全一致） */
+    @Param({ "/api/v1/users/42", "/static/js/app.js", "/login.html" })
+    public String path;
+
+    private MockWebContext web;
+    private FilterChain chain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        web = MockWebContext.create("GET", path);
+        web.request.setCookies(new Cookie("AuthToken", "benchmark-token"), new Cookie("JSESSIONID", "0123456789"));
+
+        AuthDecisionStrategy strategy = (req, resp) -> req.getCookieValue("AuthToken") != null
+                ? AuthDecision.allow()
+                : AuthDecision.unauthorized("unauthorized");
+        AuthorizationServletFilter authFilter = new AuthorizationServletFilter()
+                .addInclude("/**")
+                .addExclude(RouteFixtures.excludes().toArray(new String[0]))
+                .setAuth(strategy);
+        CommonContextBindingFilter bindingFilter = new CommonContextBindingFilter();
+        RequestContextFilter requestContextFilter = new RequestContextFilter();
+
+        FilterChain servlet = (req, resp) -> {
+        };
+        FilterChain afterBinding = (req, resp) -> authFilter.doFilter(req, resp, servlet);
+        FilterChain afterRequestContext = (req, resp) -> bindingFilter.doFilter(req, resp, afterBinding);
+        chain = (req, resp) -> requestContextFilter.doFilter(req, resp, afterRequestContext);
+    }
+
+    @Benchmark
+    public int doFilter() throws IOException, ServletException {
+        web.response.reset();
+        chain.doFilter(web.request, web.response);
+        return web.response.getStatus();
+    }
+}
@@ -0,0 +1,77 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.Router.CommonRouter;
+import com.collaboportal.common.Router.RouteTrieMatcher;
+import com.collaboportal.common.Router.RouteVerdictCache;
+import com.collaboportal.common.spring.ContextForSpringInJakartaServlet;
+
+/**
+ * {@link CommonRouter#isMatch(List, String)} のベンチマーク
+ * パターン件数ごとに、パターンを順に照合する従来方式とコンパイル済みトライ木・判定キャッシュを比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommonRouterBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int patternCount;
+
+    @Param({ "hit", "miss" })
+    public String scenario;
+
+    private List<String> patterns;
+    private RouteTrieMatcher matcher;
+    private RouteVerdictCache verdictCache;
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigManager.setCommonContext(new ContextForSpringInJakartaServlet());
+        patterns = RouteFixtures.patterns(patternCount);
+        matcher = RouteTrieMatcher.compile(patterns);
+        verdictCache = new RouteVerdictCache(matcher);
+        path = "hit".equals(scenario) ? RouteFixtures.lastHitPath(patternCount) : RouteFixtures.missPath();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigManager.clearContext();
+    }
+
+    @Benchmark
+    public boolean isMatchList() {
+        return CommonRouter.isMatch(patterns, path);
+    }
+
+    @Benchmark
+    public boolean trieMatcher() {
+        return matcher.isTarget(path);
+    }
+
+    @Benchmark
+    public boolean verdictCache() {
+        return verdictCache.isTarget(path);
+    }
+}
@@ -0,0 +1,88 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.collaboportal.common.Router.CommonRouter;
+import com.collaboportal.common.Router.RouteRules;
+import com.collaboportal.common.Router.RouteTrieMatcher;
+import com.collaboportal.common.exception.StopMatchException;
+
+/**
+ * {@link com.collaboportal.common.Router.CommonRouterStaff} のチェーン評価のベンチマーク
+ * 文字列パターンのチェーン、コンパイル済みマッチャーのチェーン、例外による早期終了、
+ * および {@link RouteRules} による戻り値ベースの評価を比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommonRouterStaffBenchmark {
+
+    @Param({ "/api/v1/users/42", "/static/app.js" })
+    public String path;
+
+    private List<String> includes;
+    private List<String> excludes;
+    private RouteTrieMatcher matcher;
+    private RouteRules<String> rules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockWebContext.bind("GET", path);
+        includes = List.of("/api/**", "/pages/**", "/");
+        excludes = RouteFixtures.excludes();
+        matcher = CommonRouter.compile(includes, excludes);
+        rules = CommonRouter.<String>rules()
+                .rule().match(includes).notMatch(excludes).then("auth")
+                .otherwise("none")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockWebContext.unbind();
+    }
+
+    @Benchmark
+    public void stringChain(Blackhole bh) {
+        CommonRouter.match(includes).notMatch(excludes).check(() -> bh.consume(path));
+    }
+
+    @Benchmark
+    public void compiledChain(Blackhole bh) {
+        CommonRouter.match(matcher).check(() -> bh.consume(path));
+    }
+
+    @Benchmark
+    public void stopChain(Blackhole bh) {
+        try {
+            CommonRouter.match(matcher).stop();
+            bh.consume(path);
+        } catch (StopMatchException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public String compiledRules() {
+        return CommonRouter.resolveCurrURI(rules);
+    }
+}
@@ -0,0 +1,137 @@
+package com.collaboportal.common.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.config.BaseConfig;
+import com.collaboportal.common.config.CommonConfig;
+import com.collaboportal.common.config.ConfigBinder;
+import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.utils.ObjectUtil;
+
+/**
+ * 設定クラスへの値の割り当てのベンチマーク
+ * {@link CommonConfig} と {@link LogMaskConfig} について、従来のリフレクションによる割り当て
+ * （{@code getDeclaredFields} + {@code setAccessible} + {@code ObjectUtil#getValueByType}）と
+ * {@link ConfigBinder} による事前作成済みの割り当て計画を比較します。
+ *
+ * <ul>
+ * <li>{@code startup}: 新しいJVMでの初回割り当て（割り当て計画の作成を含む起動時間）</li>
+ * <li>{@code reload}: 計画作成後の割り当て（再読み込みのたびに発生する処理）</li>
+ * </ul>
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ConfigBindingBenchmark {
+
+    @Param({ "common", "logMask" })
+    public String config;
+
+    @Param({ "reflective", "binder" })
+    public String binder;
+
+    private Class<? extends BaseConfig> configClass;
+    private Map<String, String> values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 実アプリケーションでは設定の読み込み前にSpringがリフレクション周りの初期化を済ませているため、
+        // 計測対象外のクラスで割り当て計画を1度作成し、JVM全体の初期化コストを計測から除外する
+        ConfigBinder.of(WarmupConfig.class).bind(Map.of("name", "warmup", "size", "1", "enabled", "true"));
+        values = new HashMap<>();
+        if ("common".equals(config)) {
+            configClass = CommonConfig.class;
+            values.put("noAuthUrl", "/auth/*,/,/error,/health_check");
+            values.put("indexPage", "https://portal.example.com");
+            values.put("secretKey", "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJr");
+            values.put("collaboidBaseurl", "https://id.example.com");
+            values.put("envFlag", "1");
+            values.put("collaboportalBaseurl", "https://portal.example.com");
+            values.put("noAuthorization", "0");
+            values.put("isCookieSecure", "true");
+            values.put("callback", "https://portal.example.com/auth/callback");
+            values.put("cookieExpiration", "3600");
+        } else {
+            configClass = LogMaskConfig.class;
+            values.put("enableLogMasking", "true");
+            values.put("enableAopMasking", "true");
+            values.put("maskMethodParameters", "true");
+            values.put("maskMethodReturnValues", "false");
+            values.put("maskExceptionMessages", "true");
+            values.put("enableMaskingStats", "false");
+            values.put("enablePasswordMasking", "true");
+            values.put("enableEmailMasking", "true");
+            values.put("enableJwtTokenMasking", "true");
+            values.put("maxTextLengthForMasking", "10000");
+        }
+    }
+
+    /**
+     * 起動時の初回割り当て（フォークごとに1回だけ計測）
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public Object startup() throws Exception {
+        return bind();
+    }
+
+    /**
+     * 再読み込み時の割り当て
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public Object reload() throws Exception {
+        return bind();
+    }
+
+    private Object bind() throws Exception {
+        if ("binder".equals(binder)) {
+            return ConfigBinder.of(configClass).bind(values);
+        }
+        return reflectiveBind(values, configClass.getDeclaredConstructor().newInstance());
+    }
+
+    /**
+     * JVM初期化用の設定クラス
+     */
+    public static class WarmupConfig {
+        private String name;
+        private int size;
+        private boolean enabled;
+    }
+
+    // 従来の CommonConfigFactory#initPropByMap と同じ割り当て
+    private static Object reflectiveBind(Map<String, String> map, Object obj) throws IllegalAccessException {
+        for (Field field : obj.getClass().getDeclaredFields()) {
+            String value = map.get(field.getName());
+            if (value == null) {
+                continue;
+            }
+            Object valueConvert = ObjectUtil.getValueByType(value, field.getType());
+            field.setAccessible(true);
+            field.set(obj, valueConvert);
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,127 @@
+package com.collaboportal.common.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.collaboportal.common.config.ConfigSourceIndex;
+
+/**
+ * 設定ソースの読み込みのベンチマーク
+ * {@code application-common.properties} の全プレフィックスについて、従来の設定クラスごとの読み込み
+ * （ファイルの再解析 + 正規表現によるプレースホルダー解決 + 全環境変数の走査）と、
+ * {@link ConfigSourceIndex} による1度だけの読み込み + トライ木からの取得を比較します。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigSourceBenchmark {
+
+    // application-common.properties に含まれる設定プレフィックス（設定クラスの数に相当）
+    private static final String[] PREFIXES = {
+            "common.util", "common.auth", "common.execution", "common.config", "log.masking",
+            "oauth2.providers", "oauth2.security", "oauth2.filter", "oauth2.callback", "oauth2.state" };
+
+    private static final Pattern ENV_PATTERN = Pattern.compile("\\$\\{(.*?)\\}");
+
+    /** 環境変数の数 */
+    @Param({ "50", "500" })
+    public int envSize;
+
+    private byte[] file;
+    private Map<String, String> environment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream("application-common.properties")) {
+            file = is.readAllBytes();
+        }
+        environment = new HashMap<>();
+        for (int i = 0; i < envSize; i++) {
+            environment.put("APP_VARIABLE_" + i, "value-" + i);
+        }
+        // 既定値のないプレースホルダーはすべて解決できるようにする（警告ログを計測に含めない）
+        for (String name : new String[] { "INDEX_PAGE", "SECRET_KEY", "collaboid_baseurl", "ENV_FLAG",
+                "collaboportal_baseurl", "NO_AUTHORIZATION", "CALLBACK_URL", "COOKIE_EXPIRATION_TIME" }) {
+            environment.put(name, "value");
+        }
+        environment.put("COMMON_UTIL_ENV_FLAG", "1");
+    }
+
+    /**
+     * 従来方式: 設定クラスごとにファイルを解析し、環境変数を全件走査する
+     */
+    @Benchmark
+    public void perClass(Blackhole bh) throws IOException {
+        for (String prefix : PREFIXES) {
+            Properties prop = load();
+            Map<String, String> configMap = new HashMap<>();
+            String prefixWithDot = prefix + ".";
+            for (String key : prop.stringPropertyNames()) {
+                if (key.startsWith(prefixWithDot)) {
+                    configMap.put(key.substring(prefixWithDot.length()), resolve(prop.getProperty(key)));
+                }
+            }
+            String envPrefix = prefix.toUpperCase().replace('.', '_') + "_";
+            for (Map.Entry<String, String> entry : environment.entrySet()) {
+                if (entry.getKey().startsWith(envPrefix)) {
+                    configMap.putIfAbsent(entry.getKey().substring(envPrefix.length()).toLowerCase().replace('_', '.'),
+                            entry.getValue());
+                }
+            }
+            bh.consume(configMap);
+        }
+    }
+
+    /**
+     * 索引方式: ファイルと環境変数を1度だけ読み込み、プレフィックスごとにトライ木から取得する
+     */
+    @Benchmark
+    public void indexed(Blackhole bh) throws IOException {
+        ConfigSourceIndex index = ConfigSourceIndex.of("benchmark", load(), environment);
+        for (String prefix : PREFIXES) {
+            bh.consume(index.getByPrefix(prefix));
+        }
+    }
+
+    private Properties load() throws IOException {
+        Properties prop = new Properties();
+        prop.load(new ByteArrayInputStream(file));
+        return prop;
+    }
+
+    // 従来の CommonConfigFactory#resolveEnvironmentVariables と同じ解決
+    private String resolve(String value) {
+        Matcher matcher = ENV_PATTERN.matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String envValue = environment.get(matcher.group(1));
+            matcher.appendReplacement(result, envValue != null ? envValue : "");
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.CommonHolder;
+import com.collaboportal.common.spring.BoundRequestContext;
+import com.collaboportal.common.spring.ContextForSpringInJakartaServlet;
+
+/**
+ * {@link CommonHolder} 経由のコンテキスト取得のベンチマーク
+ * 1リクエスト内で認証フィルター・戦略・コントローラーがRequest/Responseを複数回取得する状況を想定し、
+ * 取得のたびにラッパーを生成する {@link ContextForSpringInJakartaServlet} と
+ * リクエスト単位で束縛する {@link BoundRequestContext} を比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextAccessBenchmark {
+
+    @Param({ "perCall", "bound" })
+    public String mode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockWebContext web = MockWebContext.bind("GET", "/api/v1/users/42");
+        web.request.addHeader("Authorization-Type", "oauth2");
+        if ("bound".equals(mode)) {
+            ConfigManager.setCommonContext(new BoundRequestContext(web.request, web.response));
+        } else {
+            ConfigManager.setCommonContext(new ContextForSpringInJakartaServlet());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockWebContext.unbind();
+    }
+
+    /**
+     * 1リクエスト分の典型的な取得回数（パス判定・ヘッダー参照・Cookie参照・レスポンス操作）
+     */
+    @Benchmark
+    public void typicalRequest(Blackhole bh) {
+        bh.consume(CommonHolder.getRequest().getRequestPath());
+        bh.consume(CommonHolder.getRequest().getHeader("Authorization-Type"));
+        bh.consume(CommonHolder.getRequest().getMethod());
+        bh.consume(CommonHolder.getResponse());
+        bh.consume(CommonHolder.getStorage());
+    }
+}
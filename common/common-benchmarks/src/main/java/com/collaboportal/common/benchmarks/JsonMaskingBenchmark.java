@@ -0,0 +1,83 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.masking.JsonStreamMasker;
+import com.collaboportal.common.masking.SensitiveDataMasker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * APIペイロード（JSON）の機密情報マスキングのベンチマーク
+ * 文書全体を {@code readTree} で木構造にして文字列化し、フィールドごとに正規表現で置換する従来方式と、
+ * トークン単位で書き写す {@link JsonStreamMasker} を比較します。
+ * {@code items} はペイロード内の配列要素数です（1要素あたり約120文字）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMaskingBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] SENSITIVE_FIELDS = { "password", "pwd", "token", "secret", "key" };
+
+    @Param({ "8", "256" })
+    public int items;
+
+    private String payload;
+    private JsonStreamMasker masker;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("{\"requestId\":\"r-1\",\"token\":\"abc.def.ghi\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append(100 + i).append(".50")
+                    .append(",\"owner\":\"user").append(i).append("@example.com\"")
+                    .append(",\"secret\":\"s-").append(i).append("\",\"active\":true}");
+        }
+        payload = sb.append("]}").toString();
+        LogMaskConfig config = new LogMaskConfig();
+        config.setMaxTextLengthForMasking(Integer.MAX_VALUE);
+        masker = SensitiveDataMasker.of(config).json();
+    }
+
+    @Benchmark
+    public String readTreeAndRegex() throws Exception {
+        String masked = OBJECT_MAPPER.readTree(payload).toString();
+        Map<String, String> fields = new java.util.HashMap<>();
+        for (String field : SENSITIVE_FIELDS) {
+            fields.put(field, "****");
+        }
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            masked = masked.replaceAll("\"" + entry.getKey() + "\"\\s*:\\s*\"[^\"]*\"",
+                    "\"" + entry.getKey() + "\":\"" + entry.getValue() + "\"");
+        }
+        return masked;
+    }
+
+    @Benchmark
+    public String streaming() {
+        return masker.mask(payload);
+    }
+}
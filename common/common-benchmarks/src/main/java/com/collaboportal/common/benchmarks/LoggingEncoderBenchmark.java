@@ -0,0 +1,132 @@
+package com.collaboportal.common.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.encoder.SensitiveDataMaskingEncoder;
+import com.collaboportal.common.masking.MaskingMemo;
+import com.collaboportal.common.masking.SensitiveDataMasker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+
+/**
+ * ログイベントのエンコード（レイアウト適用＋バイト列変換）のベンチマーク
+ * 本番と同じパターン（logback-spring.xml）で、マスキングなしのPatternLayoutEncoder、
+ * メッセージをマスキングしてイベントを作り直してから通常のレイアウトを適用する従来方式、
+ * 再利用バッファに直接書き込む {@link SensitiveDataMaskingEncoder} を比較します。
+ * 割り当て量は {@code -prof gc}（{@code gc.alloc.rate.norm}）で確認します。
+ * {@code twoAppenders} は同じイベントを2つのAppender（STDOUT_MASKED・FILE_MASKED）が出力する場合で、
+ * マスキングの結果はイベントごとのメモ（{@link MaskingMemo}）で共有されます。
+ * メモが前回の呼び出しの結果を再利用しないよう、2つのイベントを交互に使用します。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingEncoderBenchmark {
+
+    private static final String PATTERN = "date:%d{yyyy-MM-dd HH:mm:ss}\tthread:%thread\tX-Track:%X{X-Track}"
+            + "\tlevel:%-5level\tlogger:%-48logger{48}\tmessage:%replace(%msg){'(\\r\\n|\\r|\\n)','$1  '}%n"
+            + "%replace(%replace(%xEx){'(\\r\\n|\\r|\\n)','$1  '}){'  $',''}%nopex";
+    private static final String CLEAN = "request completed uri=/api/v1/normality-check-2 status=200 elapsed=12ms";
+    private static final String SECRET = "login request user=alice mail=alice.smith@example.com password=hunter2";
+
+    @Param({ "clean", "secret" })
+    public String line;
+
+    private LoggerContext context;
+    private Logger logger;
+    private PatternLayoutEncoder plainEncoder;
+    private SensitiveDataMaskingEncoder maskingEncoder;
+    private LoggingEvent[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("com.collaboportal.common.filter.AuthorizationServletFilter");
+
+        plainEncoder = new PatternLayoutEncoder();
+        plainEncoder.setContext(context);
+        plainEncoder.setPattern(PATTERN);
+        plainEncoder.setCharset(StandardCharsets.UTF_8);
+        plainEncoder.start();
+
+        maskingEncoder = new SensitiveDataMaskingEncoder();
+        maskingEncoder.setContext(context);
+        maskingEncoder.setPattern(PATTERN);
+        maskingEncoder.setCharset(StandardCharsets.UTF_8);
+        maskingEncoder.start();
+
+        String message = "clean".equals(line) ? CLEAN : SECRET;
+        events = new LoggingEvent[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new LoggingEvent(Logger.FQCN, logger, Level.INFO, message, null, null);
+            events[i].prepareForDeferredProcessing();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        plainEncoder.stop();
+        maskingEncoder.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public byte[] unmasked() {
+        return plainEncoder.encode(nextEvent());
+    }
+
+    @Benchmark
+    public byte[] maskedEventCopy() {
+        LoggingEvent event = nextEvent();
+        String message = event.getFormattedMessage();
+        String masked = SensitiveDataMasker.current().maskMessage(message);
+        if (masked == message) {
+            return plainEncoder.encode(event);
+        }
+        LoggingEvent copy = new LoggingEvent(Logger.FQCN, logger, event.getLevel(), masked, null, null);
+        copy.setTimeStamp(event.getTimeStamp());
+        copy.setThreadName(event.getThreadName());
+        return plainEncoder.encode(copy);
+    }
+
+    @Benchmark
+    public byte[] inPlaceMasking() {
+        return maskingEncoder.encode(nextEvent());
+    }
+
+    @Benchmark
+    public byte[] twoAppenders() {
+        LoggingEvent event = nextEvent();
+        maskingEncoder.encode(event);
+        return maskingEncoder.encode(event);
+    }
+
+    private LoggingEvent nextEvent() {
+        next ^= 1;
+        return events[next];
+    }
+}
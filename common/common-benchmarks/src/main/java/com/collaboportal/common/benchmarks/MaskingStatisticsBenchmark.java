@@ -0,0 +1,73 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.masking.MaskingMemo;
+import com.collaboportal.common.masking.MaskingStatistics;
+import com.collaboportal.common.masking.SensitiveDataMasker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * マスキング統計（{@link MaskingStatistics}）の集計のコストのベンチマーク
+ * ログイベント1件のマスキング（{@link MaskingMemo}）を、集計の有効・無効で比較します。
+ * 有効時は処理時間の計測（{@code System.nanoTime} 2回）と {@code LongAdder} への加算が加わります。
+ * 4スレッドで実行し、カウンターの競合がないことを確認します。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Thread)
+public class MaskingStatisticsBenchmark {
+
+    private static final String SECRET = "login request user=alice mail=alice.smith@example.com password=hunter2";
+
+    @Param({ "false", "true" })
+    public boolean stats;
+
+    private SensitiveDataMasker masker;
+    private LoggingEvent[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LogMaskConfig config = new LogMaskConfig();
+        config.setEnableMaskingStats(stats);
+        ConfigManager.setConfig(config);
+        masker = SensitiveDataMasker.of(config);
+
+        Logger logger = new LoggerContext().getLogger("com.collaboportal.common.filter.AuthorizationServletFilter");
+        events = new LoggingEvent[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new LoggingEvent(Logger.FQCN, logger, Level.INFO, SECRET, null, null);
+        }
+    }
+
+    @Benchmark
+    public String maskEvent() {
+        // メモが前回の結果を再利用しないよう、2つのイベントを交互に使用する
+        next ^= 1;
+        return MaskingMemo.maskedMessage(events[next], masker);
+    }
+}
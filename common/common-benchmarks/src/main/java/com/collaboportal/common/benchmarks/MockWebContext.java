@@ -0,0 +1,58 @@
+package com.collaboportal.common.benchmarks;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.spring.ContextForSpringInJakartaServlet;
+
+/**
+ * ベンチマーク用のモックWebコンテキスト
+ * モックのリクエスト/レスポンスを現在のスレッドにバインドし、
+ * {@link com.collaboportal.common.context.CommonHolder} から参照できる状態にします。
+ */
+final class MockWebContext {
+
+    final MockHttpServletRequest request;
+    final MockHttpServletResponse response;
+
+    private MockWebContext(MockHttpServletRequest request, MockHttpServletResponse response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    /**
+     * 指定パスのモックリクエストを生成します（スレッドへのバインドは行いません）。
+     *
+     * @param method HTTPメソッド
+     * @param path   リクエストパス
+     * @return モックWebコンテキスト
+     */
+    static MockWebContext create(String method, String path) {
+        return new MockWebContext(new MockHttpServletRequest(method, path), new MockHttpServletResponse());
+    }
+
+    /**
+     * 指定パスのモックリクエストを生成し、現在のスレッドにバインドします。
+     *
+     * @param method HTTPメソッド
+     * @param path   リクエストパス
+     * @return モックWebコンテキスト
+     */
+    static MockWebContext bind(String method, String path) {
+        MockWebContext context = create(method, path);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(context.request, context.response));
+        ConfigManager.setCommonContext(new ContextForSpringInJakartaServlet());
+        return context;
+    }
+
+    /**
+     * 現在のスレッドのバインドを解除します。
+     */
+    static void unbind() {
+        ConfigManager.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
@@ -0,0 +1,47 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.collaboportal.common.utils.PathPatternParserUtil;
+
+/**
+ * {@link PathPatternParserUtil#match(String, String)} のベンチマーク
+ * キャッシュ済みパターンでの照合と、毎回パースする従来方式を比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathPatternMatchBenchmark {
+
+    @Param({ "/api/v1/**", "/api/v1/users/{id}", "/static/*.js" })
+    public String pattern;
+
+    @Param({ "/api/v1/users/42" })
+    public String path;
+
+    @Benchmark
+    public boolean cachedMatch() {
+        return PathPatternParserUtil.match(pattern, path);
+    }
+
+    @Benchmark
+    public boolean parseEveryTime() {
+        return PathPatternParser.defaultInstance.parse(pattern).matches(PathContainer.parsePath(path));
+    }
+}
@@ -0,0 +1,73 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.TimingStage;
+
+/**
+ * 処理段階ごとの処理時間記録のベンチマーク
+ * 複数スレッドから同じ段階を記録した場合の、1段階あたりの計測コスト（現在のリクエストの取得・開始・終了・ヒストグラムへの加算）を測定します。
+ * {@code serverTiming} はリクエスト1件分の {@code Server-Timing} ヘッダーの値の作成コストです。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Thread)
+public class RequestTimingBenchmark {
+
+    private static final TimingStage STAGE = TimingStage.of("bench");
+
+    private RequestTimings timings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockWebContext context = MockWebContext.bind("GET", "/api/v1/resource");
+        timings = RequestTimings.of(context.request);
+        timings.record(TimingStage.CONTEXT_BINDING, 12_000);
+        timings.record(TimingStage.BEFORE_AUTH, 3_000);
+        timings.record(TimingStage.AUTHENTICATE, 850_000);
+        timings.record(TimingStage.CONTROLLER, 4_200_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockWebContext.unbind();
+    }
+
+    @Benchmark
+    public long nanoTimeOnly() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public long timedStage() {
+        RequestTimings current = RequestTimings.current();
+        long start = current.begin(STAGE);
+        current.end(STAGE, start);
+        return start;
+    }
+
+    @Benchmark
+    public String serverTiming() {
+        return timings.toServerTiming();
+    }
+}
@@ -0,0 +1,68 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ベンチマーク用のルートパターンとリクエストパスの生成ユーティリティ
+ * 実運用の設定に近い、リテラル・変数・ワイルドカード・複合パターンを混在させたパターン群を生成します。
+ */
+final class RouteFixtures {
+
+    private RouteFixtures() {
+    }
+
+    /**
+     * 指定件数のルートパターンを生成します。
+     *
+     * @param count パターン件数
+     * @return ルートパターン
+     */
+    static List<String> patterns(int count) {
+        List<String> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0 -> patterns.add("/api/v1/module" + i + "/**");
+                case 1 -> patterns.add("/api/v1/module" + i + "/items/{id}");
+                case 2 -> patterns.add("/pages/section" + i + "/*");
+                default -> patterns.add("/static/app" + i + "/*.js");
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * 除外パターンを生成します。
+     *
+     * @return 除外パターン
+     */
+    static List<String> excludes() {
+        return List.of("/static/**", "/favicon.ico", "/.well-known/**", "/auth/callback", "/login.html",
+                "/auth/login", "/error");
+    }
+
+    /**
+     * パターン群の最後のパターンにマッチするパス（全パターンを走査する最悪ケース）を返します。
+     *
+     * @param count パターン件数
+     * @return マッチするパス
+     */
+    static String lastHitPath(int count) {
+        int i = count - 1;
+        return switch (i % 4) {
+            case 0 -> "/api/v1/module" + i + "/orders/42";
+            case 1 -> "/api/v1/module" + i + "/items/42";
+            case 2 -> "/pages/section" + i + "/index";
+            default -> "/static/app" + i + "/main.js";
+        };
+    }
+
+    /**
+     * どのパターンにもマッチしないパスを返します。
+     *
+     * @return マッチしないパス
+     */
+    static String missPath() {
+        return "/unknown/resource/that/does/not/exist";
+    }
+}
@@ -0,0 +1,128 @@
+package com.collaboportal.common.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.CommonHolder;
+import com.collaboportal.common.context.ContextCarrier;
+import com.collaboportal.common.spring.BoundRequestContext;
+import com.collaboportal.common.utils.VirtualThreads;
+
+/**
+ * IdPの応答が遅い状況での認証コールバック処理の負荷試験
+ * 1回の呼び出しで {@value #CONCURRENT_REQUESTS} 件のリクエストを同時に投入し、
+ * 各リクエストはコンテキストを束縛した上でIdPとのトークン交換を模したブロッキング待機を行います。
+ *
+ * <ul>
+ * <li>{@code platform}: Tomcatの既定（maxThreads=200）と同じ固定サイズのプラットフォームスレッドプール</li>
+ * <li>{@code virtual}: リクエストごとの仮想スレッド（Java 21以降で実行してください）</li>
+ * <li>{@code scoped-value}: コンテキスト束縛にScopedValueを使用（ScopedValueが利用できるJVMで実行してください）</li>
+ * </ul>
+ *
+ * スループット（リクエスト/秒）に加え、試行終了時に生成されたプラットフォームスレッドのピーク数を出力します。
+ *
+ * <pre>
+ * java -jar benchmarks.jar SlowIdpLoadBenchmark -p idpLatencyMillis=100
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlowIdpLoadBenchmark {
+
+    // 1回の呼び出しで同時に投入するリクエスト数
+    private static final int CONCURRENT_REQUESTS = 1000;
+
+    // プラットフォームスレッドプールのサイズ（Tomcatのmax-threads既定値）
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({ "platform", "virtual" })
+    public String threads;
+
+    @Param({ "50" })
+    public long idpLatencyMillis;
+
+    @Param({ "thread-local", "scoped-value" })
+    public String carrier;
+
+    private ExecutorService executor;
+    private BoundRequestContext context;
+    private ThreadMXBean threadBean;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(threads) && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("仮想スレッドの計測にはJava 21以降が必要です: " + System.getProperty("java.version"));
+        }
+        if ("scoped-value".equals(carrier)) {
+            ConfigManager.setContextCarrier(ContextCarrier.scopedValue());
+        }
+        executor = "virtual".equals(threads)
+                ? VirtualThreads.newBlockingExecutor("idp-load-", PLATFORM_POOL_SIZE)
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        MockWebContext web = MockWebContext.create("GET", "/auth/callback");
+        context = new BoundRequestContext(web.request, web.response);
+        threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        System.out.printf("%n[SlowIdpLoad] threads=%s carrier=%s peakPlatformThreads=%d%n",
+                threads, ConfigManager.getContextCarrier().name(), threadBean.getPeakThreadCount());
+        ConfigManager.setContextCarrier(ContextCarrier.threadLocal());
+    }
+
+    /**
+     * 同時リクエストを投入し、すべての完了を待機します。
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void callbackBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    ConfigManager.runWithCommonContext(context, this::handleCallback);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    // コールバック処理（コンテキスト参照 → IdPへのトークン交換を模した待機 → コンテキスト参照）
+    private void handleCallback() throws InterruptedException {
+        CommonHolder.getRequest();
+        Thread.sleep(idpLatencyMillis);
+        CommonHolder.getResponse();
+    }
+}
@@ -0,0 +1,61 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.collaboportal.common.context.web.AttributeKey;
+import com.collaboportal.common.context.web.BaseStorage;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
+import com.collaboportal.common.servlet.StorageForServlet;
+
+/**
+ * リクエストスコープの値取得のベンチマーク
+ * 文字列キー（リクエスト属性 + {@code ObjectUtil#getValueByType} による変換）と
+ * 型付き属性キー（スロット表の配列参照）を比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StorageAccessBenchmark {
+
+    private static final AttributeKey<Long> USER_ID = AttributeKey.of("benchmark.userId", Long.class);
+
+    private BaseStorage storage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockWebContext web = MockWebContext.create("GET", "/api/v1/users/42");
+        storage = new StorageForServlet(web.request);
+        storage.set("traceId", "0af7651916cd43dd8448eb211c80319c");
+        storage.set("userId", "42");
+        storage.set(CommonAttributeKeys.TRACE_ID, "0af7651916cd43dd8448eb211c80319c");
+        storage.set(USER_ID, 42L);
+    }
+
+    @Benchmark
+    public void stringKeys(Blackhole bh) {
+        bh.consume(storage.getString("traceId"));
+        bh.consume(storage.getLong("userId"));
+    }
+
+    @Benchmark
+    public void typedKeys(Blackhole bh) {
+        bh.consume(storage.get(CommonAttributeKeys.TRACE_ID));
+        bh.consume(storage.get(USER_ID).longValue());
+    }
+}
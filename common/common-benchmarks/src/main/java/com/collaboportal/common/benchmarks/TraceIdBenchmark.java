@@ -0,0 +1,48 @@
+package com.collaboportal.common.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.collaboportal.common.utils.TraceIdGenerator;
+
+/**
+ * トレースID生成のベンチマーク
+ * 複数スレッドから同時に生成し、共有の {@code SecureRandom} を使用する {@code UUID.randomUUID()} と
+ * スレッドごとの乱数を使用する {@link TraceIdGenerator#fast()} を比較します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TraceIdBenchmark {
+
+    @Param({ "uuid", "fast" })
+    public String generator;
+
+    private TraceIdGenerator idGenerator;
+
+    @Setup
+    public void setUp() {
+        idGenerator = "uuid".equals(generator) ? TraceIdGenerator.uuid() : TraceIdGenerator.fast();
+    }
+
+    @Benchmark
+    public String nextTraceId() {
+        return idGenerator.nextTraceId();
+    }
+}
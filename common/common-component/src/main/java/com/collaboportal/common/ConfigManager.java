@@ -1,8 +1,14 @@
 package com.collaboportal.common;
 
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.zalando.logbook.Logbook;
 import org.zalando.logbook.servlet.LogbookFilter;
@@ -10,8 +16,11 @@ import org.zalando.logbook.servlet.LogbookFilter;
 import com.collaboportal.common.config.BaseConfig;
 import com.collaboportal.common.config.CommonConfig;
 import com.collaboportal.common.config.CommonConfigFactory;
+import com.collaboportal.common.config.ConfigSnapshot;
+import com.collaboportal.common.config.ConfigSubscription;
 import com.collaboportal.common.config.LogMaskConfig;
 import com.collaboportal.common.context.CommonContext;
+import com.collaboportal.common.context.ContextCarrier;
 import com.collaboportal.common.filter.LogTraceIdFilter;
 
 /**
@@ -20,39 +29,166 @@ import com.collaboportal.common.filter.LogTraceIdFilter;
  */
 public class ConfigManager {
 
-    // 設定クラスとそのインスタンスを保持するマップ
-    private static final Map<Class<? extends BaseConfig>, BaseConfig> configMap = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+
+    // 現在公開中の設定スナップショット（更新時は新しいスナップショットに参照ごと差し替える）
+    private static final AtomicReference<ConfigSnapshot> SNAPSHOT = new AtomicReference<>(ConfigSnapshot.EMPTY);
+
+    // 設定クラスごとの公開中の設定と購読者（参照はロックを取得しない）
+    private static final ClassValue<ConfigSlot<?>> SLOTS = new ClassValue<>() {
+        @Override
+        protected ConfigSlot<?> computeValue(Class<?> type) {
+            return new ConfigSlot<>();
+        }
+    };
 
     /**
      * 設定を登録する
+     * 登録した設定は凍結され、新しいバージョンのスナップショットとして公開される
      * 
      * @param config 登録する設定オブジェクト
      */
     public static void setConfig(BaseConfig config) {
         if (config != null) {
-            configMap.put(config.getClass(), config);
+            publish(snapshot -> snapshot.with(config));
         }
     }
 
     /**
      * 指定された設定クラスのインスタンスを取得する
+     * 設定クラスごとの公開中の設定を参照するだけでロックは取得しない。未作成の場合のみ作成して公開する
      * 
      * @param <T>         設定クラスの型
      * @param configClass 取得する設定クラス
-     * @return 設定オブジェクト
+     * @return 設定オブジェクト（凍結済みのため変更不可）
      */
     public static <T extends BaseConfig> T getConfig(Class<T> configClass) {
-        T config = (T) configMap.get(configClass);
+        T config = slot(configClass).current;
         if (config == null) {
-            synchronized (ConfigManager.class) {
-                config = (T) configMap.get(configClass);
-                if (config == null) {
-                    config = CommonConfigFactory.createConfig(configClass);
-                    configMap.put(configClass, config);
+            // 同時に作成された場合は先に公開された設定を使用する
+            T created = CommonConfigFactory.createConfig(configClass);
+            config = publish(snapshot -> snapshot.get(configClass) != null ? snapshot : snapshot.with(created))
+                    .get(configClass);
+        }
+        return config;
+    }
+
+    /**
+     * 設定の変更を購読する
+     * 設定が公開済みの場合は登録時に現在の設定を1度通知し、以降は新しい設定が公開されるたびに通知する。
+     * 購読者は通知された設定（凍結済み）をフィールドに保持し、ログ出力やメソッド呼び出しのたびに設定を取得し直さないこと
+     * 
+     * @param <T>         設定クラスの型
+     * @param configClass 購読する設定クラス
+     * @param listener    新しい設定を受け取る処理（公開したスレッドで公開順に呼び出される）
+     * @return 購読（{@link ConfigSubscription#close()} で解除する）
+     */
+    public static <T extends BaseConfig> ConfigSubscription subscribe(Class<T> configClass,
+            Consumer<? super T> listener) {
+        return slot(configClass).subscribe(listener);
+    }
+    /**
+     * 設定を変更して新しいスナップショットとして公開する
+     * 公開中の設定の複製に変更を適用して差し替えるため、参照中のスレッドに途中状態が見えることはない
+     * 
+     * @param <T>         設定クラスの型
+     * @param configClass 変更する設定クラス
+     * @param mutator     複製に適用する変更処理（競合時は再実行される）
+     * @return 公開した設定オブジェクト
+     */
+    public static <T extends BaseConfig> T updateConfig(Class<T> configClass, Consumer<T> mutator) {
+        getConfig(configClass);
+        return publish(snapshot -> {
+            T copy = CommonConfigFactory.copyOf(snapshot.get(configClass));
+            mutator.accept(copy);
+            return snapshot.with(copy);
+        }).get(configClass);
+    }
+
+    /**
+     * 複数の設定をまとめて差し替え、1つの新しいスナップショットとして公開する
+     * 設定ファイルの再読み込み（{@link com.collaboportal.common.config.ConfigFileWatcher}）で使用する
+     * 
+     * @param configs 設定クラスと設定オブジェクトのマップ
+     * @return 公開したスナップショット
+     */
+    public static ConfigSnapshot publishConfigs(Map<Class<? extends BaseConfig>, ? extends BaseConfig> configs) {
+        return publish(snapshot -> snapshot.withAll(configs));
+    }
+
+    /**
+     * 現在公開中の設定スナップショットを取得する
+     * 複数の設定値を一貫した組み合わせで参照する場合は、スナップショットを1度取得してから参照する
+     * 
+     * @return 設定スナップショット
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return SNAPSHOT.get();
+    }
+
+    // スナップショットを比較交換で差し替え、変更された設定を購読者に通知する
+    private static ConfigSnapshot publish(UnaryOperator<ConfigSnapshot> update) {
+        while (true) {
+            ConfigSnapshot current = SNAPSHOT.get();
+            ConfigSnapshot next = update.apply(current);
+            if (next == current) {
+                return next;
+            }
+            if (SNAPSHOT.compareAndSet(current, next)) {
+                for (Map.Entry<Class<? extends BaseConfig>, BaseConfig> entry : next.getConfigs().entrySet()) {
+                    if (current.getConfigs().get(entry.getKey()) != entry.getValue()) {
+                        slot(entry.getKey()).publish(next.getVersion(), entry.getValue());
+                    }
                 }
+                return next;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends BaseConfig> ConfigSlot<T> slot(Class<T> configClass) {
+        return (ConfigSlot<T>) SLOTS.get(configClass);
+    }
+
+    /**
+     * 設定クラス1つ分の公開中の設定と購読者
+     */
+    private static final class ConfigSlot<T> {
+
+        // 公開中の設定と、その設定を含むスナップショットのバージョン
+        private volatile T current;
+        private long version;
+        private final List<Consumer<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+        // 新しい設定を反映して通知する（並行して公開された場合も古いバージョンで上書きしない）
+        @SuppressWarnings("unchecked")
+        private synchronized void publish(long snapshotVersion, Object config) {
+            if (snapshotVersion <= version) {
+                return;
+            }
+            version = snapshotVersion;
+            current = (T) config;
+            for (Consumer<? super T> listener : listeners) {
+                notify(listener, current);
+            }
+        }
+
+        private synchronized ConfigSubscription subscribe(Consumer<? super T> listener) {
+            listeners.add(listener);
+            if (current != null) {
+                notify(listener, current);
+            }
+            return () -> listeners.remove(listener);
+        }
+
+        // 購読者の例外は他の購読者と設定の公開に影響させない
+        private static <T> void notify(Consumer<? super T> listener, T config) {
+            try {
+                listener.accept(config);
+            } catch (RuntimeException e) {
+                logger.error("設定変更の通知に失敗しました: {}", config.getClass().getName(), e);
             }
         }
-        return config;
     }
 
     /**
@@ -137,21 +273,66 @@ public class ConfigManager {
         logbookFilterBean = filter;
     }
 
-    private static final ThreadLocal<CommonContext> CTX_LOCAL = new ThreadLocal<>();
+    // コンテキストの束縛方式（既定はThreadLocal）
+    private static volatile ContextCarrier contextCarrier = ContextCarrier.threadLocal();
+
+    /**
+     * コンテキストの束縛方式を変更します。
+     * 束縛中のコンテキストは引き継がれないため、リクエストを受け付ける前（起動時）に呼び出してください。
+     * Springアプリケーションでは {@code common.execution.scoped-context} の設定に従い自動設定から呼び出されます。
+     *
+     * @param carrier 束縛方式
+     */
+    public static void setContextCarrier(ContextCarrier carrier) {
+        if (carrier != null) {
+            contextCarrier = carrier;
+        }
+    }
+
+    /**
+     * 現在のコンテキストの束縛方式を取得します。
+     *
+     * @return 束縛方式
+     */
+    public static ContextCarrier getContextCarrier() {
+        return contextCarrier;
+    }
 
     /** 在过滤器入口写入 */
     public static void setCommonContext(CommonContext ctx) {
-        CTX_LOCAL.set(ctx);
+        contextCarrier.set(ctx);
     }
 
     /** 在 finally 清理 */
     public static void clearContext() {
-        CTX_LOCAL.remove();
+        contextCarrier.clear();
+    }
+
+    /**
+     * コンテキストを束縛した状態で処理を実行します。
+     * ScopedValue方式では束縛が処理の範囲内に限定され、終了後の解除漏れが起こりません。
+     *
+     * @param ctx  コンテキスト
+     * @param task 処理
+     * @throws Exception 処理がスローした例外
+     */
+    public static void runWithCommonContext(CommonContext ctx, ContextCarrier.Task task) throws Exception {
+        contextCarrier.runWith(ctx, task);
+    }
+
+    /**
+     * 現在のスレッドに束縛されたコンテキストを有効性の検証なしで取得します。
+     * スレッド間でのコンテキスト引き継ぎ（{@link com.collaboportal.common.context.ContextSnapshot}）に使用します。
+     *
+     * @return 束縛中のコンテキスト。未束縛の場合はnull
+     */
+    public static CommonContext peekCommonContext() {
+        return contextCarrier.get();
     }
 
     /** 业务代码取用 */
     public static CommonContext getCommonContext() {
-        CommonContext ctx = CTX_LOCAL.get();
+        CommonContext ctx = contextCarrier.get();
         if (ctx == null || !ctx.isValid()) {
             throw new RuntimeException("コンテキスト無効です。");
         }
@@ -1,16 +1,16 @@
 package com.collaboportal.common;
 
+import com.collaboportal.common.appender.MaskingAsyncAppender;
 import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.masking.MaskingStatistics;
 import com.collaboportal.common.utils.SensitiveDataMaskUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * ログマスキング管理器
@@ -23,12 +23,6 @@ public class LogMaskingManager {
     // シングルトンインスタンス
     private static volatile LogMaskingManager instance;
 
-    // 統計情報キャッシュ
-    private final Map<String, Object> statisticsCache = new ConcurrentHashMap<>();
-
-    // 定時タスク実行器
-    private ScheduledExecutorService scheduler;
-
     // 初期化済みかどうか
     private volatile boolean initialized = false;
 
@@ -68,14 +62,9 @@ public class LogMaskingManager {
             try {
                 logger.info("ログマスキング管理器を初期化中...");
 
-                // 設定を取得
+                // 設定を取得（未公開の場合は公開され、マスキング・統計の集計に通知される）
                 LogMaskConfig config = getConfig();
 
-                // 統計情報収集を開始
-                if (config.isEnableMaskingStats()) {
-                    startStatisticsCollection();
-                }
-
                 // JVMシャットダウンフックを登録
                 registerShutdownHook();
 
@@ -112,15 +101,9 @@ public class LogMaskingManager {
 
         try {
             ConfigManager.setConfig(newConfig);
+            // 統計の集計の有効・無効は公開した設定の通知で切り替わる
             logger.info("マスキング設定が更新されました: {}", newConfig.toString());
 
-            // 統計収集戦略を更新
-            if (newConfig.isEnableMaskingStats() && (scheduler == null || scheduler.isShutdown())) {
-                startStatisticsCollection();
-            } else if (!newConfig.isEnableMaskingStats() && scheduler != null && !scheduler.isShutdown()) {
-                stopStatisticsCollection();
-            }
-
         } catch (Exception e) {
             logger.error("マスキング設定の更新に失敗しました", e);
             throw new RuntimeException("マスキング設定の更新に失敗しました", e);
@@ -192,7 +175,13 @@ public class LogMaskingManager {
 
             // システム情報
             stats.put("manager_initialized", initialized);
-            stats.put("statistics_collection_active", scheduler != null && !scheduler.isShutdown());
+            stats.put("statistics_enabled", MaskingStatistics.isEnabled());
+
+            // マスキングの件数・文字数・処理時間・パターン別・ロガー別の集計
+            stats.put("masking", MaskingStatistics.getStatistics());
+
+            // 非同期Appenderのキュー情報
+            stats.put("async_appenders", getAsyncAppenderStatistics());
 
         } catch (Exception e) {
             logger.error("統計情報の取得に失敗しました", e);
@@ -202,64 +191,36 @@ public class LogMaskingManager {
         return stats;
     }
 
+    /**
+     * 非同期Appender（{@link MaskingAsyncAppender}）ごとのキューの滞留数・破棄数を取得
+     */
+    public Map<String, Map<String, Object>> getAsyncAppenderStatistics() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (MaskingAsyncAppender appender : MaskingAsyncAppender.getActiveAppenders()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("queue_depth", appender.getQueueDepth());
+            stats.put("queue_capacity", appender.getQueueCapacity());
+            stats.put("backpressure", appender.getBackpressure().name());
+            stats.put("enqueued_events", appender.getEnqueuedCount());
+            stats.put("dropped_events", appender.getDroppedCount());
+            stats.put("blocked_producers", appender.getBlockedCount());
+            result.put(appender.getName(), stats);
+        }
+        return result;
+    }
+
     /**
      * すべての統計情報をリセット
      */
     public void resetAllStatistics() {
         try {
-            statisticsCache.clear();
+            MaskingStatistics.reset();
             logger.info("すべてのマスキング統計情報がリセットされました");
         } catch (Exception e) {
             logger.error("統計情報のリセットに失敗しました", e);
         }
     }
 
-    /**
-     * 統計情報収集を開始
-     */
-    private void startStatisticsCollection() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            return;
-        }
-
-        scheduler = Executors.newScheduledThreadPool(1, r -> {
-            Thread t = new Thread(r, "LogMaskingStatistics");
-            t.setDaemon(true);
-            return t;
-        });
-
-        // 5分ごとに統計情報を収集
-        scheduler.scheduleAtFixedRate(() -> {
-            try {
-                Map<String, Object> stats = getComprehensiveStatistics();
-                statisticsCache.putAll(stats);
-                logger.debug("統計情報収集が完了しました: {}", stats);
-            } catch (Exception e) {
-                logger.warn("統計情報収集に失敗しました: {}", e.getMessage());
-            }
-        }, 5, 5, TimeUnit.MINUTES);
-
-        logger.info("統計情報収集が開始されました");
-    }
-
-    /**
-     * 統計情報収集を停止
-     */
-    private void stopStatisticsCollection() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-                logger.info("統計情報収集が停止されました");
-            } catch (InterruptedException e) {
-                scheduler.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
     /**
      * JVMシャットダウンフックを登録
      */
@@ -275,9 +236,6 @@ public class LogMaskingManager {
                 logger.warn("最終統計情報の出力に失敗しました: {}", e.getMessage());
             }
 
-            // 統計収集を停止
-            stopStatisticsCollection();
-
             logger.info("ログマスキング管理器が終了しました");
         }, "LogMaskingManagerShutdown"));
     }
@@ -317,7 +275,6 @@ public class LogMaskingManager {
      * 管理器を終了
      */
     public void shutdown() {
-        stopStatisticsCollection();
         initialized = false;
         logger.info("ログマスキング管理器が手動で終了されました");
     }
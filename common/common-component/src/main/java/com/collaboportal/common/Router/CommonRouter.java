@@ -2,12 +2,14 @@ package com.collaboportal.common.Router;
 
 import com.collaboportal.common.ConfigManager;
 import com.collaboportal.common.context.CommonHolder;
+import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.exception.BackResultException;
 import com.collaboportal.common.exception.StopMatchException;
 import com.collaboportal.common.funcs.Function;
 import com.collaboportal.common.funcs.ParamFunction;
 import com.collaboportal.common.funcs.ParamRetFunction;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,15 +38,10 @@ public class CommonRouter {
      * @return マッチした場合はtrue
      */
     public static boolean isMatch(List<String> patterns, String path) {
-        if(patterns == null) {
+        if(patterns == null || patterns.isEmpty()) {
             return false;
         }
-        for (String pattern : patterns) {
-            if(isMatch(pattern, path)) {
-                return true;
-            }
-        }
-        return false;
+        return ConfigManager.getCommonContext().matchAnyPath(patterns, path);
     }
 
     /**
@@ -54,15 +51,10 @@ public class CommonRouter {
      * @return マッチした場合はtrue
      */
     public static boolean isMatch(String[] patterns, String path) {
-        if(patterns == null) {
+        if(patterns == null || patterns.length == 0) {
             return false;
         }
-        for (String pattern : patterns) {
-            if(isMatch(pattern, path)) {
-                return true;
-            }
-        }
-        return false;
+        return ConfigManager.getCommonContext().matchAnyPath(Arrays.asList(patterns), path);
     }
 
     /**
@@ -95,6 +87,57 @@ public class CommonRouter {
         return isMatch(patterns, currPath);
     }
 
+    // ----------------- コンパイル済みルール
+
+    /**
+     * ルートパターンをコンパイルします。
+     * 起動時に一度だけ生成し、リクエストごとの判定に再利用してください。
+     * @param patterns ルートパターン配列
+     * @return コンパイル済みマッチャー
+     */
+    public static RouteTrieMatcher compile(String... patterns) {
+        return RouteTrieMatcher.compile(Arrays.asList(patterns));
+    }
+
+    /**
+     * インクルード/エクスクルードのルートパターンをコンパイルします。
+     * @param includes インクルードパターンリスト
+     * @param excludes エクスクルードパターンリスト
+     * @return コンパイル済みマッチャー
+     */
+    public static RouteTrieMatcher compile(List<String> includes, List<String> excludes) {
+        return RouteTrieMatcher.compile(includes, excludes);
+    }
+
+    /**
+     * ルートルールのビルダーを生成します。
+     * @param <T> ルールの結果型
+     * @return RouteRulesビルダー
+     */
+    public static <T> RouteRules.Builder<T> rules() {
+        return RouteRules.builder();
+    }
+
+    /**
+     * 現在のリクエストURIがコンパイル済みマッチャーの認証対象かを判定します。
+     * @param matcher コンパイル済みマッチャー
+     * @return インクルードにマッチし、エクスクルードにマッチしない場合はtrue
+     */
+    public static boolean isMatchCurrURI(RouteTrieMatcher matcher) {
+        return matcher.isTarget(CommonHolder.getRequest().getRequestPath());
+    }
+
+    /**
+     * 現在のリクエストに最初にマッチしたルールの結果を返します。
+     * @param <T> ルールの結果型
+     * @param rules コンパイル済みルール
+     * @return マッチしたルールの結果
+     */
+    public static <T> T resolveCurrURI(RouteRules<T> rules) {
+        BaseRequest request = CommonHolder.getRequest();
+        return rules.resolve(request.getMethod(), request.getRequestPath());
+    }
+
     /**
      * 新しいマッチングスタッフを生成します。
      * @return CommonRouterStaffインスタンス
@@ -139,6 +182,24 @@ public class CommonRouter {
         return new CommonRouterStaff().notMatch(patterns);
     }
 
+    /**
+     * コンパイル済みマッチャーでマッチングを行うスタッフを生成します。
+     * @param matcher コンパイル済みマッチャー
+     * @return CommonRouterStaffインスタンス
+     */
+    public static CommonRouterStaff match(RouteTrieMatcher matcher) {
+        return new CommonRouterStaff().match(matcher);
+    }
+
+    /**
+     * コンパイル済みマッチャーでマッチしないスタッフを生成します。
+     * @param matcher コンパイル済みマッチャー
+     * @return CommonRouterStaffインスタンス
+     */
+    public static CommonRouterStaff notMatch(RouteTrieMatcher matcher) {
+        return new CommonRouterStaff().notMatch(matcher);
+    }
+
     /**
      * boolean値でマッチングを行うスタッフを生成します。
      * @param flag マッチフラグ
@@ -97,6 +97,31 @@ public class CommonRouterStaff {
 
 
 
+	/**
+	 * コンパイル済みマッチャーでルーティングマッチング
+	 * @param matcher コンパイル済みマッチャー
+	 * @return オブジェクト自身
+	 */
+	public CommonRouterStaff match(RouteTrieMatcher matcher) {
+		if(isHit)  {
+			isHit = CommonRouter.isMatchCurrURI(matcher);
+		}
+		return this;
+	}
+
+	/**
+	 * コンパイル済みマッチャーでルーティングマッチング除外
+	 * @param matcher コンパイル済みマッチャー
+	 * @return オブジェクト自身
+	 */
+	public CommonRouterStaff notMatch(RouteTrieMatcher matcher) {
+		if(isHit)  {
+			isHit = !CommonRouter.isMatchCurrURI(matcher);
+		}
+		return this;
+	}
+
+
 	// ----------------- 条件マッチング
 
 	/**
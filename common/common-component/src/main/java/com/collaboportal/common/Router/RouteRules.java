@@ -0,0 +1,287 @@
+package com.collaboportal.common.Router;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 不変のルートルール評価器
+ * 起動時にルールを宣言してコンパイルし、リクエストごとの評価では
+ * オブジェクト生成や例外送出を一切行わずに、最初にマッチしたルールの結果を返します。
+ *
+ * <pre>
+ * RouteRules&lt;String&gt; rules = RouteRules.&lt;String&gt;builder()
+ *         .rule().match("/api/**").notMatch("/api/public/**").then("jwt")
+ *         .rule().match("/admin/**").method("POST").then("database")
+ *         .otherwise("none")
+ *         .build();
+ * String type = rules.resolve(method, path);
+ * </pre>
+ *
+ * <p>{@link CommonRouterStaff} によるチェーン形式と異なり、評価結果は戻り値で返すため
+ * {@link com.collaboportal.common.exception.StopMatchException} や
+ * {@link com.collaboportal.common.exception.BackResultException} による制御フローは不要です。</p>
+ *
+ * @param <T> ルールにマッチした場合の結果型
+ */
+public final class RouteRules<T> {
+
+    // 評価順のルール
+    private final Rule<T>[] rules;
+
+    // どのルールにもマッチしない場合の結果
+    private final T otherwise;
+
+    private RouteRules(Rule<T>[] rules, T otherwise) {
+        this.rules = rules;
+        this.otherwise = otherwise;
+    }
+
+    /**
+     * ビルダーを生成します。
+     *
+     * @param <T> 結果型
+     * @return ビルダー
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 最初にマッチしたルールの結果を返します。メソッド条件付きのルールはマッチしません。
+     *
+     * @param path リクエストパス
+     * @return マッチしたルールの結果。マッチしない場合は otherwise の値
+     */
+    public T resolve(String path) {
+        return resolve(null, path);
+    }
+
+    /**
+     * 最初にマッチしたルールの結果を返します。
+     *
+     * @param method HTTPメソッド（nullの場合、メソッド条件付きのルールはマッチしません）
+     * @param path   リクエストパス
+     * @return マッチしたルールの結果。マッチしない場合は otherwise の値
+     */
+    public T resolve(String method, String path) {
+        int index = indexOf(method, path);
+        return index < 0 ? otherwise : rules[index].result;
+    }
+
+    /**
+     * 最初にマッチしたルールの位置を返します。
+     *
+     * @param method HTTPメソッド
+     * @param path   リクエストパス
+     * @return ルールの位置。マッチしない場合は -1
+     */
+    public int indexOf(String method, String path) {
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].matches(method, path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * いずれかのルールにマッチするか判定します。
+     *
+     * @param method HTTPメソッド
+     * @param path   リクエストパス
+     * @return マッチした場合はtrue
+     */
+    public boolean matches(String method, String path) {
+        return indexOf(method, path) >= 0;
+    }
+
+    /**
+     * ルール件数を返します。
+     *
+     * @return ルール件数
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * コンパイル済みルール
+     */
+    private static final class Rule<T> {
+        private final RouteTrieMatcher matcher;
+        private final String[] methods;
+        private final boolean matchAll;
+        private final T result;
+
+        private Rule(RouteTrieMatcher matcher, String[] methods, boolean matchAll, T result) {
+            this.matcher = matcher;
+            this.methods = methods;
+            this.matchAll = matchAll;
+            this.result = result;
+        }
+
+        private boolean matches(String method, String path) {
+            if (methods.length > 0 && !containsMethod(method)) {
+                return false;
+            }
+            if (matchAll) {
+                return !matcher.matchesExclude(path);
+            }
+            return matcher.isTarget(path);
+        }
+
+        private boolean containsMethod(String method) {
+            if (method == null) {
+                return false;
+            }
+            for (String m : methods) {
+                if (m.equalsIgnoreCase(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * ルートルールのビルダー
+     *
+     * @param <T> 結果型
+     */
+    public static final class Builder<T> {
+
+        private final List<Rule<T>> rules = new ArrayList<>();
+        private T otherwise;
+
+        private Builder() {
+        }
+
+        /**
+         * 新しいルールの宣言を開始します。
+         *
+         * @return ルールビルダー
+         */
+        public RuleBuilder<T> rule() {
+            return new RuleBuilder<>(this);
+        }
+
+        /**
+         * どのルールにもマッチしない場合の結果を設定します。
+         *
+         * @param result 結果
+         * @return このビルダー
+         */
+        public Builder<T> otherwise(T result) {
+            this.otherwise = result;
+            return this;
+        }
+
+        /**
+         * ルールを凍結して評価器を生成します。
+         *
+         * @return 不変の評価器
+         */
+        @SuppressWarnings("unchecked")
+        public RouteRules<T> build() {
+            return new RouteRules<>(rules.toArray(new Rule[0]), otherwise);
+        }
+
+        private Builder<T> add(Rule<T> rule) {
+            rules.add(rule);
+            return this;
+        }
+    }
+
+    /**
+     * 個々のルールのビルダー
+     * {@link #then(Object)} でルールを確定し、親ビルダーに戻ります。
+     *
+     * @param <T> 結果型
+     */
+    public static final class RuleBuilder<T> {
+
+        private final Builder<T> parent;
+        private final List<String> includes = new ArrayList<>();
+        private final List<String> excludes = new ArrayList<>();
+        private final List<String> methods = new ArrayList<>();
+
+        private RuleBuilder(Builder<T> parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * マッチさせるパターンを追加します。未指定の場合はすべてのパスがマッチ対象です。
+         *
+         * @param patterns ルートパターン
+         * @return このビルダー
+         */
+        public RuleBuilder<T> match(String... patterns) {
+            includes.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        /**
+         * マッチさせるパターンを追加します。
+         *
+         * @param patterns ルートパターン
+         * @return このビルダー
+         */
+        public RuleBuilder<T> match(Collection<String> patterns) {
+            if (patterns != null) {
+                includes.addAll(patterns);
+            }
+            return this;
+        }
+
+        /**
+         * 除外するパターンを追加します。
+         *
+         * @param patterns ルートパターン
+         * @return このビルダー
+         */
+        public RuleBuilder<T> notMatch(String... patterns) {
+            excludes.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        /**
+         * 除外するパターンを追加します。
+         *
+         * @param patterns ルートパターン
+         * @return このビルダー
+         */
+        public RuleBuilder<T> notMatch(Collection<String> patterns) {
+            if (patterns != null) {
+                excludes.addAll(patterns);
+            }
+            return this;
+        }
+
+        /**
+         * 対象とするHTTPメソッドを追加します。未指定の場合はすべてのメソッドが対象です。
+         *
+         * @param methods HTTPメソッド
+         * @return このビルダー
+         */
+        public RuleBuilder<T> method(String... methods) {
+            for (String method : methods) {
+                this.methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            return this;
+        }
+
+        /**
+         * ルールにマッチした場合の結果を設定し、ルールを確定します。
+         *
+         * @param result 結果
+         * @return 親ビルダー
+         */
+        public Builder<T> then(T result) {
+            RouteTrieMatcher matcher = RouteTrieMatcher.compile(includes, excludes);
+            return parent.add(new Rule<>(matcher, methods.toArray(new String[0]), includes.isEmpty(), result));
+        }
+    }
+}
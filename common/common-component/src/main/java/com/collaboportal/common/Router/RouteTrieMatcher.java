@@ -0,0 +1,418 @@
+package com.collaboportal.common.Router;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * セグメントトライによるルートマッチャー
+ * インクルード/エクスクルードのパターン集合を起動時に1つのトライへコンパイルし、
+ * パターン数に依存せずパスのセグメント数に比例した時間で判定を返します。
+ *
+ * <p>トライで扱うセグメントはリテラル、{@code *}、{@code **}、{@code {var}}、{@code {*var}} です。
+ * {@code *.html} や {@code {id:\d+}} のような部分ワイルドカードを含むパターンと、{@code /} で始まらないパターンは
+ * PathPatternとしてコンパイルし、トライ判定の後に個別評価します。</p>
+ *
+ * <p>インスタンスは不変です。パターンを変更する場合は新しいインスタンスを生成して差し替えてください。</p>
+ */
+public final class RouteTrieMatcher {
+
+    /** インクルードパターンにマッチしたことを示すフラグ */
+    public static final int INCLUDE = 1;
+
+    /** エクスクルードパターンにマッチしたことを示すフラグ */
+    public static final int EXCLUDE = 2;
+
+    /** パターンを持たない空のマッチャー */
+    public static final RouteTrieMatcher EMPTY = new RouteTrieMatcher(Collections.emptyList(), Collections.emptyList());
+
+    // トライのルートノード
+    private final Node root = new Node();
+
+    // トライで表現できないパターン
+    private final List<FallbackPattern> fallbacks = new ArrayList<>();
+
+    // 全パターン（エンコード済み・マトリクス変数付きパス用）
+    private final List<FallbackPattern> allPatterns = new ArrayList<>();
+
+    // インクルード/エクスクルードのパターン件数
+    private final int includeCount;
+    private final int excludeCount;
+
+    private RouteTrieMatcher(Collection<String> includes, Collection<String> excludes) {
+        this.includeCount = addAll(includes, INCLUDE);
+        this.excludeCount = addAll(excludes, EXCLUDE);
+        root.freeze();
+    }
+
+    /**
+     * インクルード/エクスクルードのパターン集合をコンパイルします。
+     *
+     * @param includes インクルードパターン（nullは空扱い）
+     * @param excludes エクスクルードパターン（nullは空扱い）
+     * @return コンパイル済みマッチャー
+     */
+    public static RouteTrieMatcher compile(Collection<String> includes, Collection<String> excludes) {
+        return new RouteTrieMatcher(includes == null ? Collections.emptyList() : includes,
+                excludes == null ? Collections.emptyList() : excludes);
+    }
+
+    /**
+     * インクルードパターンのみをコンパイルします。
+     *
+     * @param patterns パターン
+     * @return コンパイル済みマッチャー
+     */
+    public static RouteTrieMatcher compile(Collection<String> patterns) {
+        return compile(patterns, null);
+    }
+
+    /**
+     * パスが認証対象か（インクルードにマッチし、エクスクルードにマッチしないか）を判定します。
+     *
+     * @param path リクエストパス
+     * @return 認証対象の場合はtrue
+     */
+    public boolean isTarget(String path) {
+        return match(path) == INCLUDE;
+    }
+
+    /**
+     * パスがいずれかのインクルードパターンにマッチするか判定します。
+     *
+     * @param path リクエストパス
+     * @return マッチした場合はtrue
+     */
+    public boolean matchesInclude(String path) {
+        return (match(path, INCLUDE) & INCLUDE) != 0;
+    }
+
+    /**
+     * パスがいずれかのエクスクルードパターンにマッチするか判定します。
+     *
+     * @param path リクエストパス
+     * @return マッチした場合はtrue
+     */
+    public boolean matchesExclude(String path) {
+        return (match(path, EXCLUDE) & EXCLUDE) != 0;
+    }
+
+    /**
+     * パスにマッチしたパターン種別のフラグを返します。
+     * エクスクルードにマッチした時点で探索を打ち切るため、
+     * EXCLUDEを含む場合のINCLUDEビットは不定です。
+     *
+     * @param path リクエストパス
+     * @return {@link #INCLUDE} / {@link #EXCLUDE} の論理和
+     */
+    public int match(String path) {
+        return match(path, EXCLUDE);
+    }
+
+    private int match(String path, int stopFlag) {
+        if (path == null) {
+            return 0;
+        }
+        if (requiresFullParse(path)) {
+            return matchPatterns(allPatterns, PathContainer.parsePath(path), 0, stopFlag);
+        }
+        int flags = matchNode(root, path, 1, stopFlag);
+        if ((flags & stopFlag) == 0 && !fallbacks.isEmpty()) {
+            flags = matchPatterns(fallbacks, PathContainer.parsePath(path), flags, stopFlag);
+        }
+        return flags;
+    }
+
+    public int getIncludeCount() {
+        return includeCount;
+    }
+
+    public int getExcludeCount() {
+        return excludeCount;
+    }
+
+    /**
+     * トライで表現できずPathPatternで個別評価されるパターン件数を返します。
+     *
+     * @return フォールバックパターン件数
+     */
+    public int getFallbackCount() {
+        return fallbacks.size();
+    }
+
+    // ------------------------ コンパイル
+
+    private int addAll(Collection<String> patterns, int flag) {
+        int count = 0;
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            FallbackPattern compiled = new FallbackPattern(PathPatternParser.defaultInstance.parse(pattern), flag);
+            allPatterns.add(compiled);
+            if (!insert(pattern, flag)) {
+                fallbacks.add(compiled);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * パターンをトライへ登録します。
+     *
+     * @return トライで表現できた場合はtrue
+     */
+    private boolean insert(String pattern, int flag) {
+        // PathPatternは先頭の区切り文字がないパターンを「/」で始まるパスにマッチさせないため、トライでは扱わない
+        if (!pattern.startsWith("/")) {
+            return false;
+        }
+        String[] segments = split(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            Kind kind = kindOf(segments[i]);
+            // PathPatternと同様、** はパターン末尾でのみ有効
+            if (kind == Kind.COMPLEX || (kind == Kind.MULTI && i != segments.length - 1)) {
+                return false;
+            }
+        }
+        Node node = root;
+        for (String segment : segments) {
+            switch (kindOf(segment)) {
+                case MULTI:
+                    if (node.multi == null) {
+                        node.multi = new Node();
+                    }
+                    node = node.multi;
+                    break;
+                case WILDCARD:
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                    break;
+                case VARIABLE:
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                    break;
+                default:
+                    node = node.literals.computeIfAbsent(segment, k -> new Node());
+                    break;
+            }
+        }
+        node.flags |= flag;
+        return true;
+    }
+
+    private static Kind kindOf(String segment) {
+        if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+            return Kind.MULTI;
+        }
+        if ("*".equals(segment)) {
+            return Kind.WILDCARD;
+        }
+        if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf(':') < 0 && segment.indexOf('{', 1) < 0) {
+            return Kind.VARIABLE;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}' || c == '%' || c == ';') {
+                return Kind.COMPLEX;
+            }
+        }
+        return Kind.LITERAL;
+    }
+
+    // ------------------------ 判定
+
+    /**
+     * パス文字列上のオフセットでセグメントを辿り、部分文字列や配列を生成せずに判定します。
+     *
+     * @param start 現在のセグメントの開始位置。{@code path.length() + 1} の場合は全セグメントを消費済み
+     */
+    private static int matchNode(Node node, String path, int start, int stopFlag) {
+        int flags = 0;
+        if (node.multi != null) {
+            // 末尾の ** は0個以上の残りセグメントすべてにマッチする
+            flags |= node.multi.flags;
+            if ((flags & stopFlag) != 0) {
+                return flags;
+            }
+        }
+        int length = path.length();
+        if (start > length) {
+            return flags | node.flags;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = end + 1;
+        boolean empty = start == end;
+        Node literal = node.findLiteral(path, start, end);
+        if (literal != null) {
+            flags |= matchNode(literal, path, next, stopFlag);
+            if ((flags & stopFlag) != 0) {
+                return flags;
+            }
+        }
+        if (node.variable != null && !empty) {
+            flags |= matchNode(node.variable, path, next, stopFlag);
+            if ((flags & stopFlag) != 0) {
+                return flags;
+            }
+        }
+        if (node.wildcard != null) {
+            if (!empty) {
+                flags |= matchNode(node.wildcard, path, next, stopFlag);
+            } else if (end == length) {
+                // PathPatternと同様、パターン末尾の * は末尾の空セグメント（末尾スラッシュ）にもマッチする
+                flags |= node.wildcard.flags;
+            }
+        }
+        return flags;
+    }
+
+    private static int matchPatterns(List<FallbackPattern> patterns, PathContainer container, int flags,
+            int stopFlag) {
+        for (FallbackPattern pattern : patterns) {
+            if ((flags & pattern.flag) == 0 && pattern.pattern.matches(container)) {
+                flags |= pattern.flag;
+                if ((flags & stopFlag) != 0) {
+                    return flags;
+                }
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * デコードやマトリクス変数の除去が必要なパスか判定します。
+     * このようなパスはPathContainerによる完全な解析で評価します。
+     */
+    private static boolean requiresFullParse(String path) {
+        return path.isEmpty() || path.charAt(0) != '/' || path.indexOf('%') >= 0 || path.indexOf(';') >= 0;
+    }
+
+    /**
+     * パターンを先頭の区切り文字を除いてセグメントに分割します（末尾の空セグメントは保持）。
+     */
+    private static String[] split(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int count = 1;
+        for (int i = start; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        String[] segments = new String[count];
+        int segmentIndex = 0;
+        int segmentStart = start;
+        for (int i = start; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                segments[segmentIndex++] = path.substring(segmentStart, i);
+                segmentStart = i + 1;
+            }
+        }
+        segments[segmentIndex] = path.substring(segmentStart);
+        return segments;
+    }
+
+    // ------------------------ 内部クラス
+
+    private enum Kind {
+        LITERAL, WILDCARD, VARIABLE, MULTI, COMPLEX
+    }
+
+    /**
+     * トライノード
+     */
+    private static final class Node {
+        private Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private Node variable;
+        private Node multi;
+        private int flags;
+
+        // 凍結後のリテラル子ノード（キーの辞書順）
+        private String[] literalKeys;
+        private Node[] literalNodes;
+
+        private void freeze() {
+            literalKeys = literals.keySet().toArray(new String[0]);
+            Arrays.sort(literalKeys);
+            literalNodes = new Node[literalKeys.length];
+            for (int i = 0; i < literalKeys.length; i++) {
+                literalNodes[i] = literals.get(literalKeys[i]);
+                literalNodes[i].freeze();
+            }
+            literals = null;
+            if (wildcard != null) {
+                wildcard.freeze();
+            }
+            if (variable != null) {
+                variable.freeze();
+            }
+            if (multi != null) {
+                multi.freeze();
+            }
+        }
+
+        /**
+         * パスの [start, end) 区間と一致するリテラル子ノードを二分探索します。
+         */
+        private Node findLiteral(String path, int start, int end) {
+            int low = 0;
+            int high = literalKeys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(literalKeys[mid], path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return literalNodes[mid];
+                }
+            }
+            return null;
+        }
+
+        private static int compare(String key, String path, int start, int end) {
+            int keyLength = key.length();
+            int regionLength = end - start;
+            int limit = Math.min(keyLength, regionLength);
+            for (int i = 0; i < limit; i++) {
+                int diff = key.charAt(i) - path.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return keyLength - regionLength;
+        }
+    }
+
+    /**
+     * PathPatternで個別評価するパターン
+     */
+    private static final class FallbackPattern {
+        private final PathPattern pattern;
+        private final int flag;
+
+        private FallbackPattern(PathPattern pattern, int flag) {
+            this.pattern = pattern;
+            this.flag = flag;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.collaboportal.common.Router;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * パス単位の認証要否判定キャッシュ
+ * {@link RouteTrieMatcher} の判定結果を正規化済みリクエストパスごとに保持し、
+ * 繰り返し到達するパスの判定を1回のハッシュ参照で返します。
+ *
+ * <p>上限件数に達した後は TinyLFU 方式の頻度スケッチで受け入れを判定し、
+ * 出現頻度が追い出し候補より高いパスのみを登録します。ランダムな404パスが大量に
+ * 到達しても、よく使われるパスの判定結果が押し出されることはありません。
+ * 追い出し候補はエントリの格納位置（スロット）からランダムに選びます。</p>
+ *
+ * <p>キャッシュヒットはロックを取得しません。未登録のパスの登録（上限到達後の受け入れ判定を含む）のみ
+ * インスタンスのロックで直列化します。</p>
+ *
+ * <p>インスタンスは元になったマッチャーと同じ寿命を持ちます。ルート設定の変更時は
+ * マッチャーと一緒に差し替えることでキャッシュが無効化されます。</p>
+ */
+public final class RouteVerdictCache {
+
+    /** デフォルトの最大キャッシュ件数 */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    /** キャッシュ対象とするパスの最大長 */
+    public static final int MAX_PATH_LENGTH = 512;
+
+    // 追い出し候補のサンプル数
+    private static final int EVICTION_SAMPLE_SIZE = 4;
+
+    // 判定元のマッチャー
+    private final RouteTrieMatcher matcher;
+
+    // パスと判定結果のマップ
+    private final Map<String, Verdict> verdicts = new ConcurrentHashMap<>();
+
+    // スロットごとの登録済みパス（追い出し候補のランダムな選択用、ロック内でのみ参照・更新）
+    private final String[] slots;
+    // 使用済みのスロット数（ロック内でのみ参照・更新）
+    private int used;
+
+    // 受け入れ判定用の頻度スケッチ
+    private final FrequencySketch sketch;
+
+    // 最大キャッシュ件数
+    private final int maxSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param matcher 判定元のマッチャー
+     * @param maxSize 最大キャッシュ件数
+     */
+    public RouteVerdictCache(RouteTrieMatcher matcher, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSizeは1以上を指定してください: " + maxSize);
+        }
+        this.matcher = matcher;
+        this.maxSize = maxSize;
+        this.slots = new String[maxSize];
+        this.sketch = new FrequencySketch(maxSize);
+    }
+
+    /**
+     * デフォルトの上限件数でキャッシュを生成します。
+     *
+     * @param matcher 判定元のマッチャー
+     */
+    public RouteVerdictCache(RouteTrieMatcher matcher) {
+        this(matcher, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * パスが認証対象か判定します。
+     *
+     * @param path 正規化済みリクエストパス（{@code ApplicationInfo.cutPathPrefix} 適用後）
+     * @return 認証対象の場合はtrue
+     */
+    public boolean isTarget(String path) {
+        if (path == null || path.length() > MAX_PATH_LENGTH) {
+            return matcher.isTarget(path);
+        }
+        sketch.increment(path);
+        Verdict verdict = verdicts.get(path);
+        if (verdict != null) {
+            hitCount.increment();
+            return verdict.target();
+        }
+        missCount.increment();
+        boolean computed = matcher.isTarget(path);
+        admit(path, computed);
+        return computed;
+    }
+
+    /**
+     * 判定元のマッチャーを取得します。
+     *
+     * @return ルートマッチャー
+     */
+    public RouteTrieMatcher getMatcher() {
+        return matcher;
+    }
+
+    private synchronized void admit(String path, boolean target) {
+        if (verdicts.containsKey(path)) {
+            // 他のスレッドが登録済み
+            return;
+        }
+        if (used < maxSize) {
+            slots[used] = path;
+            verdicts.put(path, new Verdict(target, used));
+            used++;
+            return;
+        }
+        int victimSlot = selectVictim();
+        String victim = slots[victimSlot];
+        if (sketch.frequency(path) > sketch.frequency(victim)) {
+            verdicts.remove(victim);
+            evictionCount.increment();
+            slots[victimSlot] = path;
+            verdicts.put(path, new Verdict(target, victimSlot));
+        } else {
+            rejectionCount.increment();
+        }
+    }
+
+    /**
+     * ランダムにサンプルしたスロットのうち、最も頻度の低いパスのスロットを追い出し候補として返します。
+     */
+    private int selectVictim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int victimSlot = random.nextInt(maxSize);
+        int victimFrequency = sketch.frequency(slots[victimSlot]);
+        for (int i = 1; i < EVICTION_SAMPLE_SIZE; i++) {
+            int slot = random.nextInt(maxSize);
+            int frequency = sketch.frequency(slots[slot]);
+            if (frequency < victimFrequency) {
+                victimSlot = slot;
+                victimFrequency = frequency;
+            }
+        }
+        return victimSlot;
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    /**
+     * キャッシュ統計情報を取得します。
+     *
+     * @return 統計情報マップ
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = getHitCount();
+        long misses = getMissCount();
+        stats.put("size", size());
+        stats.put("max_size", maxSize);
+        stats.put("hit_count", hits);
+        stats.put("miss_count", misses);
+        stats.put("eviction_count", getEvictionCount());
+        stats.put("rejection_count", getRejectionCount());
+        stats.put("hit_rate", hits + misses == 0 ? 0.0d : (double) hits / (hits + misses));
+        return stats;
+    }
+
+    /**
+     * 判定結果と格納位置
+     */
+    private record Verdict(boolean target, int slot) {
+    }
+
+    /**
+     * 4行のカウントミンスケッチによる出現頻度の近似カウンター
+     * 一定回数ごとに全カウンターを半減し、過去の頻度を減衰させます。
+     * カウンターは {@link VarHandle} のCASで更新するため、並行する加算は失われません。
+     * 上限（15）に達したカウンターは書き込まないため、頻出パスのカウンターで競合は続きません。
+     * 半減は加算と並行して行うため、半減中の加算が半減前・後のどちらに数えられるかは不定です（誤差はカウンターごとに1以内）。
+     */
+    private static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+        private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+        private final byte[] table;
+        private final int mask;
+        private final int sampleSize;
+        private final AtomicInteger additions = new AtomicInteger();
+
+        private FrequencySketch(int maxSize) {
+            int capacity = Integer.highestOneBit(Math.max(16, maxSize) - 1) << 1;
+            // 1行あたり上限件数の4倍のカウンターを確保し、衝突による頻度の過大評価を抑える
+            int width = capacity << 2;
+            this.table = new byte[width * DEPTH];
+            this.mask = width - 1;
+            this.sampleSize = capacity * 10;
+        }
+
+        private void increment(String key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                added |= incrementAt(indexOf(hash, i));
+            }
+            if (added && additions.incrementAndGet() == sampleSize) {
+                reset();
+            }
+        }
+
+        // カウンターを上限まで1加算する（加算した場合はtrue）
+        private boolean incrementAt(int index) {
+            byte count = (byte) COUNTERS.getOpaque(table, index);
+            while (count < MAX_COUNT) {
+                byte witness = (byte) COUNTERS.compareAndExchange(table, index, count, (byte) (count + 1));
+                if (witness == count) {
+                    return true;
+                }
+                count = witness;
+            }
+            return false;
+        }
+
+        private int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, (byte) COUNTERS.getOpaque(table, indexOf(hash, i)));
+            }
+            return frequency;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+            h ^= h >>> 16;
+            return row * (mask + 1) + (h & mask);
+        }
+
+        // 全カウンターを半減する（加算回数が閾値に達したスレッドのみが実行する）
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                byte count = (byte) COUNTERS.getOpaque(table, i);
+                byte witness;
+                while ((witness = (byte) COUNTERS.compareAndExchange(table, i, count, (byte) (count >>> 1))) != count) {
+                    count = witness;
+                }
+            }
+            additions.addAndGet(-sampleSize);
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 17;
+            hash *= 0xED5AD4BB;
+            hash ^= hash >>> 11;
+            return hash;
+        }
+    }
+}
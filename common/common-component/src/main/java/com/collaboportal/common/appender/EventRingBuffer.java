@@ -0,0 +1,124 @@
+package com.collaboportal.common.appender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定長のロックフリーなリングバッファ（複数の生産者・複数の消費者）
+ * 各スロットの通番で「書き込み可能」「読み取り可能」を表し、先頭・末尾の位置をCASで進めます（Vyukov方式）。
+ * 満杯・空の場合は待たずに失敗を返すため、待機の方法は呼び出し元で決めます。
+ *
+ * @param <E> 要素の型
+ */
+final class EventRingBuffer<E> {
+
+    private final Object[] elements;
+    // スロットごとの通番（位置と一致すれば書き込み可能、位置+1と一致すれば読み取り可能）
+    private final AtomicLongArray sequences;
+    private final int mask;
+    // 次に書き込む位置
+    private final AtomicLong tail = new AtomicLong();
+    // 次に読み取る位置
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * コンストラクタ
+     *
+     * @param capacity 容量（2の累乗に切り上げます）
+     */
+    EventRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("容量は2以上を指定してください: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 要素を追加します。
+     *
+     * @param element 追加する要素
+     * @return 追加できた場合はtrue。満杯の場合はfalse
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 1周前の要素がまだ読み取られていない
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 先頭の要素を取り出します。
+     *
+     * @return 先頭の要素。空の場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[index];
+                    elements[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (diff < 0) {
+                // まだ書き込まれていない
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * 現在の要素数を取得します（並行して更新されるため概算です）。
+     *
+     * @return 要素数
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+
+    /**
+     * 空か判定します（並行して更新されるため概算です）。
+     *
+     * @return 空の場合はtrue
+     */
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * 容量を取得します。
+     *
+     * @return 容量
+     */
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,436 @@
+package com.collaboportal.common.appender;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * マスキング用の非同期Appender
+ * リクエストスレッドはイベントを固定長のロックフリーなリングバッファ（{@link EventRingBuffer}）に渡すだけで戻り、
+ * 少数のワーカースレッドが子のAppender（{@code appender-ref}）でマスキング・レイアウト・出力を行います。
+ * 同じイベントを複数の子のAppenderが出力する場合も、マスキングの結果はワーカースレッド上のメモで共有されます。
+ *
+ * <p>キューに空きがない場合の動作は {@code backpressure} で指定します。</p>
+ * <ul>
+ * <li>{@code block}: 空きができるまで待機します（既定）</li>
+ * <li>{@code drop-lowest-level}: 残りの空きが {@code discardingThreshold} 以下になったら、
+ * {@code discardLevel} 以下のイベントを破棄します</li>
+ * <li>{@code sample}: 残りの空きが {@code discardingThreshold} 以下になったら、
+ * {@code discardLevel} 以下のイベントを {@code sampleRate} 件に1件だけ残します</li>
+ * </ul>
+ * {@code discardLevel} より上のレベル（既定ではWARN・ERROR）はどの動作でも破棄せず、空きができるまで待機します。
+ * ワーカーが複数の場合、出力の順序は保証されません。
+ */
+public class MaskingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * キューに空きがない場合の動作
+     */
+    public enum Backpressure {
+        /** 空きができるまで待機 */
+        BLOCK,
+        /** 低いレベルのイベントを破棄 */
+        DROP_LOWEST_LEVEL,
+        /** 低いレベルのイベントを間引き */
+        SAMPLE;
+
+        /**
+         * 設定値（{@code block}・{@code drop-lowest-level}・{@code sample}）から変換します。
+         *
+         * @param value 設定値（大文字・小文字、ハイフン・アンダースコアは区別しない）
+         * @return 動作
+         */
+        public static Backpressure parse(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // 既定のキューの容量
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+    // ワーカーが待機する最長時間（生産者からの起床を取りこぼした場合の保険）
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+    // 生産者が空きを待つ間隔
+    private static final long BLOCK_PARK_NANOS = 50_000L;
+
+    // 動作中のAppender（LogMaskingManagerから参照）
+    private static final Set<MaskingAsyncAppender> ACTIVE = ConcurrentHashMap.newKeySet();
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    // 設定
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private int workers = 1;
+    private Backpressure backpressure = Backpressure.BLOCK;
+    private Level discardLevel = Level.INFO;
+    private int discardingThreshold = -1;
+    private int sampleRate = 10;
+    private boolean includeCallerData = false;
+    private int maxFlushTime = 1000;
+
+    // 実行時の状態
+    private EventRingBuffer<ILoggingEvent> ring;
+    private Thread[] workerThreads;
+    private volatile boolean running;
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    // 統計
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 2) {
+            addError("queueSizeが不正です: " + queueSize);
+            return;
+        }
+        if (workers < 1) {
+            addError("workersが不正です: " + workers);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addWarn("子のAppenderが指定されていません: " + getName());
+        }
+        ring = new EventRingBuffer<>(queueSize);
+        if (discardingThreshold < 0) {
+            discardingThreshold = ring.capacity() / 5;
+        }
+        running = true;
+        workerThreads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::runWorker, "common-masking-async-" + getName() + "-" + i);
+            thread.setDaemon(true);
+            workerThreads[i] = thread;
+        }
+        super.start();
+        for (Thread thread : workerThreads) {
+            thread.start();
+        }
+        ACTIVE.add(this);
+        addInfo("マスキング非同期Appenderが開始されました - queueSize: " + ring.capacity() + ", workers: " + workers
+                + ", backpressure: " + backpressure);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        ACTIVE.remove(this);
+        // ワーカーはキューに残ったイベントを出力してから終了する
+        running = false;
+        wakeWorkers();
+        long deadline = System.nanoTime() + maxFlushTime * 1_000_000L;
+        for (Thread thread : workerThreads) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    thread.join(Math.max(1, remaining / 1_000_000L));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int left = ring.size();
+        if (left > 0) {
+            addWarn("maxFlushTime内に出力できなかったイベントがあります: " + left + "件");
+        }
+        appenders.detachAndStopAllAppenders();
+        addInfo("マスキング非同期Appenderが停止されました");
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // スレッドに紐づく情報（MDC・スレッド名・メッセージ）をリクエストスレッドで確定する
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (isWorkerThread()) {
+            // 子のAppenderが出力中に記録したログは、自分のキューの空きを待たないよう直接出力する
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        boolean discardable = event.getLevel().toInt() <= discardLevel.toInt();
+        if (discardable && backpressure != Backpressure.BLOCK
+                && ring.capacity() - ring.size() <= discardingThreshold
+                && (backpressure == Backpressure.DROP_LOWEST_LEVEL
+                        || sampleSequence.getAndIncrement() % sampleRate != 0)) {
+            dropped.increment();
+            return;
+        }
+        if (ring.offer(event) || ((backpressure == Backpressure.BLOCK || !discardable) && putBlocking(event))) {
+            enqueued.increment();
+            if (idleWorkers.get() > 0) {
+                wakeWorkers();
+            }
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 空きができるまで待機して追加します。
+     *
+     * @return 追加できた場合はtrue。待機中に停止した場合はfalse
+     */
+    private boolean putBlocking(ILoggingEvent event) {
+        blocked.increment();
+        boolean interrupted = false;
+        try {
+            while (isStarted()) {
+                wakeWorkers();
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                // 割り込みでparkが即座に戻り続けないよう、フラグを退避して最後に戻す
+                interrupted |= Thread.interrupted();
+                if (ring.offer(event)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean isWorkerThread() {
+        Thread current = Thread.currentThread();
+        for (Thread thread : workerThreads) {
+            if (thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeWorkers() {
+        for (Thread thread : workerThreads) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void runWorker() {
+        while (true) {
+            ILoggingEvent event = ring.poll();
+            if (event != null) {
+                try {
+                    appenders.appendLoopOnAppenders(event);
+                } catch (RuntimeException e) {
+                    addError("非同期Appenderの出力に失敗しました: " + e.getMessage(), e);
+                }
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            // 待機を宣言してからキューを確認し直すことで、生産者の起床の取りこぼしを防ぐ
+            idleWorkers.incrementAndGet();
+            try {
+                if (running && ring.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    // ================ 統計 ================
+
+    /**
+     * 動作中のマスキング非同期Appenderを取得します。
+     *
+     * @return 動作中のAppender
+     */
+    public static Collection<MaskingAsyncAppender> getActiveAppenders() {
+        return Collections.unmodifiableSet(ACTIVE);
+    }
+
+    /**
+     * キューに滞留しているイベント数を取得します。
+     */
+    public int getQueueDepth() {
+        EventRingBuffer<ILoggingEvent> ring = this.ring;
+        return ring == null ? 0 : ring.size();
+    }
+
+    /**
+     * キューの容量を取得します。
+     */
+    public int getQueueCapacity() {
+        EventRingBuffer<ILoggingEvent> ring = this.ring;
+        return ring == null ? queueSize : ring.capacity();
+    }
+
+    /**
+     * キューに追加したイベント数を取得します。
+     */
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * 破棄（間引きを含む）したイベント数を取得します。
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 生産者がキューの空きを待機した回数を取得します。
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    // ================ AppenderAttachable ================
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        addInfo("子のAppenderを追加します: " + newAppender.getName());
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    // ================ 設定メソッド ================
+
+    /**
+     * キューの容量を設定（2の累乗に切り上げ）
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * ワーカースレッド数を設定
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * キューに空きがない場合の動作を設定（block / drop-lowest-level / sample）
+     */
+    public void setBackpressure(String backpressure) {
+        this.backpressure = Backpressure.parse(backpressure);
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * 破棄・間引きの対象とするレベルの上限を設定（既定: INFO）
+     */
+    public void setDiscardLevel(String discardLevel) {
+        this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+    }
+
+    public Level getDiscardLevel() {
+        return discardLevel;
+    }
+
+    /**
+     * 破棄・間引きを始める残りの空きを設定（既定: 容量の1/5）
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    /**
+     * 間引きの割合を設定（N件に1件を残す）
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 呼び出し元の情報をリクエストスレッドで取得するかどうかを設定
+     */
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    /**
+     * 停止時にキューの残りを出力する最長時間（ミリ秒）を設定
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+}
@@ -13,4 +13,19 @@ public interface BaseConfig extends Serializable {
      * @return 設定プレフィックス
      */
     String getConfigPrefix();
+
+    /**
+     * 設定を凍結し、以降の変更を禁止する
+     * {@link ConfigSnapshot} に公開する際に呼び出される。変更を禁止しない設定クラスでは何もしない
+     */
+    default void freeze() {
+    }
+
+    /**
+     * 設定が凍結されているかを判定する
+     * @return 凍結されている場合はtrue
+     */
+    default boolean isFrozen() {
+        return false;
+    }
 } 
\ No newline at end of file
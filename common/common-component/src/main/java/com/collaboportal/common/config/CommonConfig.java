@@ -19,16 +19,37 @@ public class CommonConfig implements BaseConfig {
     private int cookieExpiration;
     private String currDomain;
 
+    // スナップショットに公開済みで変更不可かどうか
+    private transient volatile boolean frozen;
+
     @Override
     public String getConfigPrefix() {
         return "common.util";
     }
 
+    @Override
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    // 公開済みの設定は共有されているため変更できない（変更する場合はコピーして再公開する）
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("公開済みの設定は変更できません。ConfigManager.updateConfigを使用してください");
+        }
+    }
+
     public String getNoAuthUrl() {
         return noAuthUrl;
     }
 
     public CommonConfig setNoAuthUrl(String noAuthUrl) {
+        checkMutable();
         this.noAuthUrl = noAuthUrl;
         return this;
     }
@@ -38,6 +59,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setIndexPage(String indexPage) {
+        checkMutable();
         this.indexPage = indexPage;
         return this;
     }
@@ -47,6 +69,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setSecretKey(String secretKey) {
+        checkMutable();
         this.secretKey = secretKey;
         return this;
     }
@@ -56,6 +79,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboidBaseurl(String collaboidBaseurl) {
+        checkMutable();
         this.collaboidBaseurl = collaboidBaseurl;
         return this;
     }
@@ -65,6 +89,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setEnvFlag(String envFlag) {
+        checkMutable();
         this.envFlag = envFlag;
         return this;
     }
@@ -74,6 +99,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboportalIssuer(String collaboportalIssuer) {
+        checkMutable();
         this.collaboportalIssuer = collaboportalIssuer;
         return this;
     }
@@ -83,6 +109,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboportalClientIdWeb(String collaboportalClientIdWeb) {
+        checkMutable();
         this.collaboportalClientIdWeb = collaboportalClientIdWeb;
         return this;
     }
@@ -92,6 +119,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboportalClientSecretWeb(String collaboportalClientSecretWeb) {
+        checkMutable();
         this.collaboportalClientSecretWeb = collaboportalClientSecretWeb;
         return this;
     }
@@ -101,6 +129,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboportalAudience(String collaboportalAudience) {
+        checkMutable();
         this.collaboportalAudience = collaboportalAudience;
         return this;
     }
@@ -110,6 +139,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCollaboportalBaseurl(String collaboportalBaseurl) {
+        checkMutable();
         this.collaboportalBaseurl = collaboportalBaseurl;
         return this;
     }
@@ -119,6 +149,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setNoAuthorization(String noAuthorization) {
+        checkMutable();
         this.noAuthorization = noAuthorization;
         return this;
     }
@@ -128,6 +159,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCookieSecure(boolean isCookieSecure) {
+        checkMutable();
         this.isCookieSecure = isCookieSecure;
         return this;
     }
@@ -137,6 +169,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCallback(String callback) {
+        checkMutable();
         this.callback = callback;
         return this;
     }
@@ -146,6 +179,7 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCookieExpiration(int cookieExpiration) {
+        checkMutable();
         this.cookieExpiration = cookieExpiration;
         return this;
     }
@@ -155,14 +189,11 @@ public class CommonConfig implements BaseConfig {
     }
 
     public CommonConfig setCurrDomain(String currDomain) {
+        checkMutable();
         this.currDomain = currDomain;
         return this;
     }
 
-
-
-
-
     @Override
     public String toString() {
         return "CommonConfig{" +
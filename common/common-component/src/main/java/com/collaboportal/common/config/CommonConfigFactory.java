@@ -1,15 +1,9 @@
 package com.collaboportal.common.config;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Field;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import com.collaboportal.common.utils.ObjectUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,8 +22,6 @@ public class CommonConfigFactory {
 
     // デフォルト設定ファイルパス
     private static final String DEFAULT_CONFIG_PATH = "application-common.properties";
-    // ${...}プレースホルダーをマッチする正規表現パターン
-    private static final Pattern ENV_PATTERN = Pattern.compile("\\$\\{(.*?)\\}");
 
     /**
      * デフォルト設定ファイルパスを使用して設定を作成
@@ -66,6 +58,7 @@ public class CommonConfigFactory {
 
     /**
      * 指定された設定ファイルを使用して指定された型の設定オブジェクトを作成
+     * 設定ファイルと環境変数の索引（{@link ConfigSourceIndex}）はパスごとに1度だけ作成される
      * 
      * @param configPath  設定ファイルのパス
      * @param configClass インスタンス化する設定クラス
@@ -73,139 +66,80 @@ public class CommonConfigFactory {
      * @return 初期化された設定オブジェクト
      */
     public static <T extends BaseConfig> T createConfig(String configPath, Class<T> configClass) {
-        try {
-            logger.debug("{}型の設定オブジェクトを作成開始", configClass.getSimpleName());
-            T config = configClass.getDeclaredConstructor().newInstance();
-            Map<String, String> configMap = readPropToMap(configPath, config.getConfigPrefix());
-            if (configMap == null) {
-                logger.error("設定ファイルが見つかりません: {}", configPath);
-                throw new RuntimeException("設定ファイルが見つかりません: " + configPath);
-            }
-            // 環境変数を設定マップにマージ
-            mergeEnvironmentVariables(configMap, config.getConfigPrefix());
-            return (T) initPropByMap(configMap, config);
-        } catch (Exception e) {
-            logger.error("設定の作成に失敗しました: {}", configClass.getName(), e);
-            throw new RuntimeException("設定の作成に失敗しました: " + configClass.getName(), e);
-        }
+        return createConfig(ConfigSourceIndex.ofClasspath(configPath), configPath, configClass);
     }
 
     /**
-     * プロパティファイルから設定を読み込み、Mapに変換
+     * ファイルシステム上の設定ファイルを使用して指定された型の設定オブジェクトを作成
+     * 呼び出しごとに設定ファイルを読み直す。複数の設定クラスを作成する場合は
+     * {@link ConfigSourceIndex#ofFile(Path)} で作成した索引を {@link #createConfig(ConfigSourceIndex, Class)} に渡す
      * 
-     * @param configPath 設定ファイルのパス
-     * @param prefix     プロパティをフィルタリングするためのプレフィックス
-     * @return 設定キーと値のペアを含むMap
+     * @param configFile  設定ファイルのパス
+     * @param configClass インスタンス化する設定クラス
+     * @param <T>         作成する設定の型
+     * @return 初期化された設定オブジェクト
      */
-    private static Map<String, String> readPropToMap(String configPath, String prefix) {
-        Map<String, String> configMap = new HashMap<>();
-        try (InputStream is = CommonConfigFactory.class.getClassLoader().getResourceAsStream(configPath)) {
-            if (is == null) {
-                logger.warn("指定された設定ファイルが見つかりません: {}", configPath);
-                return null;
-            }
-            Properties prop = new Properties();
-            prop.load(is);
+    public static <T extends BaseConfig> T createConfig(Path configFile, Class<T> configClass) {
+        return createConfig(ConfigSourceIndex.ofFile(configFile), configFile.toString(), configClass);
+    }
 
-            // プロパティをMapに変換、プレフィックスでフィルタリング
-            String prefixWithDot = prefix + ".";
-            for (String key : prop.stringPropertyNames()) {
-                if (key.startsWith(prefixWithDot)) {
-                    // キーからプレフィックスを削除
-                    String newKey = key.substring(prefixWithDot.length());
-                    String value = prop.getProperty(key);
-                    // 値の中の環境変数を解決
-                    value = resolveEnvironmentVariables(value);
-                    configMap.put(newKey, value);
-                }
-            }
-        } catch (IOException e) {
-            logger.error("プロパティファイルの読み込みに失敗しました: {}", configPath, e);
-            throw new RuntimeException("プロパティファイルの読み込みに失敗しました: " + configPath, e);
-        }
-        return configMap;
+    /**
+     * 設定ソースの索引を使用して指定された型の設定オブジェクトを作成
+     * 
+     * @param index       設定ソースの索引
+     * @param configClass インスタンス化する設定クラス
+     * @param <T>         作成する設定の型
+     * @return 初期化された設定オブジェクト
+     */
+    public static <T extends BaseConfig> T createConfig(ConfigSourceIndex index, Class<T> configClass) {
+        return createConfig(index, index != null ? index.getSource() : null, configClass);
     }
 
     /**
-     * 文字列値の中の環境変数を解決
+     * 設定オブジェクトの複製を作成
+     * 公開済み（凍結済み）の設定を変更して再公開する場合に使用する。複製は凍結されていない
      * 
-     * @param value ${...}プレースホルダーを含む文字列値
-     * @return プレースホルダーが環境変数の値に置き換えられた文字列
+     * @param config 複製元の設定オブジェクト
+     * @param <T>    設定の型
+     * @return 複製した設定オブジェクト
      */
-    private static String resolveEnvironmentVariables(String value) {
-        if (value == null) {
-            return null;
-        }
+    @SuppressWarnings("unchecked")
+    public static <T extends BaseConfig> T copyOf(T config) {
+        return ConfigBinder.of((Class<T>) config.getClass()).copy(config);
+    }
 
-        Matcher matcher = ENV_PATTERN.matcher(value);
-        StringBuffer result = new StringBuffer();
-        while (matcher.find()) {
-            String envKey = matcher.group(1);
-            String envValue = System.getenv(envKey);
-            if (envValue == null) {
-                logger.warn("環境変数{}が見つかりません", envKey);
-                envValue = "";
+    /**
+     * 設定ソースの索引から指定された型の設定オブジェクトを作成
+     */
+    private static <T extends BaseConfig> T createConfig(ConfigSourceIndex index, String source, Class<T> configClass) {
+        try {
+            logger.debug("{}型の設定オブジェクトを作成開始", configClass.getSimpleName());
+            T config = ConfigBinder.of(configClass).newInstance();
+            if (index == null) {
+                logger.error("設定ファイルが見つかりません: {}", source);
+                throw new RuntimeException("設定ファイルが見つかりません: " + source);
             }
-            matcher.appendReplacement(result, envValue);
+            // 設定ファイルと環境変数を統合済みの索引からプレフィックス配下の値を取得
+            return initPropByMap(index.getByPrefix(config.getConfigPrefix()), config);
+        } catch (Exception e) {
+            logger.error("設定の作成に失敗しました: {}", configClass.getName(), e);
+            throw new RuntimeException("設定の作成に失敗しました: " + configClass.getName(), e);
         }
-        matcher.appendTail(result);
-        return result.toString();
     }
 
     /**
      * Mapの値を使用してオブジェクトのプロパティを初期化
+     * 設定クラスごとに事前作成した割り当て計画（{@link ConfigBinder}）を使用する
      * 
      * @param map プロパティのキーと値のペアを含むMap
      * @param obj 初期化するオブジェクト
      * @return 初期化されたオブジェクト
      */
-    private static Object initPropByMap(Map<String, String> map, Object obj) {
+    @SuppressWarnings("unchecked")
+    private static <T> T initPropByMap(Map<String, String> map, T obj) {
         if (map == null) {
             map = new HashMap<>(10);
         }
-        Class<?> clazz = obj.getClass();
-
-        // オブジェクトの全フィールドを初期化
-        for (Field field : clazz.getDeclaredFields()) {
-            String value = map.get(field.getName());
-            if (value == null) {
-                continue;
-            }
-            try {
-                // 文字列値をフィールドの型に変換
-                Object valueConvert = ObjectUtil.getValueByType(value, field.getType());
-                field.setAccessible(true);
-                field.set(obj, valueConvert);
-            } catch (IllegalAccessException e) {
-                logger.error("フィールド値の設定に失敗しました: {}", field.getName(), e);
-                throw new RuntimeException("フィールド値の設定に失敗しました: " + field.getName(), e);
-            }
-        }
-        return obj;
-    }
-
-    /**
-     * 環境変数を設定マップにマージ
-     * 
-     * @param configMap マージ先の設定マップ
-     * @param prefix    環境変数をフィルタリングするためのプレフィックス
-     */
-    private static void mergeEnvironmentVariables(Map<String, String> configMap, String prefix) {
-        String envPrefix = prefix.toUpperCase().replace('.', '_') + "_";
-        Map<String, String> envMap = System.getenv();
-
-        for (Map.Entry<String, String> entry : envMap.entrySet()) {
-            String key = entry.getKey();
-            if (key.startsWith(envPrefix)) {
-                // 環境変数キーを設定キー形式に変換
-                String configKey = key.substring(envPrefix.length())
-                        .toLowerCase()
-                        .replace('_', '.');
-                // 設定ファイルに既に設定されていない場合のみ上書き
-                if (!configMap.containsKey(configKey)) {
-                    configMap.put(configKey, entry.getValue());
-                }
-            }
-        }
+        return ConfigBinder.of((Class<T>) obj.getClass()).bind(map, obj);
     }
 }
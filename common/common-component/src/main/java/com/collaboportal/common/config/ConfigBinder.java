@@ -0,0 +1,409 @@
+package com.collaboportal.common.config;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 設定クラスへの値の割り当て計画
+ * 設定クラスごとに1度だけフィールドを解析し、アクセス可能にしたフィールドと
+ * 文字列からフィールド型への変換方法を事前に決定します。
+ * 初回読み込み・再読み込み・複製のたびに {@code getDeclaredFields} / {@code setAccessible} /
+ * 型判定を繰り返すことはありません。
+ *
+ * <p>対応する型:</p>
+ * <ul>
+ * <li>文字列・プリミティブ型とそのラッパー型・列挙型</li>
+ * <li>{@link Duration}（{@code PT30S} 形式、または {@code 500ms} / {@code 30s} / {@code 5m} / {@code 1h} / {@code 2d}、単位なしはミリ秒）</li>
+ * <li>上記を要素とする {@link List} / {@link Set} / {@link Collection}（カンマ区切り）</li>
+ * <li>引数なしコンストラクタを持つ入れ子の設定クラス（{@code フィールド名.子フィールド名} のキーで割り当て）</li>
+ * </ul>
+ *
+ * キーはフィールド名のほか、ケバブケース（{@code cookieExpiration} → {@code cookie-expiration}）でも指定できます。
+ * 文字列以外のフィールドに空文字が指定された場合は、既定値を維持します。
+ *
+ * @param <T> 設定クラスの型
+ */
+public final class ConfigBinder<T> {
+
+    // 設定クラスごとの割り当て計画
+    private static final ClassValue<ConfigBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected ConfigBinder<?> computeValue(Class<?> type) {
+            return new ConfigBinder<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final FieldBinding[] bindings;
+
+    private ConfigBinder(Class<T> type) {
+        this.type = type;
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException("設定クラスに引数なしコンストラクタがありません: " + type.getName(), e);
+        }
+        List<FieldBinding> list = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers)
+                        || field.isSynthetic()) {
+                    continue;
+                }
+                list.add(new FieldBinding(field));
+            }
+        }
+        this.bindings = list.toArray(new FieldBinding[0]);
+    }
+
+    /**
+     * 設定クラスの割り当て計画を取得します。計画はクラスごとに1度だけ作成されます。
+     *
+     * @param <T>  設定クラスの型
+     * @param type 設定クラス
+     * @return 割り当て計画
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ConfigBinder<T> of(Class<T> type) {
+        return (ConfigBinder<T>) BINDERS.get(type);
+    }
+
+    /**
+     * 新しいインスタンスを生成して値を割り当てます。
+     *
+     * @param values キー（プレフィックスを除く）と値のマップ
+     * @return 値を割り当てたインスタンス
+     */
+    public T bind(Map<String, String> values) {
+        return bind(values, newInstance());
+    }
+
+    /**
+     * 既存のインスタンスに値を割り当てます。マップに含まれないフィールドは変更しません。
+     *
+     * @param values キー（プレフィックスを除く）と値のマップ
+     * @param target 割り当て先
+     * @return 割り当て先
+     */
+    public T bind(Map<String, String> values, T target) {
+        for (FieldBinding binding : bindings) {
+            binding.bind(values, target);
+        }
+        return target;
+    }
+
+    /**
+     * インスタンスの複製を作成します（入れ子の設定クラス・コレクションも複製し、複製元とは共有しません）。
+     *
+     * @param source 複製元
+     * @return 複製
+     */
+    public T copy(T source) {
+        T copy = newInstance();
+        for (FieldBinding binding : bindings) {
+            binding.copy(source, copy);
+        }
+        return copy;
+    }
+
+    /**
+     * 新しいインスタンスを生成します。
+     *
+     * @return インスタンス
+     */
+    public T newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("設定クラスを生成できません: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 値の種類
+     */
+    private enum ValueType {
+        STRING, INT, LONG, SHORT, BYTE, FLOAT, DOUBLE, BOOLEAN, CHAR, DURATION, ENUM, COLLECTION, NESTED, UNSUPPORTED;
+
+        // フィールド型から値の種類を決定する
+        static ValueType of(Class<?> type) {
+            if (type == String.class) {
+                return STRING;
+            } else if (type == int.class || type == Integer.class) {
+                return INT;
+            } else if (type == long.class || type == Long.class) {
+                return LONG;
+            } else if (type == short.class || type == Short.class) {
+                return SHORT;
+            } else if (type == byte.class || type == Byte.class) {
+                return BYTE;
+            } else if (type == float.class || type == Float.class) {
+                return FLOAT;
+            } else if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            } else if (type == char.class || type == Character.class) {
+                return CHAR;
+            } else if (type == Duration.class) {
+                return DURATION;
+            } else if (type.isEnum()) {
+                return ENUM;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            } else if (isNestedType(type)) {
+                return NESTED;
+            }
+            return UNSUPPORTED;
+        }
+
+        // 単一の値を変換する
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Object convert(String value, Class<?> type) {
+            switch (this) {
+                case STRING:
+                    return value;
+                case INT:
+                    return Integer.valueOf(value.trim());
+                case LONG:
+                    return Long.valueOf(value.trim());
+                case SHORT:
+                    return Short.valueOf(value.trim());
+                case BYTE:
+                    return Byte.valueOf(value.trim());
+                case FLOAT:
+                    return Float.valueOf(value.trim());
+                case DOUBLE:
+                    return Double.valueOf(value.trim());
+                case BOOLEAN:
+                    return Boolean.valueOf(value.trim());
+                case CHAR:
+                    return value.charAt(0);
+                case DURATION:
+                    return parseDuration(value);
+                case ENUM:
+                    return Enum.valueOf((Class<? extends Enum>) type,
+                            value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+                default:
+                    throw new IllegalArgumentException("設定値に対応していない型です: " + type.getName());
+            }
+        }
+    }
+
+    /**
+     * 1フィールド分の割り当て計画
+     */
+    private static final class FieldBinding {
+
+        private final Field field;
+        private final String name;
+        private final String kebabName;
+        private final ValueType valueType;
+        // コレクションの要素の種類と型（コレクション以外はnull）
+        private final ValueType elementType;
+        private final Class<?> elementClass;
+        // 入れ子の設定クラスの割り当て計画（入れ子以外はnull）
+        private final ConfigBinder<Object> nested;
+        private final String nestedPrefix;
+        private final String nestedKebabPrefix;
+
+        @SuppressWarnings("unchecked")
+        private FieldBinding(Field field) {
+            field.setAccessible(true);
+            this.field = field;
+            this.name = field.getName();
+            this.kebabName = toKebabCase(name);
+            Class<?> fieldType = field.getType();
+            ValueType resolved = ValueType.of(fieldType);
+            ValueType element = null;
+            Class<?> elementCls = null;
+            if (resolved == ValueType.COLLECTION) {
+                Type generic = field.getGenericType();
+                Type argument = generic instanceof ParameterizedType p ? p.getActualTypeArguments()[0] : String.class;
+                elementCls = argument instanceof Class<?> c ? c : Object.class;
+                element = ValueType.of(elementCls);
+                if (element == ValueType.COLLECTION || element == ValueType.NESTED
+                        || element == ValueType.UNSUPPORTED) {
+                    resolved = ValueType.UNSUPPORTED;
+                }
+            }
+            this.valueType = resolved;
+            this.elementType = element;
+            this.elementClass = elementCls;
+            if (resolved == ValueType.NESTED) {
+                this.nested = (ConfigBinder<Object>) ConfigBinder.of(fieldType);
+                this.nestedPrefix = name + ".";
+                this.nestedKebabPrefix = kebabName != null ? kebabName + "." : null;
+            } else {
+                this.nested = null;
+                this.nestedPrefix = null;
+                this.nestedKebabPrefix = null;
+            }
+        }
+
+        private void bind(Map<String, String> values, Object target) {
+            try {
+                if (nested != null) {
+                    Map<String, String> children = childValues(values);
+                    if (!children.isEmpty()) {
+                        Object current = field.get(target);
+                        field.set(target, nested.bind(children, current != null ? current : nested.newInstance()));
+                    }
+                    return;
+                }
+                String value = values.get(name);
+                if (value == null && kebabName != null) {
+                    value = values.get(kebabName);
+                }
+                // 文字列以外の空文字は未指定として扱い、既定値を維持する
+                if (value == null || (valueType != ValueType.STRING && value.isBlank())) {
+                    return;
+                }
+                field.set(target, valueType == ValueType.COLLECTION
+                        ? toCollection(value)
+                        : valueType.convert(value, field.getType()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("設定値を割り当てられません: " + name, e);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("設定値を割り当てられません: " + name, e);
+            }
+        }
+
+        private void copy(Object source, Object target) {
+            try {
+                Object value = field.get(source);
+                if (nested != null && value != null) {
+                    value = nested.copy(value);
+                } else if (valueType == ValueType.COLLECTION && value != null) {
+                    // 凍結された設定の変更不可のコレクションを共有しないよう、変更可能なコレクションに複製する
+                    Collection<Object> collection = newCollection();
+                    collection.addAll((Collection<?>) value);
+                    value = collection;
+                }
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("設定値を複製できません: " + name, e);
+            }
+        }
+
+        // カンマ区切りの値をコレクションに変換する
+        private Collection<Object> toCollection(String value) {
+            Collection<Object> collection = newCollection();
+            for (String item : value.split(",")) {
+                String trimmed = item.trim();
+                if (!trimmed.isEmpty()) {
+                    collection.add(elementType.convert(trimmed, elementClass));
+                }
+            }
+            return collection;
+        }
+
+        // フィールド型に合うコレクションを生成する
+        @SuppressWarnings("unchecked")
+        private Collection<Object> newCollection() {
+            Class<?> fieldType = field.getType();
+            if (!fieldType.isInterface() && !Modifier.isAbstract(fieldType.getModifiers())) {
+                try {
+                    return (Collection<Object>) fieldType.getConstructor().newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("コレクションを生成できません: " + fieldType.getName(), e);
+                }
+            }
+            return Set.class.isAssignableFrom(fieldType) ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+
+        // 入れ子の設定クラス向けのキーを抽出する
+        private Map<String, String> childValues(Map<String, String> values) {
+            Map<String, String> children = new HashMap<>();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                String key = entry.getKey();
+                if (key.startsWith(nestedPrefix)) {
+                    children.put(key.substring(nestedPrefix.length()), entry.getValue());
+                } else if (nestedKebabPrefix != null && key.startsWith(nestedKebabPrefix)) {
+                    children.putIfAbsent(key.substring(nestedKebabPrefix.length()), entry.getValue());
+                }
+            }
+            return children;
+        }
+    }
+
+    // 入れ子の設定クラスとして扱える型か判定する
+    private static boolean isNestedType(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jakarta.")) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 期間の文字列を解析します。
+     *
+     * @param value {@code PT30S} 形式、または数値と単位（ms / s / m / h / d）。単位なしはミリ秒
+     * @return 期間
+     */
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("p") || text.startsWith("-p")) {
+            return Duration.parse(value.trim());
+        }
+        int unitStart = text.length();
+        while (unitStart > 0 && Character.isLetter(text.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+        long amount = Long.parseLong(text.substring(0, unitStart).trim());
+        switch (text.substring(unitStart)) {
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("期間の単位が不正です: " + value);
+        }
+    }
+
+    // キャメルケースのフィールド名をケバブケースに変換する（変換不要の場合はnull）
+    private static String toKebabCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                sb.append('-').append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        String kebab = sb.toString();
+        return kebab.equals(name) ? null : kebab;
+    }
+}
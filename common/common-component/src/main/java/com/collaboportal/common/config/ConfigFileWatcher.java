@@ -0,0 +1,166 @@
+package com.collaboportal.common.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.collaboportal.common.ConfigManager;
+
+/**
+ * 設定ファイルの変更監視と再読み込み
+ * ファイルシステム上の {@code application-common.properties} を {@link WatchService} で監視し、
+ * 変更を検知すると全設定クラスを読み直して1つの新しい {@link ConfigSnapshot} として公開します。
+ * 読み取り側はスナップショットの参照を取得するだけのため、再読み込み中も古い設定か新しい設定のどちらかを一貫して参照します。
+ *
+ * <p>読み込みに失敗した場合（書き込み途中のファイル・不正な値など）は現在のスナップショットを維持します。</p>
+ */
+public class ConfigFileWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigFileWatcher.class);
+
+    // 保存時に複数回発生する変更イベントをまとめる待機時間の既定値
+    private static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+    private final Path file;
+    private final Set<Class<? extends BaseConfig>> configClasses;
+    private final Duration debounce;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * コンストラクタ
+     * 再読み込みの対象は、再読み込み時点で公開中のスナップショットに含まれる設定クラスと {@link CommonConfig} です。
+     *
+     * @param file 監視する設定ファイル
+     */
+    public ConfigFileWatcher(Path file) {
+        this(file, List.of(CommonConfig.class), DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param file          監視する設定ファイル
+     * @param configClasses 常に再読み込みする設定クラス
+     * @param debounce      変更イベントをまとめる待機時間
+     */
+    public ConfigFileWatcher(Path file, Collection<Class<? extends BaseConfig>> configClasses, Duration debounce) {
+        this.file = file.toAbsolutePath().normalize();
+        this.configClasses = new LinkedHashSet<>(configClasses);
+        this.debounce = debounce;
+    }
+
+    /**
+     * 設定ファイルを読み込んで公開し、変更の監視を開始します。
+     *
+     * @throws IOException 監視を開始できない場合
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        reload();
+        watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(this::watchLoop, "common-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("設定ファイルの監視を開始しました: {}", file);
+    }
+
+    /**
+     * 設定ファイルを読み直し、新しいスナップショットとして公開します。
+     *
+     * @return 公開したスナップショット。読み込みに失敗した場合は現在のスナップショット
+     */
+    public ConfigSnapshot reload() {
+        Set<Class<? extends BaseConfig>> targets = new LinkedHashSet<>(configClasses);
+        targets.addAll(ConfigManager.getSnapshot().getConfigs().keySet());
+        Map<Class<? extends BaseConfig>, BaseConfig> configs = new LinkedHashMap<>();
+        try {
+            // 設定ファイルは1度だけ読み込み、全設定クラスで同じ索引を使用する
+            ConfigSourceIndex index = ConfigSourceIndex.ofFile(file);
+            for (Class<? extends BaseConfig> configClass : targets) {
+                configs.put(configClass, CommonConfigFactory.createConfig(index, configClass));
+            }
+        } catch (RuntimeException e) {
+            logger.error("設定ファイルの再読み込みに失敗しました。現在の設定を維持します: {}", file, e);
+            return ConfigManager.getSnapshot();
+        }
+        ConfigSnapshot snapshot = ConfigManager.publishConfigs(configs);
+        logger.info("設定ファイルを再読み込みしました: {} (version={})", file, snapshot.getVersion());
+        return snapshot;
+    }
+
+    /**
+     * 変更の監視を停止します。
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    // 変更イベントを待機し、対象ファイルの変更時に再読み込みする
+    private void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                boolean changed = isTargetChanged(key);
+                if (changed) {
+                    // 保存時の連続したイベントをまとめてから読み込む
+                    Thread.sleep(debounce.toMillis());
+                    WatchKey pending;
+                    while ((pending = service.poll()) != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // close() による停止
+        }
+        logger.info("設定ファイルの監視を終了しました: {}", file);
+    }
+
+    // 監視キーのイベントに対象ファイルの変更が含まれるか判定し、キーを再登録する
+    private boolean isTargetChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (event.context() instanceof Path name && file.getFileName().equals(name)) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
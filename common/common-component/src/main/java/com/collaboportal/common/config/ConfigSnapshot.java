@@ -0,0 +1,98 @@
+package com.collaboportal.common.config;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 設定の不変スナップショット
+ * 設定クラスごとの設定オブジェクトと、公開ごとに増加するバージョン番号を保持します。
+ * スナップショットは公開後に変更されず、更新時は新しいスナップショットを生成して参照ごと差し替えます。
+ * 読み取り側はロックを取得せずに、常に一貫した組み合わせの設定を参照できます。
+ */
+public final class ConfigSnapshot {
+
+    /** 空のスナップショット（バージョン0） */
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot(0L, Map.of(), Instant.EPOCH);
+
+    private final long version;
+    private final Map<Class<? extends BaseConfig>, BaseConfig> configs;
+    private final Instant publishedAt;
+
+    private ConfigSnapshot(long version, Map<Class<? extends BaseConfig>, BaseConfig> configs, Instant publishedAt) {
+        this.version = version;
+        this.configs = configs;
+        this.publishedAt = publishedAt;
+    }
+
+    /**
+     * スナップショットのバージョンを取得します。
+     *
+     * @return バージョン番号（公開ごとに1ずつ増加）
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * スナップショットの公開日時を取得します。
+     *
+     * @return 公開日時
+     */
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    /**
+     * 指定した設定クラスの設定を取得します。
+     *
+     * @param <T>         設定クラスの型
+     * @param configClass 設定クラス
+     * @return 設定オブジェクト。未登録の場合はnull
+     */
+    public <T extends BaseConfig> T get(Class<T> configClass) {
+        return configClass.cast(configs.get(configClass));
+    }
+
+    /**
+     * 登録されている設定クラスと設定の一覧を取得します。
+     *
+     * @return 変更不可のマップ
+     */
+    public Map<Class<? extends BaseConfig>, BaseConfig> getConfigs() {
+        return configs;
+    }
+
+    /**
+     * 設定を追加・置換した次のバージョンのスナップショットを生成します。
+     * 追加した設定は凍結され、以降は変更できなくなります。
+     *
+     * @param config 設定オブジェクト
+     * @return 新しいスナップショット
+     */
+    public ConfigSnapshot with(BaseConfig config) {
+        return withAll(Map.of(config.getClass(), config));
+    }
+
+    /**
+     * 複数の設定を追加・置換した次のバージョンのスナップショットを生成します。
+     *
+     * @param replacements 設定クラスと設定オブジェクトのマップ
+     * @return 新しいスナップショット
+     */
+    public ConfigSnapshot withAll(Map<Class<? extends BaseConfig>, ? extends BaseConfig> replacements) {
+        Map<Class<? extends BaseConfig>, BaseConfig> next = new HashMap<>(configs);
+        for (Map.Entry<Class<? extends BaseConfig>, ? extends BaseConfig> entry : replacements.entrySet()) {
+            BaseConfig config = entry.getValue();
+            config.freeze();
+            next.put(entry.getKey(), config);
+        }
+        return new ConfigSnapshot(version + 1, Collections.unmodifiableMap(next), Instant.now());
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot{version=" + version + ", configs=" + configs.keySet() + ", publishedAt=" + publishedAt + "}";
+    }
+}
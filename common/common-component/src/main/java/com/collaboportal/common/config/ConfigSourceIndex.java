@@ -0,0 +1,354 @@
+package com.collaboportal.common.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 設定ソースの索引
+ * 設定ファイルと環境変数をそれぞれ1度だけ読み込み、キーを「.」区切りのセグメントに分けたトライ木に格納します。
+ * 設定クラスごとのプレフィックス（{@code common.util} など）はトライ木の1つのノードに対応するため、
+ * 設定クラスの数や環境変数の数に比例した走査を繰り返さずに、プレフィックス配下の値を取得できます。
+ *
+ * <p>環境変数は {@code COMMON_UTIL_ENV_FLAG} → {@code common.util.env.flag} の形式でキーに変換し、
+ * 設定ファイルに同じキーがない場合のみ採用します（従来の {@code mergeEnvironmentVariables} と同じ優先順位）。</p>
+ *
+ * <p>値の中の {@code ${NAME}} / {@code ${NAME:既定値}} は、環境変数 → 同じ設定ファイルのキー → 既定値 の順に解決します。
+ * 解決はキーごとに初回参照時の1度だけ行い、循環参照は {@link IllegalArgumentException} として検出します。</p>
+ */
+public final class ConfigSourceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSourceIndex.class);
+
+    // クラスパス上の設定ファイルの索引（ファイルが存在しない場合は空）
+    private static final Map<String, Optional<ConfigSourceIndex>> CLASSPATH_INDEXES = new ConcurrentHashMap<>();
+
+    // 直近に作成した環境変数のトライ木（環境変数のマップごとに1度だけ作成する）
+    private static volatile EnvironmentTrie lastEnvironment;
+
+    private final String source;
+    private final Map<String, String> environment;
+    private final Node root = new Node(null);
+    private final Node environmentRoot;
+    // プレフィックスごとの取得結果
+    private final Map<String, Map<String, String>> prefixValues = new ConcurrentHashMap<>();
+
+    private ConfigSourceIndex(String source, Properties properties, Map<String, String> environment) {
+        this.source = source;
+        this.environment = environment;
+        this.environmentRoot = environmentTrie(environment);
+        for (String key : properties.stringPropertyNames()) {
+            root.put(key, properties.getProperty(key));
+        }
+    }
+
+    /**
+     * クラスパス上の設定ファイルの索引を取得します。索引はパスごとに1度だけ作成されます。
+     *
+     * @param configPath 設定ファイルのパス
+     * @return 索引。ファイルが存在しない場合はnull
+     */
+    public static ConfigSourceIndex ofClasspath(String configPath) {
+        return CLASSPATH_INDEXES.computeIfAbsent(configPath,
+                path -> Optional.ofNullable(loadClasspathProperties(path))
+                        .map(prop -> new ConfigSourceIndex(path, prop, Environment.VARIABLES)))
+                .orElse(null);
+    }
+
+    /**
+     * ファイルシステム上の設定ファイルを読み込んで索引を作成します。
+     * 呼び出しごとにファイルを読み直します（環境変数は再読み込みしません）。
+     *
+     * @param configFile 設定ファイルのパス
+     * @return 索引。ファイルが存在しない場合はnull
+     */
+    public static ConfigSourceIndex ofFile(Path configFile) {
+        Properties prop = loadFileProperties(configFile);
+        return prop != null ? new ConfigSourceIndex(configFile.toString(), prop, Environment.VARIABLES) : null;
+    }
+
+    /**
+     * 読み込み済みのプロパティと環境変数から索引を作成します。
+     * 環境変数のトライ木は直前の呼び出しと同じマップの場合に再利用するため、マップは作成後に変更しないでください。
+     *
+     * @param source      設定ソースの名前（ログ出力用）
+     * @param properties  プロパティ
+     * @param environment 環境変数
+     * @return 索引
+     */
+    public static ConfigSourceIndex of(String source, Properties properties, Map<String, String> environment) {
+        return new ConfigSourceIndex(source, properties, environment);
+    }
+
+    /**
+     * 設定ソースの名前を取得します。
+     *
+     * @return 設定ソースの名前
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * キーの値を取得します。
+     *
+     * @param key キー
+     * @return プレースホルダーを解決した値。存在しない場合はnull
+     */
+    public String get(String key) {
+        Node node = root.find(key);
+        if (node != null && node.raw != null) {
+            return resolve(node, new LinkedHashSet<>());
+        }
+        Node envNode = environmentRoot.find(key);
+        return envNode != null ? envNode.raw : null;
+    }
+
+    /**
+     * プレフィックス配下のキーと値を取得します。結果はプレフィックスごとに1度だけ作成されます。
+     *
+     * @param prefix プレフィックス（末尾の「.」は含めない）
+     * @return プレフィックスを除いたキーと、プレースホルダーを解決した値の変更不可のマップ
+     */
+    public Map<String, String> getByPrefix(String prefix) {
+        Map<String, String> values = prefixValues.get(prefix);
+        if (values == null) {
+            Map<String, String> collected = new LinkedHashMap<>();
+            int prefixLength = prefix.length() + 1;
+            Node node = root.find(prefix);
+            if (node != null) {
+                collect(node, prefixLength, collected, true);
+            }
+            // 設定ファイルに同じキーがない場合のみ環境変数を採用する
+            Node envNode = environmentRoot.find(prefix);
+            if (envNode != null) {
+                collect(envNode, prefixLength, collected, false);
+            }
+            values = Collections.unmodifiableMap(collected);
+            prefixValues.putIfAbsent(prefix, values);
+        }
+        return values;
+    }
+
+    // ノード配下の値を収集する
+    private void collect(Node node, int prefixLength, Map<String, String> collected, boolean resolvePlaceholders) {
+        for (Node child : node.children.values()) {
+            if (child.raw != null) {
+                String key = child.key.substring(prefixLength);
+                if (resolvePlaceholders) {
+                    collected.put(key, resolve(child, new LinkedHashSet<>()));
+                } else {
+                    collected.putIfAbsent(key, child.raw);
+                }
+            }
+            collect(child, prefixLength, collected, resolvePlaceholders);
+        }
+    }
+
+    // ノードの値のプレースホルダーを解決する（解決済みの値は再利用する）
+    private String resolve(Node node, Set<String> resolving) {
+        String resolved = node.resolved;
+        if (resolved != null) {
+            return resolved;
+        }
+        if (!resolving.add(node.key)) {
+            List<String> chain = new ArrayList<>(resolving);
+            chain.add(node.key);
+            throw new IllegalArgumentException("プレースホルダーが循環参照しています: " + String.join(" -> ", chain)
+                    + " (" + source + ")");
+        }
+        resolved = resolvePlaceholders(node.raw, resolving);
+        resolving.remove(node.key);
+        node.resolved = resolved;
+        return resolved;
+    }
+
+    // 文字列の中の ${NAME} / ${NAME:既定値} を解決する
+    private String resolvePlaceholders(String value, Set<String> resolving) {
+        int start = value.indexOf("${");
+        if (start < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        int position = 0;
+        while (start >= 0) {
+            int end = findPlaceholderEnd(value, start + 2);
+            if (end < 0) {
+                break;
+            }
+            sb.append(value, position, start);
+            sb.append(resolvePlaceholder(value.substring(start + 2, end), resolving));
+            position = end + 1;
+            start = value.indexOf("${", position);
+        }
+        sb.append(value, position, value.length());
+        return sb.toString();
+    }
+
+    // プレースホルダー1つ分を解決する
+    private String resolvePlaceholder(String placeholder, Set<String> resolving) {
+        int separator = placeholder.indexOf(':');
+        String name = separator >= 0 ? placeholder.substring(0, separator) : placeholder;
+        String envValue = environment.get(name);
+        if (envValue != null) {
+            return envValue;
+        }
+        Node node = root.find(name);
+        if (node != null && node.raw != null) {
+            return resolve(node, resolving);
+        }
+        if (separator >= 0) {
+            return resolvePlaceholders(placeholder.substring(separator + 1), resolving);
+        }
+        logger.warn("環境変数{}が見つかりません", name);
+        return "";
+    }
+
+    // 入れ子を考慮してプレースホルダーの終端を探す
+    private static int findPlaceholderEnd(String value, int from) {
+        int depth = 0;
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '$' && i + 1 < value.length() && value.charAt(i + 1) == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    // 環境変数のトライ木を取得する（同じマップの場合は直近に作成したものを再利用する）
+    private static Node environmentTrie(Map<String, String> environment) {
+        EnvironmentTrie cached = lastEnvironment;
+        if (cached != null && cached.variables == environment) {
+            return cached.root;
+        }
+        Node envRoot = new Node(null);
+        for (Map.Entry<String, String> entry : environment.entrySet()) {
+            // COMMON_UTIL_ENV_FLAG → common.util.env.flag
+            envRoot.put(entry.getKey().toLowerCase(Locale.ROOT).replace('_', '.'), entry.getValue());
+        }
+        lastEnvironment = new EnvironmentTrie(environment, envRoot);
+        return envRoot;
+    }
+
+    /**
+     * クラスパス上のプロパティファイルを読み込む
+     */
+    private static Properties loadClasspathProperties(String configPath) {
+        try (InputStream is = ConfigSourceIndex.class.getClassLoader().getResourceAsStream(configPath)) {
+            if (is == null) {
+                logger.warn("指定された設定ファイルが見つかりません: {}", configPath);
+                return null;
+            }
+            Properties prop = new Properties();
+            prop.load(is);
+            return prop;
+        } catch (IOException e) {
+            logger.error("プロパティファイルの読み込みに失敗しました: {}", configPath, e);
+            throw new RuntimeException("プロパティファイルの読み込みに失敗しました: " + configPath, e);
+        }
+    }
+
+    /**
+     * ファイルシステム上のプロパティファイルを読み込む
+     */
+    private static Properties loadFileProperties(Path configFile) {
+        if (!Files.isRegularFile(configFile)) {
+            logger.warn("指定された設定ファイルが見つかりません: {}", configFile);
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(configFile)) {
+            Properties prop = new Properties();
+            prop.load(is);
+            return prop;
+        } catch (IOException e) {
+            logger.error("プロパティファイルの読み込みに失敗しました: {}", configFile, e);
+            throw new RuntimeException("プロパティファイルの読み込みに失敗しました: " + configFile, e);
+        }
+    }
+
+    /**
+     * プロセスの環境変数（初回参照時に1度だけ取得する）
+     */
+    private static final class Environment {
+        private static final Map<String, String> VARIABLES = Map.copyOf(System.getenv());
+    }
+
+    /**
+     * 環境変数のマップと、そのトライ木
+     */
+    private record EnvironmentTrie(Map<String, String> variables, Node root) {
+    }
+
+    /**
+     * トライ木のノード（キーの「.」区切りのセグメント1つに対応する）
+     */
+    private static final class Node {
+
+        // ルートからこのノードまでのキー
+        private final String key;
+        private final Map<String, Node> children = new HashMap<>();
+        // 設定値（値を持たない中間ノードはnull）
+        private String raw;
+        // プレースホルダーを解決済みの値（初回参照時に作成する）
+        private volatile String resolved;
+
+        private Node(String key) {
+            this.key = key;
+        }
+
+        // キーのノードを作成して値を設定する
+        private void put(String fullKey, String value) {
+            Node node = this;
+            int start = 0;
+            while (true) {
+                int dot = fullKey.indexOf('.', start);
+                String segment = dot < 0 ? fullKey.substring(start) : fullKey.substring(start, dot);
+                String childKey = dot < 0 ? fullKey : fullKey.substring(0, dot);
+                node = node.children.computeIfAbsent(segment, s -> new Node(childKey));
+                if (dot < 0) {
+                    break;
+                }
+                start = dot + 1;
+            }
+            node.raw = value;
+        }
+
+        // キーのノードを探す
+        private Node find(String fullKey) {
+            Node node = this;
+            int start = 0;
+            while (node != null) {
+                int dot = fullKey.indexOf('.', start);
+                node = node.children.get(dot < 0 ? fullKey.substring(start) : fullKey.substring(start, dot));
+                if (dot < 0) {
+                    return node;
+                }
+                start = dot + 1;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.collaboportal.common.config;
+
+/**
+ * 設定変更の購読
+ * {@link com.collaboportal.common.ConfigManager#subscribe(Class, java.util.function.Consumer)} の戻り値です。
+ * {@link #close()} を呼び出すと以降の変更は通知されません。
+ */
+@FunctionalInterface
+public interface ConfigSubscription extends AutoCloseable {
+
+    /**
+     * 購読を解除します。
+     */
+    @Override
+    void close();
+}
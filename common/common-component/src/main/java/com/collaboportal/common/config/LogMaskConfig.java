@@ -1,6 +1,7 @@
 package com.collaboportal.common.config;
 
 import java.util.Set;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Arrays;
 
@@ -54,6 +55,9 @@ public class LogMaskConfig implements BaseConfig {
     /** 最大処理テキスト長、これを超えるとマスクをスキップ */
     private int maxTextLengthForMasking = 10000;
 
+    /** JSONをトークン単位でマスクする入れ子の深さの上限、これを超える部分は出力しない */
+    private int maxJsonDepthForMasking = 32;
+
     /** カスタム機密キーワードリスト */
     private Set<String> customSensitiveKeywords = new HashSet<>();
 
@@ -62,6 +66,36 @@ public class LogMaskConfig implements BaseConfig {
         return "log.masking";
     }
 
+    // スナップショットに公開済みで変更不可かどうか
+    private transient volatile boolean frozen;
+
+    /**
+     * 設定を凍結します。以降はセッターでの変更ができず、コレクションも変更不可になります。
+     */
+    @Override
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        skipMaskingPackages = Collections.unmodifiableSet(skipMaskingPackages);
+        skipMaskingMethods = Collections.unmodifiableSet(skipMaskingMethods);
+        maskingLogLevels = Collections.unmodifiableSet(maskingLogLevels);
+        customSensitiveKeywords = Collections.unmodifiableSet(customSensitiveKeywords);
+        this.frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    // 公開済みの設定は共有されているため変更できない（変更する場合はコピーして再公開する）
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("公開済みの設定は変更できません。ConfigManager.updateConfigを使用してください");
+        }
+    }
+
     // ================ Getter and Setter ================
 
     public boolean isEnableLogMasking() {
@@ -69,6 +103,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnableLogMasking(boolean enableLogMasking) {
+        checkMutable();
         this.enableLogMasking = enableLogMasking;
     }
 
@@ -77,6 +112,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnableAopMasking(boolean enableAopMasking) {
+        checkMutable();
         this.enableAopMasking = enableAopMasking;
     }
 
@@ -85,6 +121,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setMaskMethodParameters(boolean maskMethodParameters) {
+        checkMutable();
         this.maskMethodParameters = maskMethodParameters;
     }
 
@@ -93,6 +130,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setMaskMethodReturnValues(boolean maskMethodReturnValues) {
+        checkMutable();
         this.maskMethodReturnValues = maskMethodReturnValues;
     }
 
@@ -101,6 +139,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setMaskExceptionMessages(boolean maskExceptionMessages) {
+        checkMutable();
         this.maskExceptionMessages = maskExceptionMessages;
     }
 
@@ -109,6 +148,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnableMaskingStats(boolean enableMaskingStats) {
+        checkMutable();
         this.enableMaskingStats = enableMaskingStats;
     }
 
@@ -117,6 +157,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setSkipMaskingPackages(Set<String> skipMaskingPackages) {
+        checkMutable();
         this.skipMaskingPackages = skipMaskingPackages;
     }
 
@@ -125,6 +166,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setSkipMaskingMethods(Set<String> skipMaskingMethods) {
+        checkMutable();
         this.skipMaskingMethods = skipMaskingMethods;
     }
 
@@ -133,6 +175,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnablePasswordMasking(boolean enablePasswordMasking) {
+        checkMutable();
         this.enablePasswordMasking = enablePasswordMasking;
     }
 
@@ -141,6 +184,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnableEmailMasking(boolean enableEmailMasking) {
+        checkMutable();
         this.enableEmailMasking = enableEmailMasking;
     }
 
@@ -149,6 +193,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setEnableJwtTokenMasking(boolean enableJwtTokenMasking) {
+        checkMutable();
         this.enableJwtTokenMasking = enableJwtTokenMasking;
     }
 
@@ -157,6 +202,7 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setMaskingLogLevels(Set<String> maskingLogLevels) {
+        checkMutable();
         this.maskingLogLevels = maskingLogLevels;
     }
 
@@ -165,14 +211,25 @@ public class LogMaskConfig implements BaseConfig {
     }
 
     public void setMaxTextLengthForMasking(int maxTextLengthForMasking) {
+        checkMutable();
         this.maxTextLengthForMasking = maxTextLengthForMasking;
     }
 
+    public int getMaxJsonDepthForMasking() {
+        return maxJsonDepthForMasking;
+    }
+
+    public void setMaxJsonDepthForMasking(int maxJsonDepthForMasking) {
+        checkMutable();
+        this.maxJsonDepthForMasking = maxJsonDepthForMasking;
+    }
+
     public Set<String> getCustomSensitiveKeywords() {
         return customSensitiveKeywords;
     }
 
     public void setCustomSensitiveKeywords(Set<String> customSensitiveKeywords) {
+        checkMutable();
         this.customSensitiveKeywords = customSensitiveKeywords;
     }
 
@@ -210,10 +267,28 @@ public class LogMaskConfig implements BaseConfig {
         return text != null && text.length() > maxTextLengthForMasking;
     }
 
+    /**
+     * ログイベントのメッセージをマスキングの対象とするか判定します。
+     * ログマスキングの有効・無効、ログレベル、スキップ対象のパッケージ、テキスト長の上限を確認します。
+     *
+     * @param logLevel   ログレベル
+     * @param loggerName ロガー名
+     * @param message    メッセージ
+     * @return マスキングの対象とする場合はtrue
+     */
+    public boolean shouldMaskLogEvent(String logLevel, String loggerName, String message) {
+        return enableLogMasking
+                && message != null
+                && shouldMaskLogLevel(logLevel)
+                && !shouldSkipPackage(loggerName)
+                && !isTextTooLongForMasking(message);
+    }
+
     /**
      * 添加自定義敏感關鍵詞
      */
     public void addCustomSensitiveKeyword(String keyword) {
+        checkMutable();
         if (keyword != null && !keyword.trim().isEmpty()) {
             customSensitiveKeywords.add(keyword.trim());
         }
@@ -223,6 +298,7 @@ public class LogMaskConfig implements BaseConfig {
      * 移除自定義敏感關鍵詞
      */
     public void removeCustomSensitiveKeyword(String keyword) {
+        checkMutable();
         customSensitiveKeywords.remove(keyword);
     }
 
@@ -236,6 +312,7 @@ public class LogMaskConfig implements BaseConfig {
                 ", maskExceptionMessages=" + maskExceptionMessages +
                 ", enableMaskingStats=" + enableMaskingStats +
                 ", maxTextLengthForMasking=" + maxTextLengthForMasking +
+                ", maxJsonDepthForMasking=" + maxJsonDepthForMasking +
                 ", customSensitiveKeywords=" + customSensitiveKeywords.size() +
                 '}';
     }
@@ -1,5 +1,7 @@
 package com.collaboportal.common.context;
 
+import java.util.Collection;
+
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.context.web.BaseResponse;
 import com.collaboportal.common.context.web.BaseStorage;
@@ -14,6 +16,19 @@ public interface CommonContext {
 
     boolean matchPath(String pattern,String path);
 
+    /**
+     * パターンのいずれかがパスにマッチするか判定します。
+     * 実装側でパス解析を共有できる場合はオーバーライドしてください。
+     */
+    default boolean matchAnyPath(Collection<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (matchPath(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     default boolean isValid() {
 		return false;
 	}
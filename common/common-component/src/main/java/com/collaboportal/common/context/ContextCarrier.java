@@ -0,0 +1,97 @@
+package com.collaboportal.common.context;
+
+/**
+ * {@link CommonContext} をスレッドに束縛する仕組みの抽象化
+ * 既定は {@link ThreadLocal} による実装で、Java 21以降かつ {@code java.lang.ScopedValue} が
+ * 利用可能な環境では {@link #scopedValue()} でScopedValueによる実装に切り替えられます。
+ *
+ * <p>リクエスト全体の束縛は {@link #runWith(CommonContext, Task)} を使用してください。
+ * ScopedValue実装では束縛が処理の範囲内に限定され、仮想スレッドごとにThreadLocalの値を保持しません。
+ * {@link #set(CommonContext)} / {@link #clear()} は {@link ContextSnapshot#restore()} 等の
+ * 既存APIとの互換のために残しています。</p>
+ */
+public interface ContextCarrier {
+
+    /**
+     * 現在のスレッドに束縛されたコンテキストを取得します。
+     *
+     * @return コンテキスト。未束縛の場合はnull
+     */
+    CommonContext get();
+
+    /**
+     * 現在のスレッドにコンテキストを束縛します。
+     *
+     * @param context コンテキスト
+     */
+    void set(CommonContext context);
+
+    /**
+     * {@link #set(CommonContext)} で束縛したコンテキストを解除します。
+     */
+    void clear();
+
+    /**
+     * コンテキストを束縛した状態で処理を実行し、終了後に実行前の状態へ戻します。
+     *
+     * @param context コンテキスト
+     * @param task    処理
+     * @throws Exception 処理がスローした例外
+     */
+    default void runWith(CommonContext context, Task task) throws Exception {
+        CommonContext previous = get();
+        set(context);
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                set(previous);
+            } else {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * 実装の名前を取得します。
+     *
+     * @return 実装名（ログ出力用）
+     */
+    String name();
+
+    /**
+     * ThreadLocalによる実装を取得します。
+     *
+     * @return ThreadLocal実装
+     */
+    static ContextCarrier threadLocal() {
+        return new ThreadLocalContextCarrier();
+    }
+
+    /**
+     * ScopedValueによる実装を取得します。
+     *
+     * @return ScopedValue実装
+     * @throws IllegalStateException ScopedValueが利用できない場合
+     */
+    static ContextCarrier scopedValue() {
+        return ScopedValueContextCarrier.create();
+    }
+
+    /**
+     * 実行中のJVMでScopedValueが利用できるか判定します。
+     *
+     * @return 利用できる場合はtrue
+     */
+    static boolean isScopedValueAvailable() {
+        return ScopedValueContextCarrier.isAvailable();
+    }
+
+    /**
+     * 束縛中に実行する処理
+     */
+    @FunctionalInterface
+    interface Task {
+        void run() throws Exception;
+    }
+}
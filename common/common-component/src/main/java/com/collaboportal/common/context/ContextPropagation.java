@@ -0,0 +1,95 @@
+package com.collaboportal.common.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.TaskDecorator;
+
+import jakarta.servlet.AsyncContext;
+
+/**
+ * リクエストコンテキストのスレッド間引き継ぎユーティリティ
+ * 処理の投入時点で {@link ContextSnapshot} を取得し、実行スレッドで復元します。
+ * IdPとのトークン交換やDB参照などの遅い処理を別スレッドやサーブレット非同期処理に移しても、
+ * 実行先で {@link CommonHolder#getRequest()} 等をそのまま使用できます。
+ */
+public final class ContextPropagation {
+
+    private ContextPropagation() {
+    }
+
+    /**
+     * 投入元のコンテキストを引き継いで実行するExecutorを返します。
+     *
+     * @param delegate 実際に処理を実行するExecutor
+     * @return コンテキストを引き継ぐExecutor
+     */
+    public static Executor wrap(Executor delegate) {
+        if (delegate instanceof PropagatingExecutor) {
+            return delegate;
+        }
+        return new PropagatingExecutor(delegate);
+    }
+
+    /**
+     * Springの {@code ThreadPoolTaskExecutor} 等に設定するタスクデコレーターを返します。
+     *
+     * @return コンテキストを引き継ぐタスクデコレーター
+     */
+    public static TaskDecorator taskDecorator() {
+        return task -> ContextSnapshot.capture().wrap(task);
+    }
+
+    /**
+     * 現在のコンテキストを引き継いで非同期に値を計算します。
+     *
+     * @param <T>      戻り値の型
+     * @param supplier 処理
+     * @param executor 実行するExecutor
+     * @return 計算結果のFuture
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(ContextSnapshot.capture().wrap(supplier), executor);
+    }
+
+    /**
+     * 現在のコンテキストを引き継いで非同期に処理を実行します。
+     *
+     * @param task     処理
+     * @param executor 実行するExecutor
+     * @return 完了通知のFuture
+     */
+    public static CompletableFuture<Void> runAsync(Runnable task, Executor executor) {
+        return CompletableFuture.runAsync(ContextSnapshot.capture().wrap(task), executor);
+    }
+
+    /**
+     * 現在のコンテキストを引き継いで {@link AsyncContext#start(Runnable)} で処理を実行します。
+     * 処理の完了後は {@link AsyncContext#dispatch()} または {@link AsyncContext#complete()} を呼び出してください。
+     * ASYNCディスパッチ時は {@code CommonContextBindingFilter} がコンテキストを再度束縛します。
+     *
+     * @param asyncContext 非同期コンテキスト
+     * @param task         処理
+     */
+    public static void start(AsyncContext asyncContext, Runnable task) {
+        asyncContext.start(ContextSnapshot.capture().wrap(task));
+    }
+
+    /**
+     * 投入元のコンテキストを引き継ぐExecutor
+     */
+    private static final class PropagatingExecutor implements Executor {
+
+        private final Executor delegate;
+
+        private PropagatingExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(ContextSnapshot.capture().wrap(command));
+        }
+    }
+}
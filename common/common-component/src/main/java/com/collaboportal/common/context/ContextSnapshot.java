@@ -0,0 +1,165 @@
+package com.collaboportal.common.context;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.collaboportal.common.ConfigManager;
+
+/**
+ * スレッドに束縛されたリクエストコンテキストのスナップショット
+ * {@link CommonContext}、Springの {@link RequestAttributes}、ログ用の {@link MDC} を取得時点で保持し、
+ * 別スレッドで復元することで、Executorやサーブレット非同期処理に処理を移しても
+ * {@link CommonHolder} からリクエスト情報を参照できるようにします。
+ *
+ * <pre>
+ * ContextSnapshot snapshot = ContextSnapshot.capture();
+ * executor.execute(() -&gt; {
+ *     try (ContextSnapshot.Scope scope = snapshot.restore()) {
+ *         CommonHolder.getRequest(); // 元のリクエストを参照できる
+ *     }
+ * });
+ * </pre>
+ *
+ * 通常は {@link ContextPropagation} のラップ用メソッドを使用してください。
+ */
+public final class ContextSnapshot {
+
+    // 何も束縛されていない状態のスナップショット
+    private static final ContextSnapshot EMPTY = new ContextSnapshot(null, null, null);
+
+    private final CommonContext context;
+    private final RequestAttributes requestAttributes;
+    private final Map<String, String> mdc;
+
+    private ContextSnapshot(CommonContext context, RequestAttributes requestAttributes, Map<String, String> mdc) {
+        this.context = context;
+        this.requestAttributes = requestAttributes;
+        this.mdc = mdc;
+    }
+
+    /**
+     * 現在のスレッドのコンテキストを取得します。
+     *
+     * @return スナップショット
+     */
+    public static ContextSnapshot capture() {
+        CommonContext context = ConfigManager.peekCommonContext();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        if (context == null && attributes == null && (mdc == null || mdc.isEmpty())) {
+            return EMPTY;
+        }
+        return new ContextSnapshot(context, attributes, mdc);
+    }
+
+    /**
+     * 取得したコンテキストを現在のスレッドに復元します。
+     * 返却された {@link Scope} を閉じると、復元前の状態に戻ります。
+     *
+     * @return 復元スコープ
+     */
+    public Scope restore() {
+        Scope previous = new Scope(ConfigManager.peekCommonContext(), RequestContextHolder.getRequestAttributes(),
+                MDC.getCopyOfContextMap());
+        apply(context, requestAttributes, mdc);
+        return previous;
+    }
+
+    /**
+     * 処理をこのスナップショットのコンテキストで実行するようにラップします。
+     *
+     * @param task 処理
+     * @return ラップした処理
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope scope = restore()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 処理をこのスナップショットのコンテキストで実行するようにラップします。
+     *
+     * @param <T>  戻り値の型
+     * @param task 処理
+     * @return ラップした処理
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            try (Scope scope = restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * 処理をこのスナップショットのコンテキストで実行するようにラップします。
+     *
+     * @param <T>      戻り値の型
+     * @param supplier 処理
+     * @return ラップした処理
+     */
+    public <T> Supplier<T> wrap(Supplier<T> supplier) {
+        return () -> {
+            try (Scope scope = restore()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * コンテキストを取得しているか判定します。
+     *
+     * @return CommonContextを保持している場合はtrue
+     */
+    public boolean hasContext() {
+        return context != null;
+    }
+
+    private static void apply(CommonContext context, RequestAttributes attributes, Map<String, String> mdc) {
+        if (context != null) {
+            ConfigManager.setCommonContext(context);
+        } else {
+            ConfigManager.clearContext();
+        }
+        if (attributes != null) {
+            RequestContextHolder.setRequestAttributes(attributes);
+        } else {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * 復元スコープ
+     * 閉じると {@link ContextSnapshot#restore()} 呼び出し前のコンテキストに戻します。
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final CommonContext context;
+        private final RequestAttributes requestAttributes;
+        private final Map<String, String> mdc;
+
+        private Scope(CommonContext context, RequestAttributes requestAttributes, Map<String, String> mdc) {
+            this.context = context;
+            this.requestAttributes = requestAttributes;
+            this.mdc = mdc;
+        }
+
+        @Override
+        public void close() {
+            apply(context, requestAttributes, mdc);
+        }
+    }
+}
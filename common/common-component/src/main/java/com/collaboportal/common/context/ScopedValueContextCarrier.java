@@ -0,0 +1,203 @@
+package com.collaboportal.common.context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.context.web.BaseStorage;
+
+/**
+ * {@code java.lang.ScopedValue} による {@link ContextCarrier} の実装
+ * コンパイル対象のJavaバージョン（17）にScopedValueが存在しないため、実行時にMethodHandleで解決します。
+ *
+ * <p>{@link #runWith(CommonContext, Task)} はScopedValueの束縛として処理の範囲内だけ有効になり、
+ * {@link #set(CommonContext)} / {@link #clear()} は互換用のThreadLocalに委譲します。
+ * 取得時はThreadLocal側の値を優先するため、束縛範囲内で {@link ContextSnapshot#restore()} した値も参照できます。</p>
+ */
+final class ScopedValueContextCarrier implements ContextCarrier {
+
+    // ScopedValue#where / Carrier#run / ScopedValue#isBound / ScopedValue#get のハンドル（未対応環境ではnull）
+    private static final MethodHandle NEW_INSTANCE;
+    private static final MethodHandle WHERE;
+    private static final MethodHandle RUN;
+    private static final MethodHandle IS_BOUND;
+    private static final MethodHandle GET;
+
+    static {
+        MethodHandle newInstance = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        MethodHandle isBound = null;
+        MethodHandle get = null;
+        try {
+            Class<?> scopedValue = Class.forName("java.lang.ScopedValue");
+            Class<?> carrier = Class.forName("java.lang.ScopedValue$Carrier");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            newInstance = lookup.findStatic(scopedValue, "newInstance", MethodType.methodType(scopedValue));
+            where = lookup.findStatic(scopedValue, "where",
+                    MethodType.methodType(carrier, scopedValue, Object.class));
+            run = lookup.findVirtual(carrier, "run", MethodType.methodType(void.class, Runnable.class));
+            isBound = lookup.findVirtual(scopedValue, "isBound", MethodType.methodType(boolean.class));
+            get = lookup.findVirtual(scopedValue, "get", MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            newInstance = null;
+        }
+        NEW_INSTANCE = newInstance;
+        WHERE = where;
+        RUN = run;
+        IS_BOUND = isBound;
+        GET = get;
+    }
+
+    // 互換用（set/clear）のThreadLocal
+    private final ThreadLocal<CommonContext> fallback = new ThreadLocal<>();
+
+    // このインスタンスのScopedValueに束縛済みのハンドル
+    private final MethodHandle where;
+    private final MethodHandle isBound;
+    private final MethodHandle get;
+
+    private ScopedValueContextCarrier(Object key) {
+        this.where = WHERE.bindTo(key).asType(MethodType.methodType(Object.class, Object.class));
+        this.isBound = IS_BOUND.bindTo(key);
+        this.get = GET.bindTo(key);
+    }
+
+    /**
+     * 実装を生成し、束縛と取得が実際に行えることを確認します。
+     * プレビュー機能の制限等で使用できない場合は {@link IllegalStateException} をスローします。
+     */
+    static ScopedValueContextCarrier create() {
+        if (NEW_INSTANCE == null) {
+            throw new IllegalStateException("java.lang.ScopedValue は実行中のJVMで利用できません: "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            ScopedValueContextCarrier carrier = new ScopedValueContextCarrier(NEW_INSTANCE.invoke());
+            carrier.probe();
+            return carrier;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("java.lang.ScopedValue を初期化できません: " + e, e);
+        }
+    }
+
+    static boolean isAvailable() {
+        if (NEW_INSTANCE == null) {
+            return false;
+        }
+        try {
+            create();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public CommonContext get() {
+        CommonContext context = fallback.get();
+        if (context != null) {
+            return context;
+        }
+        try {
+            return (boolean) isBound.invokeExact() ? (CommonContext) (Object) get.invokeExact() : null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void set(CommonContext context) {
+        fallback.set(context);
+    }
+
+    @Override
+    public void clear() {
+        fallback.remove();
+    }
+
+    @Override
+    public void runWith(CommonContext context, Task task) throws Exception {
+        // 外側でset済みの値が優先されないよう、束縛範囲内では互換用の値を外しておく
+        CommonContext outer = fallback.get();
+        if (outer != null) {
+            fallback.remove();
+        }
+        Throwable[] failure = new Throwable[1];
+        Runnable body = () -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        };
+        try {
+            RUN.invoke(where.invokeExact((Object) context), body);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (outer != null) {
+                fallback.set(outer);
+            }
+        }
+        Throwable thrown = failure[0];
+        if (thrown instanceof Exception e) {
+            throw e;
+        }
+        if (thrown instanceof Error e) {
+            throw e;
+        }
+        if (thrown != null) {
+            throw new IllegalStateException(thrown);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scoped-value";
+    }
+
+    // 束縛と取得が行えるか確認する
+    private void probe() throws Exception {
+        CommonContext[] seen = new CommonContext[1];
+        CommonContext marker = new ProbeContext();
+        runWith(marker, () -> seen[0] = get());
+        if (seen[0] != marker || get() != null) {
+            throw new IllegalStateException("java.lang.ScopedValue の束縛を確認できません");
+        }
+    }
+
+    /**
+     * 起動時の確認用コンテキスト
+     */
+    private static final class ProbeContext implements CommonContext {
+
+        @Override
+        public BaseRequest getRequest() {
+            return null;
+        }
+
+        @Override
+        public BaseResponse getResponse() {
+            return null;
+        }
+
+        @Override
+        public BaseStorage getStorage() {
+            return null;
+        }
+
+        @Override
+        public boolean matchPath(String pattern, String path) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.collaboportal.common.context;
+
+/**
+ * ThreadLocalによる {@link ContextCarrier} の実装
+ */
+final class ThreadLocalContextCarrier implements ContextCarrier {
+
+    private final ThreadLocal<CommonContext> local = new ThreadLocal<>();
+
+    @Override
+    public CommonContext get() {
+        return local.get();
+    }
+
+    @Override
+    public void set(CommonContext context) {
+        local.set(context);
+    }
+
+    @Override
+    public void clear() {
+        local.remove();
+    }
+
+    @Override
+    public String name() {
+        return "thread-local";
+    }
+}
@@ -0,0 +1,114 @@
+package com.collaboportal.common.context.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * リクエストスコープの型付き属性キー
+ * キーは名前ごとに1度だけ登録され、登録順に連番のインデックスが割り当てられます。
+ * 値は {@link AttributeSlots} の配列にインデックスで格納されるため、
+ * 文字列キーのハッシュ計算や {@code ObjectUtil#getValueByType} による型変換を行わずに参照できます。
+ *
+ * <pre>
+ * public static final AttributeKey&lt;String&gt; TRACE_ID = AttributeKey.of("common.traceId", String.class);
+ *
+ * CommonHolder.getStorage().set(TRACE_ID, traceId);
+ * String traceId = CommonHolder.getStorage().get(TRACE_ID);
+ * </pre>
+ *
+ * キーは {@code static final} フィールドとして定義し、リクエストごとに生成しないでください。
+ *
+ * @param <T> 値の型
+ */
+public final class AttributeKey<T> {
+
+    // 登録済みのキー（名前 → キー）
+    private static final Map<String, AttributeKey<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    // 次に割り当てるインデックス
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    private final int index;
+
+    private AttributeKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * キーを登録して取得します。同じ名前・型で登録済みの場合は既存のキーを返します。
+     *
+     * @param <T>  値の型
+     * @param name キー名
+     * @param type 値の型
+     * @return 属性キー
+     * @throws IllegalArgumentException 同じ名前が別の型で登録済みの場合
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> AttributeKey<T> of(String name, Class<T> type) {
+        if (name == null || name.isEmpty() || type == null) {
+            throw new IllegalArgumentException("属性キーの名前と型は必須です");
+        }
+        AttributeKey<?> key = REGISTRY.computeIfAbsent(name,
+                n -> new AttributeKey<>(n, type, SEQUENCE.getAndIncrement()));
+        if (key.type != type) {
+            throw new IllegalArgumentException("属性キー " + name + " は別の型で登録済みです: " + key.type.getName());
+        }
+        return (AttributeKey<T>) key;
+    }
+
+    /**
+     * 登録済みのキー数を取得します。{@link AttributeSlots} の初期サイズに使用します。
+     *
+     * @return 登録済みのキー数
+     */
+    static int count() {
+        return SEQUENCE.get();
+    }
+
+    /**
+     * キー名を取得します。
+     *
+     * @return キー名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 値の型を取得します。
+     *
+     * @return 値の型
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * スロットのインデックスを取得します。
+     *
+     * @return インデックス
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 値をこのキーの型にキャストします。
+     *
+     * @param value 値
+     * @return キャストした値
+     */
+    T cast(Object value) {
+        return type.cast(value);
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeKey[" + name + "#" + index + ": " + type.getSimpleName() + "]";
+    }
+}
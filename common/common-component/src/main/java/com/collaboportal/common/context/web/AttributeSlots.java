@@ -0,0 +1,143 @@
+package com.collaboportal.common.context.web;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * リクエスト単位の型付き属性スロット表
+ * {@link AttributeKey} のインデックスを添字とする配列で値を保持します。
+ * スロット表自体は1つのリクエスト属性として保存されるため、同じリクエストを包むすべての
+ * {@link BaseStorage} 実装やフィルターで共有されます。
+ *
+ * <p>コンテキストの伝播（{@link com.collaboportal.common.context.ContextSnapshot}）により別スレッドからも参照されるため、
+ * 値の書き込みと配列の拡張はインスタンスのロックで直列化し、読み取りはロックを取得せずに
+ * 書き込み済みの値を参照します（配列はvolatile、要素はacquire/releaseで読み書きします）。</p>
+ */
+public final class AttributeSlots {
+
+    /** スロット表を保存するリクエスト属性名 */
+    public static final String ATTRIBUTE_NAME = AttributeSlots.class.getName();
+
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // インデックスごとの値（拡張時は新しい配列に差し替える）
+    private volatile Object[] values;
+
+    /**
+     * 登録済みのキー数に合わせたスロット表を生成します。
+     */
+    public AttributeSlots() {
+        this.values = new Object[Math.max(AttributeKey.count(), 8)];
+    }
+
+    /**
+     * リクエストのスロット表を取得します。未作成の場合は作成してリクエスト属性に保存します。
+     * 通常は {@code CommonContextBindingFilter} がコンテキストの伝播前に作成しますが、
+     * 複数のスレッドから同時に作成された場合も1つのスロット表を共有するよう、作成はラップ元のリクエストのロックで直列化します。
+     *
+     * @param request リクエスト
+     * @return スロット表
+     */
+    public static AttributeSlots of(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE_NAME);
+        if (cached instanceof AttributeSlots slots) {
+            return slots;
+        }
+        // ラッパーごとに異なるロックにならないよう、最も内側のリクエストで同期する
+        synchronized (unwrap(request)) {
+            cached = request.getAttribute(ATTRIBUTE_NAME);
+            if (cached instanceof AttributeSlots slots) {
+                return slots;
+            }
+            AttributeSlots slots = new AttributeSlots();
+            request.setAttribute(ATTRIBUTE_NAME, slots);
+            return slots;
+        }
+    }
+
+    // ラッパーを外したリクエストを取得する
+    private static ServletRequest unwrap(ServletRequest request) {
+        while (request instanceof ServletRequestWrapper wrapper) {
+            request = wrapper.getRequest();
+        }
+        return request;
+    }
+
+    /**
+     * ラップされたリクエストのスロット表を取得します。
+     *
+     * @param request リクエストのラッパー
+     * @return スロット表
+     * @throws IllegalArgumentException ラップ元がServletリクエストでない場合
+     */
+    public static AttributeSlots of(BaseRequest request) {
+        if (request.getSource() instanceof HttpServletRequest servletRequest) {
+            return of(servletRequest);
+        }
+        throw new IllegalArgumentException("Servletリクエスト以外のラッパーには対応していません: " + request.getClass().getName());
+    }
+
+    /**
+     * 値を取得します。
+     *
+     * @param <T> 値の型
+     * @param key 属性キー
+     * @return 値。未設定の場合はnull
+     */
+    public <T> T get(AttributeKey<T> key) {
+        int index = key.getIndex();
+        Object[] values = this.values;
+        return index < values.length ? key.cast(VALUES.getAcquire(values, index)) : null;
+    }
+
+    /**
+     * 値を設定します。nullを設定した場合は削除と同じです。
+     *
+     * @param <T>   値の型
+     * @param key   属性キー
+     * @param value 値
+     */
+    public synchronized <T> void set(AttributeKey<T> key, T value) {
+        int index = key.getIndex();
+        Object[] values = this.values;
+        if (index >= values.length) {
+            if (value == null) {
+                return;
+            }
+            // スロット表の生成後に登録されたキーの場合のみ拡張する（書き込みはロック内のため拡張中の値は失われない）
+            values = Arrays.copyOf(values, Math.max(index + 1, AttributeKey.count()));
+            this.values = values;
+        }
+        VALUES.setRelease(values, index, key.cast(value));
+    }
+
+    /**
+     * 値を削除します。
+     *
+     * @param key 属性キー
+     */
+    public synchronized void remove(AttributeKey<?> key) {
+        int index = key.getIndex();
+        Object[] values = this.values;
+        if (index < values.length) {
+            VALUES.setRelease(values, index, null);
+        }
+    }
+
+    /**
+     * 値が設定されているか判定します。
+     *
+     * @param key 属性キー
+     * @return 設定されている場合はtrue
+     */
+    public boolean contains(AttributeKey<?> key) {
+        int index = key.getIndex();
+        Object[] values = this.values;
+        return index < values.length && VALUES.getAcquire(values, index) != null;
+    }
+}
@@ -25,4 +25,67 @@ public interface BaseStorage extends SetValueInterface {
     @Override
     BaseStorage delete(String key);
 
+    // ---- 型付き属性キーによる値の取得・設定（文字列キーとは別の領域に保持）
+
+    /**
+     * 型付き属性のスロット表を取得します。
+     * 既定では文字列キー {@link AttributeSlots#ATTRIBUTE_NAME} の値として保存します。
+     *
+     * @return スロット表
+     */
+    default AttributeSlots getSlots() {
+        Object cached = get(AttributeSlots.ATTRIBUTE_NAME);
+        if (cached instanceof AttributeSlots slots) {
+            return slots;
+        }
+        AttributeSlots slots = new AttributeSlots();
+        set(AttributeSlots.ATTRIBUTE_NAME, slots);
+        return slots;
+    }
+
+    /**
+     * 型付き属性の値を取得します。型変換は行いません。
+     *
+     * @param <T> 値の型
+     * @param key 属性キー
+     * @return 値。未設定の場合はnull
+     */
+    default <T> T get(AttributeKey<T> key) {
+        return getSlots().get(key);
+    }
+
+    /**
+     * 型付き属性の値を設定します。
+     *
+     * @param <T>   値の型
+     * @param key   属性キー
+     * @param value 値
+     * @return 対象自身
+     */
+    default <T> BaseStorage set(AttributeKey<T> key, T value) {
+        getSlots().set(key, value);
+        return this;
+    }
+
+    /**
+     * 型付き属性の値を削除します。
+     *
+     * @param key 属性キー
+     * @return 対象自身
+     */
+    default BaseStorage delete(AttributeKey<?> key) {
+        getSlots().remove(key);
+        return this;
+    }
+
+    /**
+     * 型付き属性の値が設定されているか判定します。
+     *
+     * @param key 属性キー
+     * @return 設定されている場合はtrue
+     */
+    default boolean has(AttributeKey<?> key) {
+        return getSlots().contains(key);
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.collaboportal.common.context.web;
+
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.TraceContext;
+
+/**
+ * 共通モジュールが設定するリクエストスコープの型付き属性キー
+ */
+public final class CommonAttributeKeys {
+
+    /** ログ出力用のトレースID（{@code LogTraceIdFilter} が設定） */
+    public static final AttributeKey<String> TRACE_ID = AttributeKey.of("common.traceId", String.class);
+
+    /** 認証戦略で検証済みの認証トークン */
+    public static final AttributeKey<String> AUTH_TOKEN = AttributeKey.of("common.authToken", String.class);
+
+    /** W3C Trace Context のトレース情報（{@code LogTraceIdFilter} が設定） */
+    public static final AttributeKey<TraceContext> TRACE_CONTEXT = AttributeKey.of("common.traceContext",
+            TraceContext.class);
+
+    /** 処理段階ごとの処理時間 */
+    public static final AttributeKey<RequestTimings> REQUEST_TIMINGS = AttributeKey.of("common.requestTimings",
+            RequestTimings.class);
+
+    private CommonAttributeKeys() {
+    }
+}
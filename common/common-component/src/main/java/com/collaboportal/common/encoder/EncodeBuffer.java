@@ -0,0 +1,87 @@
+package com.collaboportal.common.encoder;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * エンコード用のスレッドごとの再利用バッファ
+ * レイアウトの出力（StringBuilder）を文字配列に写してからCharsetEncoderでバイト列に変換し、
+ * 呼び出し元に返す最終的なbyte[]以外の中間オブジェクトを作成しません。
+ * 変換できない文字は {@link String#getBytes(Charset)} と同様に置換文字にします。
+ */
+final class EncodeBuffer {
+
+    // 初期サイズ（一般的なログ1行が収まる大きさ）
+    private static final int INITIAL_CAPACITY = 512;
+    // 保持するバッファの上限（これを超えたバッファは保持しない）
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final CharsetEncoder encoder;
+    private StringBuilder text = new StringBuilder(INITIAL_CAPACITY);
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+    EncodeBuffer(Charset charset) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * レイアウトの出力先を取得します。
+     *
+     * @return 空のStringBuilder
+     */
+    StringBuilder text() {
+        return text;
+    }
+
+    /**
+     * 出力先の内容をバイト列に変換します。
+     *
+     * @return エンコード後のバイト列
+     */
+    byte[] toBytes() {
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charView = CharBuffer.wrap(chars);
+        }
+        text.getChars(0, length, chars, 0);
+        charView.clear().limit(length);
+
+        // 最大のバイト数を確保しておき、変換を1回で完了させる
+        int required = (int) Math.ceil(length * (double) encoder.maxBytesPerChar());
+        if (bytes.capacity() < required) {
+            bytes = ByteBuffer.allocate(Math.max(required, bytes.capacity() * 2));
+        }
+        bytes.clear();
+        encoder.reset();
+        encoder.encode(charView, bytes, true);
+        encoder.flush(bytes);
+        return Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+    /**
+     * 次の利用のために空にします（大きくなりすぎたバッファは破棄します）。
+     */
+    void release() {
+        if (text.capacity() > MAX_RETAINED_CAPACITY) {
+            text = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            text.setLength(0);
+        }
+        if (chars.length > MAX_RETAINED_CAPACITY) {
+            chars = new char[INITIAL_CAPACITY];
+            charView = CharBuffer.wrap(chars);
+        }
+        if (bytes.capacity() > MAX_RETAINED_CAPACITY) {
+            bytes = ByteBuffer.allocate(INITIAL_CAPACITY);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.collaboportal.common.encoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.FormatInfo;
+
+/**
+ * {@code %replace} の代わりに、子の出力を出力先に書き込んでからその部分だけを置換する変換器
+ * Matcher・置換用バッファはスレッドごとに再利用し、置換対象がない場合は何も作成しません。
+ * 置換の結果は {@code ReplacingCompositeConverter}（{@code replaceAll}）と同じです。
+ */
+final class InPlaceReplacingConverter extends Converter<ILoggingEvent> {
+
+    // スレッドごとに保持する置換用バッファの上限（これを超えたバッファは保持しない）
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final MaskingConverterChain child;
+    private final String replacement;
+    private final FormatInfo formatInfo;
+    private final ThreadLocal<ReplaceState> state;
+
+    InPlaceReplacingConverter(MaskingConverterChain child, Pattern pattern, String replacement,
+            FormatInfo formatInfo) {
+        this.child = child;
+        this.replacement = replacement;
+        this.formatInfo = formatInfo;
+        this.state = ThreadLocal.withInitial(() -> new ReplaceState(pattern));
+    }
+
+    @Override
+    public void write(StringBuilder out, ILoggingEvent event) {
+        int start = out.length();
+        child.write(event, out);
+        ReplaceState s = state.get();
+        s.window.set(out, start);
+        try {
+            Matcher matcher = s.matcher.reset(s.window);
+            if (matcher.find()) {
+                StringBuilder replaced = s.buffer;
+                do {
+                    matcher.appendReplacement(replaced, replacement);
+                } while (matcher.find());
+                matcher.appendTail(replaced);
+                out.setLength(start);
+                out.append(replaced);
+            }
+        } finally {
+            s.release();
+        }
+        MaskingConverterChain.applyFormat(out, start, formatInfo);
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        StringBuilder out = new StringBuilder();
+        write(out, event);
+        return out.toString();
+    }
+
+    /**
+     * スレッドごとの置換の状態
+     */
+    private static final class ReplaceState {
+
+        private final Matcher matcher;
+        private final Window window = new Window();
+        private StringBuilder buffer = new StringBuilder(256);
+
+        ReplaceState(Pattern pattern) {
+            this.matcher = pattern.matcher("");
+        }
+
+        // 次の利用のために空にする（出力先への参照も外す）
+        void release() {
+            window.set(null, 0);
+            matcher.reset("");
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffer = new StringBuilder(256);
+            } else {
+                buffer.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * 出力先の末尾部分を正規表現の入力として見せる再利用可能なCharSequence
+     * 子の出力だけを対象にするため、アンカーや後読みの結果は元の {@code %replace} と一致します。
+     */
+    private static final class Window implements CharSequence {
+
+        private StringBuilder target;
+        private int offset;
+
+        void set(StringBuilder target, int offset) {
+            this.target = target;
+            this.offset = offset;
+        }
+
+        @Override
+        public int length() {
+            return target == null ? 0 : target.length() - offset;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return target.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return target.subSequence(offset + start, offset + end);
+        }
+
+        @Override
+        public String toString() {
+            return target == null ? "" : target.substring(offset);
+        }
+    }
+}
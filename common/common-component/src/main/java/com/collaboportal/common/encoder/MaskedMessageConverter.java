@@ -0,0 +1,44 @@
+package com.collaboportal.common.encoder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.FormatInfo;
+
+import com.collaboportal.common.masking.MaskingMemo;
+import com.collaboportal.common.masking.SensitiveDataMasker;
+
+/**
+ * {@code %msg} の代わりに、マスキングしたメッセージを出力先に直接書き込む変換器
+ * マスキングの結果はイベントごとのメモ（{@link MaskingMemo}）から取得し、同じイベントを出力する他のAppenderと共有します。
+ * マスキングの対象外（ログマスキングの無効化、対象外のログレベル・パッケージ、テキスト長の超過）の場合は元のメッセージを出力します。
+ */
+final class MaskedMessageConverter extends Converter<ILoggingEvent> {
+
+    private final FormatInfo formatInfo;
+
+    MaskedMessageConverter(FormatInfo formatInfo) {
+        this.formatInfo = formatInfo;
+    }
+
+    @Override
+    public void write(StringBuilder out, ILoggingEvent event) {
+        int start = out.length();
+        String message = event.getFormattedMessage();
+        if (message == null) {
+            if (formatInfo == null) {
+                out.append((String) null);
+            }
+        } else {
+            // 同じイベントを処理した他のAppender・フィルターの結果を再利用する
+            out.append(MaskingMemo.maskedMessage(event, SensitiveDataMasker.current()));
+        }
+        MaskingConverterChain.applyFormat(out, start, formatInfo);
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        StringBuilder out = new StringBuilder();
+        write(out, event);
+        return out.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package com.collaboportal.common.encoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.CompositeConverter;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.FormatInfo;
+
+/**
+ * マスキング用に組み替えた変換器の並び
+ * PatternLayoutの変換器の連結（{@code getNext()}）は一度設定すると付け替えられないため、配列として保持します。
+ * {@code %msg} は {@link MaskedMessageConverter}、{@code %replace} は {@link InPlaceReplacingConverter} に置き換え、
+ * すべての変換器が同じStringBuilderに直接書き込みます。
+ */
+final class MaskingConverterChain {
+
+    // 左詰め・右詰めに使用する空白
+    private static final char[] SPACES = "                                ".toCharArray();
+
+    private final Converter<ILoggingEvent>[] converters;
+
+    private MaskingConverterChain(Converter<ILoggingEvent>[] converters) {
+        this.converters = converters;
+    }
+
+    /**
+     * 変換器の連結を組み替えます。
+     *
+     * @param head 先頭の変換器
+     * @return 組み替えた並び。{@code %msg} を含む未対応の複合変換器がある場合はnull
+     */
+    @SuppressWarnings("unchecked")
+    static MaskingConverterChain compile(Converter<ILoggingEvent> head) {
+        List<Converter<ILoggingEvent>> list = new ArrayList<>();
+        for (Converter<ILoggingEvent> c = head; c != null; c = c.getNext()) {
+            if (c instanceof MessageConverter message) {
+                list.add(new MaskedMessageConverter(message.getFormattingInfo()));
+            } else if (c instanceof ReplaceOptionsConverter replace) {
+                MaskingConverterChain child = compile(replace.getChildConverter());
+                if (child == null || replace.getCompiledPattern() == null) {
+                    return null;
+                }
+                list.add(new InPlaceReplacingConverter(child, replace.getCompiledPattern(),
+                        replace.getReplacementText(), replace.getFormattingInfo()));
+            } else if (c instanceof CompositeConverter<ILoggingEvent> composite
+                    && containsMessage(composite.getChildConverter())) {
+                // 子の出力を文字列として受け取る変換器はメッセージを途中でマスキングできない
+                return null;
+            } else {
+                list.add(c);
+            }
+        }
+        return new MaskingConverterChain(list.toArray(new Converter[0]));
+    }
+
+    /**
+     * イベントを書き込みます。
+     *
+     * @param event ログイベント
+     * @param out   出力先
+     */
+    void write(ILoggingEvent event, StringBuilder out) {
+        for (Converter<ILoggingEvent> converter : converters) {
+            converter.write(out, event);
+        }
+    }
+
+    /**
+     * {@code start} 以降に書き込まれた部分に最小幅・最大幅の指定を適用します（FormattingConverterと同じ規則）。
+     *
+     * @param out   出力先
+     * @param start 対象部分の開始位置
+     * @param info  書式指定（nullの場合は何もしない）
+     */
+    static void applyFormat(StringBuilder out, int start, FormatInfo info) {
+        if (info == null) {
+            return;
+        }
+        int length = out.length() - start;
+        if (length > info.getMax()) {
+            if (info.isLeftTruncate()) {
+                out.delete(start, start + length - info.getMax());
+            } else {
+                out.setLength(start + info.getMax());
+            }
+        } else if (length < info.getMin()) {
+            int padding = info.getMin() - length;
+            int position = info.isLeftPad() ? start : out.length();
+            while (padding > 0) {
+                int n = Math.min(padding, SPACES.length);
+                out.insert(position, SPACES, 0, n);
+                padding -= n;
+            }
+        }
+    }
+
+    private static boolean containsMessage(Converter<ILoggingEvent> head) {
+        for (Converter<ILoggingEvent> c = head; c != null; c = c.getNext()) {
+            if (c instanceof MessageConverter) {
+                return true;
+            }
+            if (c instanceof CompositeConverter<ILoggingEvent> composite
+                    && containsMessage(composite.getChildConverter())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.collaboportal.common.encoder;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.ReplacingCompositeConverter;
+
+/**
+ * {@code %replace} の置換条件を参照できるようにした {@link ReplacingCompositeConverter}
+ * {@link SensitiveDataMaskingEncoder} が変換器の連結を組み立てる際にのみ登録し、
+ * 正規表現と置換文字列を {@link InPlaceReplacingConverter} に引き継ぐために使用します。
+ * logbackが反射で生成するため public です。
+ */
+public class ReplaceOptionsConverter extends ReplacingCompositeConverter<ILoggingEvent> {
+
+    private Pattern compiledPattern;
+    private String replacementText;
+
+    @Override
+    public void start() {
+        super.start();
+        List<String> options = getOptionList();
+        if (options != null && options.size() >= 2) {
+            compiledPattern = Pattern.compile(options.get(0));
+            replacementText = options.get(1);
+        }
+    }
+
+    /**
+     * 置換対象の正規表現を取得します。
+     *
+     * @return 正規表現。オプションが不足している場合はnull
+     */
+    Pattern getCompiledPattern() {
+        return compiledPattern;
+    }
+
+    /**
+     * 置換文字列を取得します。
+     *
+     * @return 置換文字列
+     */
+    String getReplacementText() {
+        return replacementText;
+    }
+}
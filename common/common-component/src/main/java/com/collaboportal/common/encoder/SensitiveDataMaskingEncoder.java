@@ -1,19 +1,36 @@
 package com.collaboportal.common.encoder;
 
+import java.nio.charset.Charset;
+
+import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.pattern.EnsureExceptionHandling;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.Converter;
 
-import com.collaboportal.common.utils.SensitiveDataMaskUtil;
+import com.collaboportal.common.masking.MaskingMemo;
+import com.collaboportal.common.masking.SensitiveDataMasker;
 
 /**
  * 機密情報マスキングエンコーダー
  * PatternLayoutEncoderを継承し、エンコード過程で機密情報をマスキング処理する
+ *
+ * <p>レイアウトの変換器を組み替え（{@link MaskingConverterChain}）、スレッドごとに再利用するバッファ（{@link EncodeBuffer}）に
+ * 直接書き込みます。{@code %msg} は書き込みながらマスキングし、{@code %replace} は書き込んだ部分をその場で置換するため、
+ * イベントのラッパーや中間の文字列を作成しません。Encoderの仕様上、戻り値のbyte[]のみイベントごとに作成します。
+ * 組み替えられないパターン（{@code %msg} を含む未対応の複合変換器）の場合は、マスキング後のメッセージを持つイベントで
+ * 通常のレイアウトを適用します。</p>
  */
 public class SensitiveDataMaskingEncoder extends PatternLayoutEncoder {
 
     private boolean enableMasking = true;
     private boolean preserveOriginalMessage = false;
 
+    // 組み替えた変換器（組み替えられない場合はnull）
+    private MaskingConverterChain chain;
+    // スレッドごとのエンコード用バッファ（文字コードがエンコーダーごとに異なるためインスタンスごとに保持）
+    private ThreadLocal<EncodeBuffer> buffers;
+
     @Override
     public byte[] encode(ILoggingEvent event) {
         if (!enableMasking) {
@@ -21,23 +38,16 @@ public class SensitiveDataMaskingEncoder extends PatternLayoutEncoder {
         }
 
         try {
-            // フィルターで前処理されたマスキングメッセージがあるかチェック
-            String maskedMessage = event.getMDCPropertyMap().get("masked_message");
-            String isMasked = event.getMDCPropertyMap().get("is_masked");
-
-            if ("true".equals(isMasked) && maskedMessage != null) {
-                // フィルターで前処理されたマスキングメッセージを使用
-                ILoggingEvent maskedEvent = createMaskedEvent(event, maskedMessage);
-                return super.encode(maskedEvent);
-            } else {
-                // エンコーダーで直接マスキング処理を実行
-                String originalMessage = event.getFormattedMessage();
-                if (originalMessage != null && SensitiveDataMaskUtil.containsSensitiveData(originalMessage)) {
-                    String maskedMessage2 = SensitiveDataMaskUtil.maskSensitiveData(originalMessage);
-                    ILoggingEvent maskedEvent = createMaskedEvent(event, maskedMessage2);
-                    return super.encode(maskedEvent);
+            if (chain != null) {
+                EncodeBuffer buffer = buffers.get();
+                try {
+                    chain.write(event, buffer.text());
+                    return buffer.toBytes();
+                } finally {
+                    buffer.release();
                 }
             }
+            return encodeWithMaskedEvent(event);
         } catch (Exception e) {
             // マスキング処理が失敗した場合、元のログを出力
             addError("エンコーダーマスキング処理が失敗しました: " + e.getMessage(), e);
@@ -46,6 +56,17 @@ public class SensitiveDataMaskingEncoder extends PatternLayoutEncoder {
         return super.encode(event);
     }
 
+    /**
+     * マスキング後のメッセージを持つイベントで通常のレイアウトを適用します（組み替えられないパターン用）。
+     */
+    private byte[] encodeWithMaskedEvent(ILoggingEvent event) {
+        String maskedMessage = MaskingMemo.maskedMessage(event, SensitiveDataMasker.current());
+        if (maskedMessage != event.getFormattedMessage()) {
+            return super.encode(createMaskedEvent(event, maskedMessage));
+        }
+        return super.encode(event);
+    }
+
     /**
      * マスキング後のログイベントを作成
      */
@@ -90,15 +111,43 @@ public class SensitiveDataMaskingEncoder extends PatternLayoutEncoder {
     @Override
     public void start() {
         super.start();
+        if (isStarted()) {
+            chain = compileChain();
+            Charset charset = getCharset() != null ? getCharset() : Charset.defaultCharset();
+            buffers = ThreadLocal.withInitial(() -> new EncodeBuffer(charset));
+            if (chain == null) {
+                addWarn("パターンの変換器を組み替えられないため、イベント単位のマスキングを使用します: " + getPattern());
+            }
+        }
         addInfo("機密情報マスキングエンコーダーが開始されました - enableMasking: " + enableMasking);
     }
 
     @Override
     public void stop() {
         addInfo("機密情報マスキングエンコーダーが停止されました");
+        chain = null;
         super.stop();
     }
 
+    /**
+     * 同じパターンで変換器の連結を作成し、マスキング用に組み替えます。
+     * {@code %replace} は置換条件を参照できる {@link ReplaceOptionsConverter} で作成します。
+     */
+    @SuppressWarnings("unchecked")
+    private MaskingConverterChain compileChain() {
+        Converter<ILoggingEvent>[] head = new Converter[1];
+        PatternLayout layout = new PatternLayout();
+        layout.setContext(getContext());
+        layout.setPattern(getPattern());
+        layout.getInstanceConverterMap().put("replace", ReplaceOptionsConverter.class.getName());
+        layout.setPostCompileProcessor((context, converter) -> {
+            new EnsureExceptionHandling().process(context, converter);
+            head[0] = converter;
+        });
+        layout.start();
+        return layout.isStarted() ? MaskingConverterChain.compile(head[0]) : null;
+    }
+
     /**
      * ILoggingEventラッパー、ログメッセージを変更するために使用
      */
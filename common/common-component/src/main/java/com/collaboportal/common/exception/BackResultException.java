@@ -1,11 +1,23 @@
 package com.collaboportal.common.exception;
 
+/**
+ * 結果返却例外
+ * ルーターの制御フローに使用するため、スタックトレースは生成しません。
+ * メッセージには返却する結果の文字列表現を保持します。
+ */
 public class BackResultException extends RuntimeException {
 
-    private Object result;
+    private final Object result;
 
     public BackResultException(Object result) {
-        super();
+        super(String.valueOf(result), null, false, false);
         this.result = result;
     }
+
+    /**
+     * @return 返却する結果
+     */
+    public Object getResult() {
+        return result;
+    }
 }
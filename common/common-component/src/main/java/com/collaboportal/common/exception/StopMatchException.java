@@ -1,11 +1,15 @@
 package com.collaboportal.common.exception;
 
+/**
+ * マッチング停止例外
+ * ルーターの制御フローに使用するため、スタックトレースは生成しません。
+ */
 public class StopMatchException extends RuntimeException {
 
     public StopMatchException() {
-        super("マッチングを停止しました。");
+        this("マッチングを停止しました。");
     }
     public StopMatchException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -13,20 +13,39 @@ import org.slf4j.MDC;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Objects;
 
 import jakarta.servlet.http.Cookie;
 
+import com.collaboportal.common.context.web.AttributeSlots;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
+import com.collaboportal.common.trace.TraceContext;
+import com.collaboportal.common.utils.CookieIndex;
+import com.collaboportal.common.utils.TraceIdGenerator;
+
 /**
  * ログにtraceIDとIPアドレスとトラッキングクッキーの値を設定し、トラッキングクッキーを設定するフィルター
  * traceIDはリクエストごとに生成する値であり、ログに記録する。
  * IPアドレスはリクエストのIPアドレスである。
  * トラッキングクッキーはクライアントの追跡を補助するためのクッキーである。IPアドレスだけでは追跡できない場合があるため追加。
  * traceIDとトラッキングクッキーは認証に使用せず、流出しても問題が無い範囲で利用すること
+ * トラッキングクッキーの値には発行日時を含め、未発行または有効期限が近い場合のみ再発行する。
+ * W3C Trace Context の {@code traceparent} ヘッダーを受信した場合はそのトレースを引き継ぎ、
+ * このサーバーの処理を表すスパンの {@code traceparent} をレスポンスヘッダーに設定する。
  */
 public class LogTraceIdFilter implements Filter {
 
     public LogTraceIdFilter(){
+        this(TraceIdGenerator.fast());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param idGenerator traceID・トラッキングクッキーの値の生成方式
+     */
+    public LogTraceIdFilter(TraceIdGenerator idGenerator){
+        this.idGenerator = Objects.requireNonNull(idGenerator, "idGenerator");
         logger.debug("LogTraceIdFilterのロードが完了しました");
     }
 
@@ -36,6 +55,14 @@ public class LogTraceIdFilter implements Filter {
     private static final String IP_ADDRESS = "ipAddress";
     // トラッキングクッキーのキー
     private static final String TRACKING_COOKIE_VALUE = "trackingCookieValue";
+    // トラッキングクッキーの有効期間（30日間、秒）
+    private static final long TRACKING_COOKIE_MAX_AGE = 60 * 60 * 24 * 30;
+    // 有効期限までの残りがこの期間（7日間、秒）を下回った場合に再発行する
+    private static final long TRACKING_COOKIE_REFRESH_WINDOW = 60 * 60 * 24 * 7;
+    // トラッキングクッキーの値と発行日時（エポック秒の36進数）の区切り文字
+    private static final char TRACKING_COOKIE_SEPARATOR = '.';
+    // traceID・トラッキングクッキーの値の生成方式
+    private final TraceIdGenerator idGenerator;
     // ログ出力のためのクラス
     Logger logger = LoggerFactory.getLogger(LogTraceIdFilter.class);
 
@@ -52,14 +79,23 @@ public class LogTraceIdFilter implements Filter {
         // requestをHttpServletRequestにキャスト
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
-        // リクエストからtraceIDとIPアドレスとトラッキングクッキーを決定
-        String traceId = determineTraceId(httpRequest);
+        // リクエストからトレース情報とtraceIDとIPアドレスとトラッキングクッキーを決定
+        TraceContext parent = TraceContext.parse(httpRequest.getHeader(TraceContext.HEADER));
+        String traceId = determineTraceId(httpRequest, parent);
+        TraceContext traceContext = parent != null ? parent.child(idGenerator)
+                : TraceContext.newRoot(traceId, idGenerator);
         String ipAddress = determineIpAddress(httpRequest);
         String trackingCookie = getTrackingCookieValue(httpRequest, httpResponse);// トラッキングクッキーを生成してresponseに追加
         // MDC（Mapped Diagnostic Context）にtraceID、IPアドレス、トラッキングクッキーの値をセット
         MDC.put(TRACE_ID, traceId);
         MDC.put(IP_ADDRESS, ipAddress);
         MDC.put(TRACKING_COOKIE_VALUE, trackingCookie);
+        // 後続処理が文字列キーの検索なしで参照できるよう、型付き属性にも設定
+        AttributeSlots slots = AttributeSlots.of(httpRequest);
+        slots.set(CommonAttributeKeys.TRACE_ID, traceId);
+        slots.set(CommonAttributeKeys.TRACE_CONTEXT, traceContext);
+        // 呼び出し元がこのサーバーのスパンを参照できるよう、コミット前に設定
+        httpResponse.setHeader(TraceContext.HEADER, traceContext.toTraceparent());
         try {
             // フィルタチェーンを続行
             filterchain.doFilter(request, response);
@@ -85,20 +121,24 @@ public class LogTraceIdFilter implements Filter {
 
     /**
      * traceIDを決定
+     * X-Trackヘッダー、traceparentヘッダーのトレースIDの順に使用し、どちらもない場合のみ生成する
      * 
      * @param request リクエスト
+     * @param parent  受信したトレース情報（ない場合はnull）
      * @return traceID
      */
-    private String determineTraceId(HttpServletRequest request) {
-        // ランダムなUUIDを生成
-        String traceId = UUID.randomUUID().toString();
+    private String determineTraceId(HttpServletRequest request, TraceContext parent) {
         // リクエストヘッダーからtraceIDを取得
         String headerTraceId = request.getHeader(TRACE_ID);
         // リクエストヘッダーにtraceIDが設定されている場合、その値を使用
         if (headerTraceId != null && !headerTraceId.isEmpty()) {
-            traceId = headerTraceId;
+            return headerTraceId;
+        }
+        if (parent != null) {
+            return parent.getTraceId();
         }
-        return traceId;
+        // 設定されていない場合のみ生成
+        return idGenerator.nextTraceId();
     }
 
     /**
@@ -114,7 +154,9 @@ public class LogTraceIdFilter implements Filter {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         // X-Forwarded-Forヘッダーが設定されている場合、その値を使用
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            ipAddress = xForwardedFor.split(",")[0];
+            // 先頭のアドレスのみ使用（配列を作成せずに区切り位置で切り出す）
+            int comma = xForwardedFor.indexOf(',');
+            ipAddress = comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma);
         }
 
         return ipAddress;
@@ -122,36 +164,69 @@ public class LogTraceIdFilter implements Filter {
 
     /**
      * トラッキングクッキーの値を取得
+     * クッキーが存在しない場合、発行日時が読み取れない場合、または有効期限が近い場合のみレスポンスに追加する
      * 
      * @param request  リクエスト
      * @param response レスポンス
-     * @return トラッキングクッキーの値
+     * @return トラッキングクッキーの値（発行日時を除く）
      */
     private String getTrackingCookieValue(HttpServletRequest request, HttpServletResponse response) {
-        // トラッキングクッキーが存在する場合、有効なクッキーを探す
-        // 存在しない場合、新しく生成してレスポンスに追加
-        Cookie[] cookies = request.getCookies();
-        Cookie retcookie = null;
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals(TRACKING_COOKIE_VALUE)
-                        && cookie.getValue() != null
-                        && !cookie.getValue().isEmpty()) {
-                    retcookie = cookie;
-                }
-            }
+        String cookieValue = CookieIndex.of(request).getLastNonEmptyValue(TRACKING_COOKIE_VALUE);
+        long now = System.currentTimeMillis() / 1000;
+        if (cookieValue == null) {
+            // 存在しない場合、新しく生成してレスポンスに追加
+            String value = idGenerator.nextTraceId();
+            addTrackingCookie(response, value, now);
+            return value;
         }
-        if (retcookie == null) {
-            retcookie = new Cookie(TRACKING_COOKIE_VALUE, UUID.randomUUID().toString());
+        int separator = cookieValue.lastIndexOf(TRACKING_COOKIE_SEPARATOR);
+        long issuedAt = separator < 0 ? -1 : parseIssuedAt(cookieValue, separator + 1);
+        String value = issuedAt < 0 ? cookieValue : cookieValue.substring(0, separator);
+        if (issuedAt < 0 || now - issuedAt > TRACKING_COOKIE_MAX_AGE - TRACKING_COOKIE_REFRESH_WINDOW) {
+            // 発行日時のない従来形式、または有効期限が近い場合は同じ値で再発行
+            addTrackingCookie(response, value, now);
         }
+        return value;
+    }
+
+    /**
+     * トラッキングクッキーをレスポンスに追加
+     * 
+     * @param response レスポンス
+     * @param value    トラッキングクッキーの値
+     * @param issuedAt 発行日時（エポック秒）
+     */
+    private void addTrackingCookie(HttpServletResponse response, String value, long issuedAt) {
+        Cookie retcookie = new Cookie(TRACKING_COOKIE_VALUE,
+                value + TRACKING_COOKIE_SEPARATOR + Long.toString(issuedAt, Character.MAX_RADIX));
         retcookie.setHttpOnly(true); // JavaScriptからのアクセス防止
-        retcookie.setMaxAge(60 * 60 * 24 * 30); // 30日間有効
+        retcookie.setMaxAge((int) TRACKING_COOKIE_MAX_AGE); // 30日間有効
         retcookie.setPath("/"); // サイト全体で有効
         retcookie.setAttribute("SameSite", "Strict");
         // クッキーをレスポンスに追加
         response.addCookie(retcookie);
-        return retcookie.getValue(); // 有効なクッキーがあればその値を返す
     }
 
-
+    /**
+     * トラッキングクッキーの値から発行日時を読み取る（36進数のエポック秒）
+     * 
+     * @param cookieValue トラッキングクッキーの値
+     * @param from        発行日時の開始位置
+     * @return 発行日時（エポック秒）。読み取れない場合は-1
+     */
+    private static long parseIssuedAt(String cookieValue, int from) {
+        int length = cookieValue.length();
+        if (from >= length || length - from > 12) {
+            return -1;
+        }
+        long issuedAt = 0;
+        for (int i = from; i < length; i++) {
+            int digit = Character.digit(cookieValue.charAt(i), Character.MAX_RADIX);
+            if (digit < 0) {
+                return -1;
+            }
+            issuedAt = issuedAt * Character.MAX_RADIX + digit;
+        }
+        return issuedAt;
+    }
 }
@@ -1,14 +1,24 @@
 package com.collaboportal.common.filter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.collaboportal.common.ConfigManager;
-import com.collaboportal.common.model.MaintenanceBody;
-import com.collaboportal.common.config.CommonConfig;
+import com.collaboportal.common.Router.RouteRules;
+import com.collaboportal.common.application.ApplicationInfo;
+import com.collaboportal.common.model.ErrorResponseBody;
+import com.collaboportal.common.model.MaintenanceMode;
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.TimingStage;
+import com.collaboportal.common.utils.Message;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,19 +27,63 @@ import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * メンテナンスモードフィルタークラス
- * メンテナンスモードが有効な場合、インデックスページのURLを変更する
+ * メンテナンス状態に応じたインデックスページ・コールバックURLは {@link MaintenanceMode} が状態の遷移時に計算するため、
+ * このフィルターはリクエストごとに文字列の加工や設定の書き込みを行わない。
+ * 503応答を有効にした場合、メンテナンス中のリクエストには事前に作成したレスポンスボディと {@code Retry-After} を返す。
+ * ただしメンテナンスの終了を検知するヘルスチェック（既定は {@code /health_check}）等の除外パスは後続に渡す
  */
 public class MaintenanceModeFilter extends OncePerRequestFilter {
 
     // ロガー
     private static final Logger logger = LoggerFactory.getLogger(MaintenanceModeFilter.class);
 
+    /** メンテナンス中も503を返さない既定のパス（ヘルスチェックがメンテナンス状態を解除するため） */
+    public static final List<String> DEFAULT_BYPASS_PATHS = List.of("/health_check", "/health_check/**");
+
+    // メンテナンス中に503を返すか
+    private final boolean serveUnavailable;
+    // Retry-Afterヘッダーの値（秒）
+    private final String retryAfter;
+    // 503応答のボディ（事前にシリアライズ済み）
+    private final byte[] unavailableBody;
+    // メンテナンス中も後続に渡すパス
+    private final RouteRules<Boolean> bypassPaths;
+
     /**
      * コンストラクタ
-     * 初期化時にログを出力
+     * メンテナンス中もリクエストを後続に渡す
      */
     public MaintenanceModeFilter() {
-        logger.debug("メンテナンスモードフィルターが初期化されました");
+        this(false, Duration.ZERO);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param serveUnavailable メンテナンス中に後続の処理を呼び出さずに503を返す場合はtrue
+     * @param retryAfter       503応答の {@code Retry-After} に設定する待機時間
+     */
+    public MaintenanceModeFilter(boolean serveUnavailable, Duration retryAfter) {
+        this(serveUnavailable, retryAfter, DEFAULT_BYPASS_PATHS);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param serveUnavailable メンテナンス中に後続の処理を呼び出さずに503を返す場合はtrue
+     * @param retryAfter       503応答の {@code Retry-After} に設定する待機時間
+     * @param bypassPaths      メンテナンス中も後続に渡すパスパターン（nullの場合は除外なし）
+     */
+    public MaintenanceModeFilter(boolean serveUnavailable, Duration retryAfter, Collection<String> bypassPaths) {
+        this.serveUnavailable = serveUnavailable;
+        this.retryAfter = Long.toString(retryAfter.toSeconds());
+        this.unavailableBody = serveUnavailable ? buildUnavailableBody() : null;
+        RouteRules.Builder<Boolean> rules = RouteRules.builder();
+        if (bypassPaths != null && !bypassPaths.isEmpty()) {
+            rules.rule().match(bypassPaths).then(Boolean.TRUE);
+        }
+        this.bypassPaths = rules.build();
+        logger.debug("メンテナンスモードフィルターが初期化されました（503応答: {}, 除外パス: {}）", serveUnavailable, bypassPaths);
     }
 
     /**
@@ -42,24 +96,31 @@ public class MaintenanceModeFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // 設定を取得
-        CommonConfig config = ConfigManager.getConfig();
-        if (config != null) {
-            String indexPage = config.getIndexPage();
-            
-            // メンテナンスモードが有効な場合
-            if ("1".equals(MaintenanceBody.getMentFlg())) {
-                logger.info("メンテナンスモードが有効です。インデックスページを変更します");
-                config.setIndexPage(indexPage.replaceAll("com$", "com:442"));
-            } 
-            // メンテナンスモードが無効な場合
-            else {
-                logger.info("メンテナンスモードが無効です。インデックスページを元に戻します");
-                config.setIndexPage(indexPage.replaceAll(":442", ""));
-            }
+        // 事前計算済みの状態を参照するだけで、リクエストごとの文字列処理は行わない
+        long start = System.nanoTime();
+        boolean unavailable = serveUnavailable && MaintenanceMode.current().isMaintenance()
+                && !bypassPaths.matches(request.getMethod(), ApplicationInfo.cutPathPrefix(request.getRequestURI()));
+        RequestTimings.of(request).record(TimingStage.MAINTENANCE, System.nanoTime() - start);
+        if (unavailable) {
+            response.setStatus(Message.SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfter);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(unavailableBody.length);
+            response.getOutputStream().write(unavailableBody);
+            return;
         }
 
         // 次のフィルターに処理を渡す
         filterChain.doFilter(request, response);
     }
+
+    // 503応答のボディを作成する（UTF-8のJSON）
+    private static byte[] buildUnavailableBody() {
+        try {
+            return new ObjectMapper().writeValueAsBytes(new ErrorResponseBody(
+                    Integer.toString(Message.SERVICE_UNAVAILABLE), Message.W503, Message.ERROR_LEVEL_WARNING));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("メンテナンス応答を作成できません", e);
+        }
+    }
 }
@@ -5,10 +5,10 @@ import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.spi.FilterReply;
 
 import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.ConfigSubscription;
 import com.collaboportal.common.config.LogMaskConfig;
-import com.collaboportal.common.utils.SensitiveDataMaskUtil;
-
-import java.util.concurrent.atomic.AtomicLong;
+import com.collaboportal.common.masking.MaskingMemo;
+import com.collaboportal.common.masking.SensitiveDataMasker;
 
 /**
  * Logback機密情報マスキングフィルター
@@ -16,14 +16,13 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class SensitiveDataMaskingFilter extends Filter<ILoggingEvent> {
 
-    // マスキング統計カウンター
-    private static final AtomicLong totalLogEvents = new AtomicLong(0);
-    private static final AtomicLong maskedLogEvents = new AtomicLong(0);
+    // 既定のマスキング設定（設定を取得できない場合に使用）
+    private static final LogMaskConfig DEFAULT_CONFIG = new LogMaskConfig();
 
-    // 設定キャッシュ（頻繁な設定取得を避けるため）
-    private LogMaskConfig cachedConfig;
-    private long lastConfigUpdate = 0;
-    private static final long CONFIG_CACHE_DURATION = 60000; // 1分間キャッシュ
+    // ConfigManagerから通知された公開中のマスキング設定（ログイベントごとに取得し直さない）
+    private volatile LogMaskConfig maskConfig = DEFAULT_CONFIG;
+    // マスキング設定の購読
+    private ConfigSubscription subscription;
 
     @Override
     public FilterReply decide(ILoggingEvent event) {
@@ -31,54 +30,11 @@ public class SensitiveDataMaskingFilter extends Filter<ILoggingEvent> {
             return FilterReply.NEUTRAL;
         }
 
-        totalLogEvents.incrementAndGet();
-
         try {
-            // マスキング設定を取得
-            LogMaskConfig maskConfig = getMaskConfig();
-
-            // ログマスキングが有効かどうかを確認
-            if (!maskConfig.isEnableLogMasking()) {
-                return FilterReply.NEUTRAL;
-            }
-
-            // ログレベルにマスキングが必要かどうかを確認
-            String logLevel = event.getLevel().toString();
-            if (!maskConfig.shouldMaskLogLevel(logLevel)) {
-                return FilterReply.NEUTRAL;
-            }
-
-            // このパッケージをスキップするかどうかを確認
-            String loggerName = event.getLoggerName();
-            if (maskConfig.shouldSkipPackage(loggerName)) {
-                return FilterReply.NEUTRAL;
-            }
-
-            // ログメッセージにマスキング処理を実行
-            String originalMessage = event.getFormattedMessage();
-            if (originalMessage != null && !originalMessage.trim().isEmpty()) {
-
-                // テキスト長制限を確認
-                if (maskConfig.isTextTooLongForMasking(originalMessage)) {
-                    return FilterReply.NEUTRAL;
-                }
-
-                // 機密情報が含まれているかどうかを確認
-                if (SensitiveDataMaskUtil.containsSensitiveData(originalMessage)) {
-                    maskedLogEvents.incrementAndGet();
-
-                    // マスキング後のログイベントを作成
-                    String maskedMessage = SensitiveDataMaskUtil.maskSensitiveData(originalMessage);
-
-                    // LoggingEventは不変のため、MDCを使用してマスキング後のメッセージを伝達
-                    // ここでは一旦NEUTRALを返し、後続のAppenderに処理を委ねる
-                    // 実際のマスキング処理はカスタムEncoderで行う
-                    event.getMDCPropertyMap().put("masked_message", maskedMessage);
-                    event.getMDCPropertyMap().put("original_message", originalMessage);
-                    event.getMDCPropertyMap().put("is_masked", "true");
-                }
-            }
-
+            // 検出とマスキングを1回の走査で行い、結果はイベントごとのメモとして後続のエンコーダー・他のAppenderと共有する
+            // マスキングの対象とするか（有効・ログレベル・スキップ対象のパッケージ・テキスト長）はメモが通知済みの設定で判定し、
+            // 件数・処理時間はメモがMaskingStatisticsに記録する
+            MaskingMemo.maskedMessage(event, SensitiveDataMasker.of(maskConfig));
         } catch (Exception e) {
             // マスキングフィルターは通常のログ出力に影響してはならない
             addError("マスキングフィルター処理が失敗しました: " + e.getMessage(), e);
@@ -87,36 +43,26 @@ public class SensitiveDataMaskingFilter extends Filter<ILoggingEvent> {
         return FilterReply.NEUTRAL;
     }
 
-    /**
-     * マスキング設定を取得（キャッシュ付き）
-     */
-    private LogMaskConfig getMaskConfig() {
-        long currentTime = System.currentTimeMillis();
-
-        // キャッシュが期限切れかどうかを確認
-        if (cachedConfig == null || (currentTime - lastConfigUpdate) > CONFIG_CACHE_DURATION) {
-            try {
-                cachedConfig = ConfigManager.getConfig(LogMaskConfig.class);
-                lastConfigUpdate = currentTime;
-            } catch (Exception e) {
-                addWarn("マスキング設定を取得できません、デフォルト設定を使用します: " + e.getMessage());
-                if (cachedConfig == null) {
-                    cachedConfig = new LogMaskConfig();
-                }
-            }
-        }
-
-        return cachedConfig;
-    }
-
     @Override
     public void start() {
+        // 設定の公開・再読み込みのたびに新しい設定を受け取る
+        subscription = ConfigManager.subscribe(LogMaskConfig.class, config -> this.maskConfig = config);
+        try {
+            // 未公開の場合は作成して公開する（購読により通知される）
+            ConfigManager.getConfig(LogMaskConfig.class);
+        } catch (Exception e) {
+            addWarn("マスキング設定を取得できません、公開されるまでデフォルト設定を使用します: " + e.getMessage());
+        }
         super.start();
         addInfo("機密情報マスキングフィルターが開始されました");
     }
 
     @Override
     public void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
         addInfo("機密情報マスキングフィルターが停止されました");
         super.stop();
     }
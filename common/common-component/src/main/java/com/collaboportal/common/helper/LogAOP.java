@@ -10,16 +10,35 @@ import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.ConfigSubscription;
 import com.collaboportal.common.config.LogMaskConfig;
-import com.collaboportal.common.utils.SensitiveDataMaskUtil;
+import com.collaboportal.common.masking.SensitiveDataMasker;
 
 @Aspect
-public class LogAOP {
+public class LogAOP implements DisposableBean {
     // ログ出力のためのクラス
     Logger logger = LoggerFactory.getLogger(LogAOP.class);
 
+    // ConfigManagerから通知された公開中のマスク設定（アドバイスの呼び出しごとに取得し直さない）
+    private volatile LogMaskConfig maskConfig;
+    // マスク設定の購読（Bean破棄時に解除する）
+    private final ConfigSubscription subscription;
+
+    public LogAOP() {
+        subscription = ConfigManager.subscribe(LogMaskConfig.class, config -> this.maskConfig = config);
+    }
+
+    /**
+     * マスク設定の購読を解除します（アプリケーションコンテキストの終了・再作成時に購読が残らないようにする）。
+     */
+    @Override
+    public void destroy() {
+        subscription.close();
+    }
+
     // AOPを行う箇所の設定
     @Pointcut("execution(* com.collaboportal.shoho.controller.*Controller.*(..))")
     public void controller() {
@@ -187,18 +206,19 @@ public class LogAOP {
             return text;
         }
 
-        // 機密情報が含まれているかをチェック
-        if (SensitiveDataMaskUtil.containsSensitiveData(text)) {
-            return SensitiveDataMaskUtil.maskSensitiveData(text);
-        }
-
-        return text;
+        // 検出とマスキングを1回の走査で行う（機密情報が含まれていない場合は元のテキスト）
+        return SensitiveDataMasker.of(maskConfig).maskMessage(text);
     }
 
     /**
      * マスク設定を取得
+     * 通知済みの設定を返す。未公開の場合のみ作成して公開する（購読により以降は通知される）
      */
     private LogMaskConfig getMaskConfig() {
+        LogMaskConfig config = maskConfig;
+        if (config != null) {
+            return config;
+        }
         try {
             return ConfigManager.getConfig(LogMaskConfig.class);
         } catch (Exception e) {
@@ -0,0 +1,284 @@
+package com.collaboportal.common.masking;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.collaboportal.common.utils.SensitiveDataMaskUtil.SensitiveDataPattern;
+
+/**
+ * JSONのトークン単位のストリーミング・マスキング
+ * {@link JsonParser} で読み取ったトークンを {@link JsonGenerator} にそのまま書き写し、
+ * 機密情報のフィールド名（{@link SensitiveDataMasker#isSensitiveName(CharSequence)}）のスカラー値だけを {@code ****} に置き換えます。
+ * その他の文字列値はテキストのマスキング（メールアドレス・JWT等）を適用します。
+ * 文書全体の木構造や中間の文字列を作成せず、出力はスレッドごとに再利用するバッファに書き込みます。
+ *
+ * <ul>
+ * <li>機密情報のフィールドの値が配列の場合は、配列内のスカラー値を {@code ****} にします。
+ * オブジェクトの場合は読み飛ばさず、子要素をそれぞれのフィールド名で判定します</li>
+ * <li>入れ子の深さが上限を超えた部分は読み飛ばして {@code "<truncated>"} にします</li>
+ * <li>長さが上限を超えるテキストや、JSONとして解析できないテキストはテキストのマスキングで処理します</li>
+ * </ul>
+ *
+ * <p>マスキング・切り捨てを行った場合、出力は空白を除いたJSONに正規化されます。
+ * 何も置き換えなかった場合は元の文字列をそのまま返します。</p>
+ */
+public final class JsonStreamMasker {
+
+    // マスキング文字
+    private static final String MASK = "****";
+    // 深さの上限を超えた部分の置き換え文字列
+    private static final String TRUNCATED = "<truncated>";
+    // スレッドごとに保持する出力バッファの上限（これを超えたバッファは保持しない）
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    // パーサー・ジェネレーターの生成（スレッドセーフ、内部バッファはJacksonがスレッドごとに再利用する）
+    private static final JsonFactory FACTORY = new JsonFactory();
+    // スレッドごとの出力バッファ
+    private static final ThreadLocal<BufferWriter> BUFFER = ThreadLocal.withInitial(BufferWriter::new);
+
+    private final SensitiveDataMasker textMasker;
+    private final int maxDepth;
+    private final int maxLength;
+
+    /**
+     * コンストラクタ
+     *
+     * @param textMasker フィールド名の判定と文字列値のマスキングに使用するエンジン
+     * @param maxDepth   入れ子の深さの上限
+     * @param maxLength  ストリーミングで処理するテキストの長さの上限
+     */
+    JsonStreamMasker(SensitiveDataMasker textMasker, int maxDepth, int maxLength) {
+        this.textMasker = textMasker;
+        this.maxDepth = maxDepth;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * テキストがJSONのオブジェクトまたは配列の形式か判定します（先頭と末尾の文字のみ確認します）。
+     *
+     * @param text 確認対象のテキスト
+     * @return JSONの形式の場合はtrue
+     */
+    public static boolean isJsonFormat(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        int first = 0;
+        int last = text.length() - 1;
+        while (first <= last && Character.isWhitespace(text.charAt(first))) {
+            first++;
+        }
+        while (last > first && Character.isWhitespace(text.charAt(last))) {
+            last--;
+        }
+        if (first >= last) {
+            return false;
+        }
+        char open = text.charAt(first);
+        char close = text.charAt(last);
+        return (open == '{' && close == '}') || (open == '[' && close == ']');
+    }
+
+    /**
+     * JSONをマスキングします。
+     *
+     * @param json 元のJSON
+     * @return マスキング後のJSON。マスキング・切り捨てを行わなかった場合は元のインスタンス
+     */
+    public String mask(String json) {
+        if (json == null || json.isEmpty() || !textMasker.hasCandidate(json)) {
+            return json;
+        }
+        if (json.length() > maxLength) {
+            return textMasker.mask(json);
+        }
+        BufferWriter buffer = BUFFER.get();
+        try {
+            if (!copyMasked(json, buffer)) {
+                return textMasker.mask(json);
+            }
+            return buffer.masked || buffer.truncated ? buffer.builder.toString() : json;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * JSONをマスキングして追記します。
+     *
+     * @param json 元のJSON
+     * @param out  出力先
+     * @return 機密情報をマスキングした場合はtrue
+     */
+    public boolean maskTo(String json, StringBuilder out) {
+        if (json == null) {
+            return false;
+        }
+        if (json.isEmpty() || !textMasker.hasCandidate(json)) {
+            out.append(json);
+            return false;
+        }
+        if (json.length() > maxLength) {
+            return textMasker.maskTo(json, 0, json.length(), out) > 0;
+        }
+        BufferWriter buffer = BUFFER.get();
+        try {
+            if (!copyMasked(json, buffer)) {
+                return textMasker.maskTo(json, 0, json.length(), out) > 0;
+            }
+            if (buffer.masked || buffer.truncated) {
+                out.append(buffer.builder);
+            } else {
+                out.append(json);
+            }
+            return buffer.masked;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * トークンを書き写しながらマスキングします。
+     * 置き換えの有無はバッファの {@code masked}・{@code truncated} に記録します。
+     *
+     * @return 完了した場合はtrue。JSONとして解析できない場合はfalse
+     */
+    private boolean copyMasked(String json, BufferWriter buffer) {
+        try (JsonParser parser = FACTORY.createParser(json);
+                JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+            int depth = 0;
+            // 機密情報のフィールドの値である配列の深さ（0は対象の配列の外）
+            int maskedArrayDepth = 0;
+            boolean sensitive = false;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case FIELD_NAME -> {
+                        String name = parser.currentName();
+                        generator.writeFieldName(name);
+                        // 直後の値のみが対象
+                        sensitive = textMasker.isSensitiveName(name);
+                        continue;
+                    }
+                    case START_OBJECT, START_ARRAY -> {
+                        if (depth >= maxDepth) {
+                            parser.skipChildren();
+                            generator.writeString(TRUNCATED);
+                            buffer.truncated = true;
+                        } else {
+                            depth++;
+                            if (sensitive && token == JsonToken.START_ARRAY && maskedArrayDepth == 0) {
+                                maskedArrayDepth = depth;
+                            }
+                            generator.copyCurrentEvent(parser);
+                        }
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        if (depth == maskedArrayDepth) {
+                            maskedArrayDepth = 0;
+                        }
+                        depth--;
+                        generator.copyCurrentEvent(parser);
+                    }
+                    case VALUE_STRING -> {
+                        if (isMaskedValue(sensitive, maskedArrayDepth, parser) && parser.getTextLength() > 0) {
+                            writeMask(generator, buffer);
+                        } else {
+                            String text = parser.getText();
+                            String masked = textMasker.mask(text);
+                            if (masked != text) {
+                                buffer.masked = true;
+                            }
+                            generator.writeString(masked);
+                        }
+                    }
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                        if (isMaskedValue(sensitive, maskedArrayDepth, parser)) {
+                            writeMask(generator, buffer);
+                        } else {
+                            // 数値に変換せず元の表記のまま書き写す
+                            generator.writeNumber(parser.getText());
+                        }
+                    }
+                    case VALUE_TRUE, VALUE_FALSE -> {
+                        if (isMaskedValue(sensitive, maskedArrayDepth, parser)) {
+                            writeMask(generator, buffer);
+                        } else {
+                            generator.copyCurrentEvent(parser);
+                        }
+                    }
+                    default -> generator.copyCurrentEvent(parser);
+                }
+                sensitive = false;
+            }
+            generator.flush();
+            return true;
+        } catch (IOException e) {
+            // 不正なJSON（末尾の余分な文字等）は呼び出し元でテキストとして処理する
+            buffer.release();
+            return false;
+        }
+    }
+
+    // スカラー値をマスキングするか（機密情報のフィールドの値、またはその配列の要素）
+    private static boolean isMaskedValue(boolean sensitive, int maskedArrayDepth, JsonParser parser) {
+        return sensitive || (maskedArrayDepth > 0 && parser.getParsingContext().inArray());
+    }
+
+    private static void writeMask(JsonGenerator generator, BufferWriter buffer) throws IOException {
+        generator.writeString(MASK);
+        buffer.masked = true;
+        MaskingStatistics.recordPattern(SensitiveDataPattern.PASSWORD);
+    }
+
+    /**
+     * 再利用可能なStringBuilderへの書き込み
+     */
+    private static final class BufferWriter extends Writer {
+
+        private StringBuilder builder = new StringBuilder(1024);
+        // 値をマスキングしたか
+        private boolean masked;
+        // 深さの上限で切り捨てたか
+        private boolean truncated;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        // 次の利用のために空にする（大きくなりすぎたバッファは破棄する）
+        void release() {
+            masked = false;
+            truncated = false;
+            if (builder.capacity() > MAX_RETAINED_BUFFER) {
+                builder = new StringBuilder(1024);
+            } else {
+                builder.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.collaboportal.common.masking;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 複数キーワードを1回の走査で検出するAho-Corasickオートマトン
+ * 失敗遷移を事前に展開した遷移表（状態数×列数）を持ち、1文字あたり配列参照1回で次の状態を決定します。
+ * 列はASCIIの128文字と、キーワードに含まれるASCII以外の文字（小文字化したもの）です。
+ * ASCII以外の文字は列の探索（二分探索）を1回行い、キーワードに含まれない文字は初期状態に戻ります。
+ * 英字は大文字・小文字を区別しません。
+ */
+final class KeywordAutomaton {
+
+    // ASCIIの列数
+    private static final int ASCII = 128;
+
+    // キーワードに含まれるASCII以外の文字（小文字化・昇順、列番号は ASCII + 添字）
+    private final char[] extra;
+    // 遷移表の列数
+    private final int width;
+    // 遷移表（状態 * width + 列 → 次の状態）
+    private final int[] delta;
+    // 状態ごとに検出されるキーワード番号（長い順、該当なしはnull）
+    private final int[][] outputs;
+    // キーワード番号ごとの長さ
+    private final int[] lengths;
+
+    /**
+     * オートマトンを構築します。
+     *
+     * @param keywords キーワード（空文字不可）
+     */
+    KeywordAutomaton(List<String> keywords) {
+        extra = keywords.stream()
+                .flatMapToInt(String::chars)
+                .map(Character::toLowerCase)
+                .filter(c -> c >= ASCII)
+                .distinct()
+                .sorted()
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString()
+                .toCharArray();
+        width = ASCII + extra.length;
+
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> own = new ArrayList<>();
+        gotoTable.add(newRow());
+        own.add(new ArrayList<>());
+        lengths = new int[keywords.size()];
+
+        // キーワードのトライを構築
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id);
+            lengths[id] = keyword.length();
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int c = column(keyword.charAt(i));
+                int next = gotoTable.get(state)[c];
+                if (next < 0) {
+                    next = gotoTable.size();
+                    gotoTable.add(newRow());
+                    own.add(new ArrayList<>());
+                    gotoTable.get(state)[c] = next;
+                }
+                state = next;
+            }
+            own.get(state).add(id);
+        }
+
+        // 幅優先で失敗遷移を求め、遷移表と出力を展開
+        int stateCount = gotoTable.size();
+        int[] fail = new int[stateCount];
+        List<List<Integer>> merged = new ArrayList<>(own);
+        delta = new int[stateCount * width];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < width; c++) {
+            int next = gotoTable.get(0)[c];
+            if (next > 0) {
+                fail[next] = 0;
+                queue.add(next);
+                delta[c] = next;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = new ArrayList<>(own.get(state));
+            out.addAll(merged.get(fail[state]));
+            merged.set(state, out);
+            for (int c = 0; c < width; c++) {
+                int next = gotoTable.get(state)[c];
+                if (next > 0) {
+                    fail[next] = delta[fail[state] * width + c];
+                    queue.add(next);
+                    delta[state * width + c] = next;
+                } else {
+                    delta[state * width + c] = delta[fail[state] * width + c];
+                }
+            }
+        }
+
+        // 英大文字の遷移は小文字と同じにする
+        for (int state = 0; state < stateCount; state++) {
+            for (int c = 'A'; c <= 'Z'; c++) {
+                delta[state * width + c] = delta[state * width + Character.toLowerCase(c)];
+            }
+        }
+
+        outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            List<Integer> out = merged.get(state);
+            if (!out.isEmpty()) {
+                outputs[state] = out.stream()
+                        .sorted((a, b) -> Integer.compare(lengths[b], lengths[a]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+        }
+    }
+
+    /**
+     * 次の状態を取得します。
+     *
+     * @param state 現在の状態
+     * @param c     入力文字
+     * @return 次の状態
+     */
+    int next(int state, char c) {
+        if (c < ASCII) {
+            return delta[state * width + c];
+        }
+        int column = extraColumn(c);
+        return column < 0 ? 0 : delta[state * width + column];
+    }
+
+    /**
+     * 状態で検出されるキーワード番号を取得します。
+     *
+     * @param state 状態
+     * @return キーワード番号（長い順）。該当なしの場合はnull
+     */
+    int[] outputs(int state) {
+        return outputs[state];
+    }
+
+    /**
+     * キーワードの長さを取得します。
+     *
+     * @param id キーワード番号
+     * @return 長さ
+     */
+    int length(int id) {
+        return lengths[id];
+    }
+
+    // 文字の列番号（構築時のみ使用、キーワードの文字は必ず列を持つ）
+    private int column(char c) {
+        int lower = Character.toLowerCase(c);
+        return lower < ASCII ? lower : extraColumn(c);
+    }
+
+    // ASCII以外の文字の列番号（該当なしは-1）
+    private int extraColumn(char c) {
+        if (extra.length == 0) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(extra, Character.toLowerCase(c));
+        return index < 0 ? -1 : ASCII + index;
+    }
+
+    // 未遷移（-1）で初期化したトライの行
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,77 @@
+package com.collaboportal.common.masking;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * ログイベントごとのマスキング結果のメモ
+ * 同じイベントを複数のAppender（フィルター・エンコーダー）が処理する場合に、検出とマスキングを1回だけ行い結果を共有します。
+ *
+ * <p>logbackはイベントを呼び出し元のスレッドで各Appenderに順に渡すため、スレッドごとに直前のイベント1件分の結果を保持し、
+ * イベントとマスキングエンジンの同一性（参照の一致）で有効か判定します。イベント自体（MDC等）には何も書き込みません。
+ * 別スレッドで処理される場合や、処理中に設定が変わった場合は、そのスレッドで計算し直します。
+ * 統計（{@link MaskingStatistics}）はマスキングを計算したときにのみ記録するため、Appenderの数によらずイベントごとに1件です。</p>
+ *
+ * <p>マスキングの対象とするかはエンジンの生成元の設定（{@link com.collaboportal.common.config.LogMaskConfig#shouldMaskLogEvent}）で
+ * 判定するため、フィルター・エンコーダー・変換器のいずれから呼び出しても同じ判定になります。対象外のイベントは元のメッセージを返し、
+ * 統計にも記録しません。</p>
+ */
+public final class MaskingMemo {
+
+    // スレッドごとの直前のイベントの結果
+    private static final ThreadLocal<MaskingMemo> SLOT = ThreadLocal.withInitial(MaskingMemo::new);
+
+    private ILoggingEvent event;
+    private SensitiveDataMasker masker;
+    private String maskedMessage;
+    private boolean masked;
+
+    private MaskingMemo() {
+    }
+
+    /**
+     * マスキング後のメッセージを取得します（同じイベントについては最初の呼び出しでのみ計算します）。
+     *
+     * @param event  ログイベント
+     * @param masker マスキングエンジン
+     * @return マスキング後のメッセージ。機密情報が含まれていない場合・マスキングの対象外の場合は
+     *         {@link ILoggingEvent#getFormattedMessage()} と同じインスタンス
+     */
+    public static String maskedMessage(ILoggingEvent event, SensitiveDataMasker masker) {
+        return lookup(event, masker).maskedMessage;
+    }
+
+    /**
+     * イベントのメッセージに機密情報が含まれていたか判定します（同じイベントについては最初の呼び出しでのみ計算します）。
+     *
+     * @param event  ログイベント
+     * @param masker マスキングエンジン
+     * @return マスキングした場合はtrue
+     */
+    public static boolean isMasked(ILoggingEvent event, SensitiveDataMasker masker) {
+        return lookup(event, masker).masked;
+    }
+
+    private static MaskingMemo lookup(ILoggingEvent event, SensitiveDataMasker masker) {
+        MaskingMemo memo = SLOT.get();
+        if (memo.event != event || memo.masker != masker) {
+            String message = event.getFormattedMessage();
+            String maskedMessage;
+            if (!masker.config().shouldMaskLogEvent(event.getLevel().toString(), event.getLoggerName(), message)) {
+                maskedMessage = message;
+            } else if (MaskingStatistics.isEnabled()) {
+                long start = System.nanoTime();
+                maskedMessage = masker.maskMessage(message);
+                long elapsed = System.nanoTime() - start;
+                MaskingStatistics.recordEvent(event.getLoggerName(), message == null ? 0 : message.length(),
+                        maskedMessage == null ? 0 : maskedMessage.length(), maskedMessage != message, elapsed);
+            } else {
+                maskedMessage = masker.maskMessage(message);
+            }
+            memo.maskedMessage = maskedMessage;
+            memo.masked = maskedMessage != message;
+            memo.masker = masker;
+            memo.event = event;
+        }
+        return memo;
+    }
+}
@@ -0,0 +1,136 @@
+package com.collaboportal.common.masking;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.utils.LatencyHistogram;
+import com.collaboportal.common.utils.SensitiveDataMaskUtil.SensitiveDataPattern;
+
+/**
+ * 機密情報マスキングの統計
+ * ログイベントごとの走査・マスキング件数、文字数、処理時間のヒストグラム、ロガー別・パターン別の件数を集計します。
+ * カウンターは {@link LongAdder}（スレッドごとに分散して加算）のため、ログ出力の多いスレッド間で競合しません。
+ *
+ * <p>集計は {@link LogMaskConfig#isEnableMaskingStats()} が有効な場合のみ行います（設定の公開・再読み込みに追従します）。
+ * パターン別の件数はログ以外（AOP等）でマスキングした箇所も含みます。</p>
+ */
+public final class MaskingStatistics {
+
+    // ロガー別の集計の上限（超えた分は OTHER_LOGGERS にまとめる）
+    private static final int MAX_LOGGERS = 256;
+    private static final String OTHER_LOGGERS = "<other>";
+
+    private static volatile boolean enabled = new LogMaskConfig().isEnableMaskingStats();
+
+    private static final LongAdder EVENTS_SCANNED = new LongAdder();
+    private static final LongAdder EVENTS_MASKED = new LongAdder();
+    private static final LongAdder CHARS_IN = new LongAdder();
+    private static final LongAdder CHARS_OUT = new LongAdder();
+    private static final LatencyHistogram MASKING_TIME = new LatencyHistogram();
+    private static final Map<SensitiveDataPattern, LongAdder> PATTERNS = new EnumMap<>(SensitiveDataPattern.class);
+    private static final Map<String, LongAdder> LOGGERS = new ConcurrentHashMap<>();
+
+    static {
+        for (SensitiveDataPattern pattern : SensitiveDataPattern.values()) {
+            PATTERNS.put(pattern, new LongAdder());
+        }
+        ConfigManager.subscribe(LogMaskConfig.class, config -> enabled = config.isEnableMaskingStats());
+    }
+
+    private MaskingStatistics() {
+    }
+
+    /**
+     * 集計が有効か判定します。
+     *
+     * @return 有効な場合はtrue
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ログイベント1件のマスキングを記録します。
+     *
+     * @param loggerName ロガー名
+     * @param charsIn    元のメッセージの文字数
+     * @param charsOut   マスキング後のメッセージの文字数
+     * @param masked     マスキングした場合はtrue
+     * @param nanos      マスキングの処理時間（ナノ秒）
+     */
+    static void recordEvent(String loggerName, int charsIn, int charsOut, boolean masked, long nanos) {
+        EVENTS_SCANNED.increment();
+        CHARS_IN.add(charsIn);
+        CHARS_OUT.add(charsOut);
+        MASKING_TIME.record(nanos);
+        if (masked) {
+            EVENTS_MASKED.increment();
+            loggerCounter(loggerName).increment();
+        }
+    }
+
+    /**
+     * マスキングした箇所を記録します。
+     *
+     * @param pattern 検出したパターン
+     */
+    static void recordPattern(SensitiveDataPattern pattern) {
+        if (enabled) {
+            PATTERNS.get(pattern).increment();
+        }
+    }
+
+    private static LongAdder loggerCounter(String loggerName) {
+        String key = loggerName == null ? OTHER_LOGGERS : loggerName;
+        LongAdder counter = LOGGERS.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (LOGGERS.size() >= MAX_LOGGERS) {
+            key = OTHER_LOGGERS;
+        }
+        return LOGGERS.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    /**
+     * 統計情報を取得します（時間はマイクロ秒）。
+     *
+     * @return 件数・文字数・処理時間・パターン別・ロガー別のマップ
+     */
+    public static Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("events_scanned", EVENTS_SCANNED.sum());
+        stats.put("events_masked", EVENTS_MASKED.sum());
+        stats.put("chars_in", CHARS_IN.sum());
+        stats.put("chars_out", CHARS_OUT.sum());
+        stats.put("masking_time", MASKING_TIME.getStatistics());
+        Map<String, Long> patterns = new LinkedHashMap<>();
+        PATTERNS.forEach((pattern, counter) -> patterns.put(pattern.name(), counter.sum()));
+        stats.put("patterns", patterns);
+        Map<String, Long> loggers = new LinkedHashMap<>();
+        LOGGERS.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> loggers.put(entry.getKey(), entry.getValue().sum()));
+        stats.put("masked_by_logger", loggers);
+        return stats;
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public static void reset() {
+        EVENTS_SCANNED.reset();
+        EVENTS_MASKED.reset();
+        CHARS_IN.reset();
+        CHARS_OUT.reset();
+        MASKING_TIME.reset();
+        PATTERNS.values().forEach(LongAdder::reset);
+        LOGGERS.clear();
+    }
+}
@@ -0,0 +1,551 @@
+package com.collaboportal.common.masking;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.LogMaskConfig;
+import com.collaboportal.common.utils.SensitiveDataMaskUtil.SensitiveDataPattern;
+
+/**
+ * 機密情報の1パス・マスキングエンジン
+ * パスワード系キーワード・「@」・JWTの先頭（{@code eyJ}）を1つのAho-Corasickオートマトンで候補として検出し、
+ * 候補の位置でのみ各パターンの厳密な判定を行い、マスキング後のテキストを1回の走査で出力します。
+ * 候補のないテキストは1文字あたり配列参照1回で走査を終え、新しい文字列を作成しません。
+ * 従来の正規表現（{@code \b[A-Za-z0-9-_]+\.[A-Za-z0-9-_]+\.[A-Za-z0-9-_]*\b}）と異なり、JWTは {@code eyJ} で始まるものに限定するため、
+ * パッケージ名やバージョン番号（{@code a.b.c}）はマスキングしません。
+ *
+ * <ul>
+ * <li>パスワード: {@code password|pwd|pass|secret|token|key}（およびカスタムキーワード）に続く {@code :} または {@code =} の値。
+ * JSONのキー（{@code "password":"..."}）にも対応し、値は引用符を保ったまま {@code ****} に置き換えます</li>
+ * <li>メールアドレス: ローカル部の先頭2文字とドメインを保持します</li>
+ * <li>JWT: {@code eyJ} で始まる3セグメントのトークン。前後8文字ずつを保持します</li>
+ * </ul>
+ *
+ * <p>インスタンスは不変でスレッドセーフです。{@link LogMaskConfig} ごとの生成結果は {@link #of(LogMaskConfig)} でキャッシュされます。</p>
+ */
+public final class SensitiveDataMasker {
+
+    // マスキング文字
+    private static final String MASK = "****";
+    // パスワード系の既定キーワード
+    private static final List<String> PASSWORD_KEYWORDS = List.of("password", "pwd", "pass", "secret", "token", "key");
+    // メールアドレスの候補
+    private static final String EMAIL_TRIGGER = "@";
+    // JWTの候補（Base64URLエンコードした "{\"" の先頭）
+    private static final String JWT_TRIGGER = "eyJ";
+
+    // 既定の設定（すべてのパターンが有効）のエンジン
+    private static final SensitiveDataMasker DEFAULT = new SensitiveDataMasker(new LogMaskConfig());
+
+    // 最後に生成した設定とエンジン
+    private static volatile Configured configured;
+    // 公開中の設定に対応するエンジン
+    private static volatile SensitiveDataMasker current = DEFAULT;
+
+    static {
+        // 設定の公開・再読み込みのたびにエンジンを作り直す
+        ConfigManager.subscribe(LogMaskConfig.class, config -> current = of(config));
+    }
+
+    // 生成元の設定
+    private final LogMaskConfig config;
+    private final KeywordAutomaton automaton;
+    // キーワード番号ごとのパターン
+    private final SensitiveDataPattern[] kinds;
+    // JSONのトークン単位のマスキング
+    private final JsonStreamMasker json;
+
+    private SensitiveDataMasker(LogMaskConfig config) {
+        this.config = config;
+        List<String> keywords = new ArrayList<>();
+        List<SensitiveDataPattern> kindList = new ArrayList<>();
+        if (config.isEnablePasswordMasking()) {
+            for (String keyword : PASSWORD_KEYWORDS) {
+                keywords.add(keyword);
+                kindList.add(SensitiveDataPattern.PASSWORD);
+            }
+            for (String keyword : config.getCustomSensitiveKeywords()) {
+                // ASCII以外の文字（日本語等）を含むキーワードもオートマトンの列として扱う
+                if (keyword != null && !keyword.isBlank() && !keywords.contains(keyword.trim().toLowerCase())) {
+                    keywords.add(keyword.trim().toLowerCase());
+                    kindList.add(SensitiveDataPattern.PASSWORD);
+                }
+            }
+        }
+        if (config.isEnableEmailMasking()) {
+            keywords.add(EMAIL_TRIGGER);
+            kindList.add(SensitiveDataPattern.EMAIL);
+        }
+        if (config.isEnableJwtTokenMasking()) {
+            keywords.add(JWT_TRIGGER);
+            kindList.add(SensitiveDataPattern.JWT_TOKEN);
+        }
+        this.automaton = new KeywordAutomaton(keywords);
+        this.kinds = kindList.toArray(new SensitiveDataPattern[0]);
+        this.json = new JsonStreamMasker(this, config.getMaxJsonDepthForMasking(),
+                config.getMaxTextLengthForMasking());
+    }
+
+    /**
+     * すべてのパターンが有効な既定のエンジンを取得します。
+     *
+     * @return マスキングエンジン
+     */
+    public static SensitiveDataMasker getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 公開中の {@link LogMaskConfig} に対応するエンジンを取得します。
+     *
+     * @return マスキングエンジン。設定が未公開の場合は既定のエンジン
+     */
+    public static SensitiveDataMasker current() {
+        return current;
+    }
+
+    /**
+     * 設定に対応するエンジンを取得します。直前と同じ設定インスタンスの場合は生成済みのエンジンを返します。
+     *
+     * @param config マスキング設定
+     * @return マスキングエンジン
+     */
+    public static SensitiveDataMasker of(LogMaskConfig config) {
+        if (config == null) {
+            return DEFAULT;
+        }
+        Configured last = configured;
+        if (last != null && last.config() == config) {
+            return last.masker();
+        }
+        SensitiveDataMasker masker = new SensitiveDataMasker(config);
+        configured = new Configured(config, masker);
+        return masker;
+    }
+
+    /**
+     * エンジンの生成元の設定を取得します。
+     *
+     * @return マスキング設定
+     */
+    LogMaskConfig config() {
+        return config;
+    }
+
+    /**
+     * JSONのトークン単位のマスキングを取得します。
+     *
+     * @return JSONのマスキング
+     */
+    public JsonStreamMasker json() {
+        return json;
+    }
+
+    /**
+     * ログメッセージをマスキングします。
+     * JSONのオブジェクト・配列の形式の場合はトークン単位（{@link JsonStreamMasker}）、それ以外はテキストとしてマスキングします。
+     *
+     * @param message 元のメッセージ
+     * @return マスキング後のメッセージ。機密情報が含まれていない場合は元のインスタンス
+     */
+    public String maskMessage(String message) {
+        return JsonStreamMasker.isJsonFormat(message) ? json.mask(message) : mask(message);
+    }
+
+    /**
+     * ログメッセージをマスキングして追記します（{@link #maskMessage(String)} の追記版）。
+     *
+     * @param message 元のメッセージ
+     * @param out     出力先
+     * @return マスキングした場合はtrue
+     */
+    public boolean maskMessageTo(String message, StringBuilder out) {
+        if (message == null) {
+            return false;
+        }
+        if (JsonStreamMasker.isJsonFormat(message)) {
+            return json.maskTo(message, out);
+        }
+        return maskTo(message, 0, message.length(), out) > 0;
+    }
+
+    /**
+     * フィールド名・キー名が機密情報を表すか判定します。
+     * 名前がパスワード系キーワードと一致する場合、または単語の区切り（{@code _ - .} 等の記号、キャメルケースの大文字）から始まる
+     * キーワードで終わる場合（{@code accessToken}, {@code api_key}, {@code userPassword}）に機密情報とします。
+     * キーワードを途中に含むだけの名前（{@code keyword}, {@code tokenCount}, {@code passengerCount}）は対象外です。
+     *
+     * @param name フィールド名
+     * @return 機密情報を表す場合はtrue
+     */
+    public boolean isSensitiveName(CharSequence name) {
+        if (name == null) {
+            return false;
+        }
+        int length = name.length();
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            state = automaton.next(state, name.charAt(i));
+        }
+        int[] hits = length == 0 ? null : automaton.outputs(state);
+        if (hits != null) {
+            for (int id : hits) {
+                if (kinds[id] == SensitiveDataPattern.PASSWORD && isWordStart(name, length - automaton.length(id))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 名前の位置が単語の先頭か（名前の先頭、記号の直後、キャメルケースの大文字、ASCII以外の文字の境界）
+    private static boolean isWordStart(CharSequence name, int start) {
+        if (start == 0) {
+            return true;
+        }
+        char previous = name.charAt(start - 1);
+        char first = name.charAt(start);
+        if (!Character.isLetterOrDigit(previous) || previous >= 128 || first >= 128) {
+            return true;
+        }
+        return Character.isUpperCase(first) && !Character.isUpperCase(previous);
+    }
+
+    /**
+     * テキストに機密情報の候補（キーワード・「@」・{@code eyJ}）が含まれているかを確認します。
+     * 候補の位置での厳密な判定は行いません。
+     *
+     * @param text 確認対象のテキスト
+     * @return 候補が含まれている場合はtrue
+     */
+    boolean hasCandidate(CharSequence text) {
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = automaton.next(state, text.charAt(i));
+            if (automaton.outputs(state) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * テキストに機密情報が含まれているかを確認します。最初の検出で走査を終えます。
+     *
+     * @param text 確認対象のテキスト
+     * @return 機密情報が含まれている場合はtrue
+     */
+    public boolean containsSensitiveData(CharSequence text) {
+        return text != null && scan(text, 0, text.length(), null, null, true) > 0;
+    }
+
+    /**
+     * テキストに含まれる機密情報の種類を取得します。
+     *
+     * @param text 確認対象のテキスト
+     * @return 検出したパターン
+     */
+    public Set<SensitiveDataPattern> detect(CharSequence text) {
+        Set<SensitiveDataPattern> found = EnumSet.noneOf(SensitiveDataPattern.class);
+        if (text != null) {
+            scan(text, 0, text.length(), null, found, false);
+        }
+        return found;
+    }
+
+    /**
+     * テキストをマスキングします。
+     *
+     * @param text 元のテキスト
+     * @return マスキング後のテキスト。機密情報が含まれていない場合は元のインスタンス
+     */
+    public String mask(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        // 大半のテキストは機密情報を含まないため、検出するまで出力先を作成しない
+        if (scan(text, 0, text.length(), null, null, true) == 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        scan(text, 0, text.length(), out, null, false);
+        return out.toString();
+    }
+
+    /**
+     * テキストの指定範囲をマスキングして追記します。
+     *
+     * @param text 元のテキスト
+     * @param from 開始位置
+     * @param to   終了位置（この位置を含まない）
+     * @param out  出力先
+     * @return マスキングした箇所の数
+     */
+    public int maskTo(CharSequence text, int from, int to, StringBuilder out) {
+        int count = scan(text, from, to, out, null, false);
+        if (count == 0) {
+            out.append(text, from, to);
+        }
+        return count;
+    }
+
+    /**
+     * テキストを走査し、検出した機密情報を出力先にマスキングして書き込みます。
+     * 出力先は最初の検出時から書き込むため、検出がない場合は何も書き込みません。
+     *
+     * @return 検出した箇所の数
+     */
+    private int scan(CharSequence text, int from, int to, StringBuilder out, Set<SensitiveDataPattern> found,
+            boolean stopAtFirst) {
+        KeywordAutomaton automaton = this.automaton;
+        int count = 0;
+        // 出力済みの位置
+        int copied = from;
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = automaton.next(state, text.charAt(i));
+            int[] hits = automaton.outputs(state);
+            if (hits == null) {
+                continue;
+            }
+            for (int id : hits) {
+                int start = i - automaton.length(id) + 1;
+                if (start < copied) {
+                    continue;
+                }
+                SensitiveDataPattern kind = kinds[id];
+                int end = switch (kind) {
+                    case PASSWORD -> maskKeywordValue(text, i + 1, to, copied, out);
+                    case EMAIL -> maskEmail(text, i, to, copied, out);
+                    case JWT_TOKEN -> maskJwt(text, start, to, copied, out);
+                };
+                if (end < 0) {
+                    continue;
+                }
+                count++;
+                if (found != null) {
+                    found.add(kind);
+                }
+                if (out != null) {
+                    MaskingStatistics.recordPattern(kind);
+                }
+                if (stopAtFirst) {
+                    return count;
+                }
+                copied = end;
+                i = end - 1;
+                state = 0;
+                break;
+            }
+        }
+        if (out != null && count > 0) {
+            out.append(text, copied, to);
+        }
+        return count;
+    }
+
+    // ==================== 候補位置での判定とマスキング ====================
+
+    /**
+     * キーワードに続く値をマスキングします。
+     * {@code ["']? \s* [:=] \s* ["']? 値} の形式の場合、値を {@code ****} に置き換えます。
+     *
+     * @return 値の終了位置。該当しない場合は-1
+     */
+    private static int maskKeywordValue(CharSequence text, int pos, int to, int copied, StringBuilder out) {
+        // JSONのキーの閉じ引用符
+        if (pos < to && isQuote(text.charAt(pos))) {
+            pos++;
+        }
+        pos = skipSpaces(text, pos, to);
+        if (pos >= to || (text.charAt(pos) != ':' && text.charAt(pos) != '=')) {
+            return -1;
+        }
+        int valueStart = skipSpaces(text, pos + 1, to);
+        if (valueStart >= to) {
+            return -1;
+        }
+        char quote = text.charAt(valueStart);
+        int end;
+        boolean closed = false;
+        if (isQuote(quote)) {
+            end = quotedEnd(text, valueStart, to);
+            if (end > valueStart + 2) {
+                closed = true;
+            } else if (end > 0) {
+                // 空文字列はマスキングしない
+                return -1;
+            } else {
+                // 閉じ引用符がない場合は引用符の後を引用符なしの値として扱う
+                end = plainEnd(text, valueStart + 1, to);
+                if (end == valueStart + 1) {
+                    return -1;
+                }
+            }
+        } else {
+            end = plainEnd(text, valueStart, to);
+            if (end == valueStart) {
+                return -1;
+            }
+        }
+        if (out != null) {
+            out.append(text, copied, valueStart);
+            if (isQuote(quote)) {
+                out.append(quote).append(MASK);
+                if (closed) {
+                    out.append(quote);
+                }
+            } else {
+                out.append(MASK);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 「@」の前後のメールアドレスをマスキングします（先頭2文字とドメインを保持）。
+     *
+     * @return メールアドレスの終了位置。該当しない場合は-1
+     */
+    private static int maskEmail(CharSequence text, int at, int to, int copied, StringBuilder out) {
+        int start = at;
+        while (start > copied && isEmailLocal(text.charAt(start - 1))) {
+            start--;
+        }
+        if (start == at) {
+            return -1;
+        }
+        int domainEnd = at + 1;
+        while (domainEnd < to && isEmailDomain(text.charAt(domainEnd))) {
+            domainEnd++;
+        }
+        // 英字2文字以上のトップレベルドメインで終わる最長の位置
+        for (int dot = domainEnd - 1; dot > at + 1; dot--) {
+            if (text.charAt(dot) != '.') {
+                continue;
+            }
+            int end = dot + 1;
+            while (end < domainEnd && isAsciiLetter(text.charAt(end))) {
+                end++;
+            }
+            if (end - dot - 1 < 2) {
+                continue;
+            }
+            if (out != null) {
+                out.append(text, copied, start);
+                if (at - start > 2) {
+                    out.append(text, start, start + 2).append(MASK).append(text, at, end);
+                } else {
+                    out.append("****@****.com");
+                }
+            }
+            return end;
+        }
+        return -1;
+    }
+
+    /**
+     * {@code eyJ} で始まるJWTをマスキングします（前後8文字ずつを保持）。
+     *
+     * @return トークンの終了位置。該当しない場合は-1
+     */
+    private static int maskJwt(CharSequence text, int start, int to, int copied, StringBuilder out) {
+        // オートマトンは大文字・小文字を区別しないため、ここで区別する
+        if (text.charAt(start) != 'e' || text.charAt(start + 1) != 'y' || text.charAt(start + 2) != 'J') {
+            return -1;
+        }
+        if (start > 0 && isJwtChar(text.charAt(start - 1))) {
+            return -1;
+        }
+        int end = start;
+        for (int segment = 0; segment < 3; segment++) {
+            int segmentStart = end;
+            while (end < to && isJwtChar(text.charAt(end))) {
+                end++;
+            }
+            if (segment < 2) {
+                if (end == segmentStart || end >= to || text.charAt(end) != '.') {
+                    return -1;
+                }
+                end++;
+            }
+        }
+        if (out != null) {
+            out.append(text, copied, start);
+            if (end - start > 16) {
+                out.append(text, start, start + 8).append("......").append(text, end - 8, end);
+            } else {
+                out.append("******.******.******");
+            }
+        }
+        return end;
+    }
+
+    // ==================== 文字種の判定 ====================
+
+    // 引用符で囲まれた値の終了位置（閉じ引用符の次）。閉じ引用符がない場合は-1
+    private static int quotedEnd(CharSequence text, int quoteAt, int to) {
+        char quote = text.charAt(quoteAt);
+        for (int i = quoteAt + 1; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n' || c == '\r') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // 引用符なしの値の終了位置
+    private static int plainEnd(CharSequence text, int pos, int to) {
+        while (pos < to) {
+            char c = text.charAt(pos);
+            if (Character.isWhitespace(c) || c == '"' || c == '\'' || c == ',' || c == '}') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSpaces(CharSequence text, int pos, int to) {
+        while (pos < to && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiAlnum(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isEmailLocal(char c) {
+        return isAsciiAlnum(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isEmailDomain(char c) {
+        return isAsciiAlnum(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isJwtChar(char c) {
+        return isAsciiAlnum(c) || c == '-' || c == '_';
+    }
+
+    // 設定とそれに対応するエンジン
+    private record Configured(LogMaskConfig config, SensitiveDataMasker masker) {
+    }
+}
@@ -2,10 +2,11 @@ package com.collaboportal.common.model;
 
 /**
  * メンテナンスフラグを管理するクラス
+ * フラグの変更は {@link MaintenanceMode} の状態遷移として反映される
  */
 public class MaintenanceBody {
     // メンテナンスフラグ（デフォルト値: "0"）
-    private static String mentFlg= "0";
+    private static volatile String mentFlg= "0";
 
     /**
      * メンテナンスフラグを取得する
@@ -21,6 +22,8 @@ public class MaintenanceBody {
      */
     public static void setMentFlg(String Flg) {
         MaintenanceBody.mentFlg = Flg;
+        // 状態が変わる場合のみ、インデックスページ・コールバックURLを計算し直す
+        MaintenanceMode.transitionTo(MaintenanceMode.Phase.of(Flg));
     }
 
 }
@@ -0,0 +1,167 @@
+package com.collaboportal.common.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.config.CommonConfig;
+
+/**
+ * メンテナンスモードの状態管理クラス
+ * 通常運用（{@link Phase#NORMAL}）とメンテナンス中（{@link Phase#MAINTENANCE}）の2状態を持ち、
+ * 状態の遷移は {@link #transitionTo(Phase)} でのみ行います。
+ * インデックスページとコールバックURLは、遷移時と {@link CommonConfig} の公開時に状態ごとに事前計算するため、
+ * リクエスト処理中は {@link #current()} で取得した状態を参照するだけで文字列の加工は行いません。
+ */
+public final class MaintenanceMode {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceMode.class);
+
+    // メンテナンス中に使用するポート
+    private static final String MAINTENANCE_PORT = ":442";
+    // コールバックのパス
+    private static final String CALLBACK_PATH = "/auth/callback";
+
+    /**
+     * メンテナンスモードの状態
+     */
+    public enum Phase {
+        /** 通常運用 */
+        NORMAL,
+        /** メンテナンス中 */
+        MAINTENANCE;
+
+        /**
+         * メンテナンスフラグに対応する状態を取得します。
+         *
+         * @param mentFlg メンテナンスフラグ（"1"の場合はメンテナンス中）
+         * @return 状態
+         */
+        public static Phase of(String mentFlg) {
+            return "1".equals(mentFlg) ? MAINTENANCE : NORMAL;
+        }
+    }
+
+    // 現在の状態（遷移・設定の公開時に差し替える）
+    private static final AtomicReference<State> STATE = new AtomicReference<>();
+
+    static {
+        // 設定の公開・再読み込みのたびに、現在の状態のURLを計算し直す
+        ConfigManager.subscribe(CommonConfig.class,
+                config -> STATE.updateAndGet(state -> State.build(state != null ? state.phase : Phase.NORMAL, config)));
+    }
+
+    // インスタンス化防止
+    private MaintenanceMode() {
+    }
+
+    /**
+     * 現在の状態を取得します。
+     *
+     * @return 現在の状態
+     */
+    public static State current() {
+        State state = STATE.get();
+        if (state == null) {
+            // 設定が未公開の場合は作成して公開する（購読により状態が作成される）
+            CommonConfig config = ConfigManager.getConfig();
+            state = STATE.updateAndGet(s -> s != null ? s : State.build(Phase.NORMAL, config));
+        }
+        return state;
+    }
+
+    /**
+     * 指定した状態に遷移します。同じ状態への遷移は何も行いません。
+     *
+     * @param phase 遷移先の状態
+     * @return 遷移した場合はtrue
+     */
+    public static boolean transitionTo(Phase phase) {
+        State previous = current();
+        while (previous.phase != phase) {
+            State next = State.build(phase, previous.config);
+            if (STATE.compareAndSet(previous, next)) {
+                if (phase == Phase.MAINTENANCE) {
+                    logger.info("メンテナンスモードが有効になりました。インデックスページ: {}", next.indexPage);
+                } else {
+                    logger.info("メンテナンスモードが無効になりました。インデックスページ: {}", next.indexPage);
+                }
+                return true;
+            }
+            previous = STATE.get();
+        }
+        return false;
+    }
+
+    /**
+     * メンテナンスモードの状態と、状態ごとに事前計算したURL
+     */
+    public static final class State {
+
+        private final Phase phase;
+        private final CommonConfig config;
+        private final String indexPage;
+        private final String callbackUrl;
+
+        private State(Phase phase, CommonConfig config, String indexPage, String callbackUrl) {
+            this.phase = phase;
+            this.config = config;
+            this.indexPage = indexPage;
+            this.callbackUrl = callbackUrl;
+        }
+
+        // 設定から状態ごとのURLを計算する
+        private static State build(Phase phase, CommonConfig config) {
+            boolean maintenance = phase == Phase.MAINTENANCE;
+            String indexPage = config.getIndexPage();
+            if (indexPage != null) {
+                // 通常時はポート指定を除き、メンテナンス中は「com」で終わる場合のみポートを付与する
+                indexPage = indexPage.replace(MAINTENANCE_PORT, "");
+                if (maintenance && indexPage.endsWith("com")) {
+                    indexPage = indexPage + MAINTENANCE_PORT;
+                }
+            }
+            String callbackUrl = config.getCollaboportalBaseurl() + (maintenance ? MAINTENANCE_PORT : "")
+                    + CALLBACK_PATH;
+            return new State(phase, config, indexPage, callbackUrl);
+        }
+
+        /**
+         * 状態を取得します。
+         *
+         * @return 状態
+         */
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * メンテナンス中か判定します。
+         *
+         * @return メンテナンス中の場合はtrue
+         */
+        public boolean isMaintenance() {
+            return phase == Phase.MAINTENANCE;
+        }
+
+        /**
+         * 状態に応じたインデックスページを取得します。
+         *
+         * @return インデックスページのURL
+         */
+        public String getIndexPage() {
+            return indexPage;
+        }
+
+        /**
+         * 状態に応じたコールバックURLを取得します。
+         *
+         * @return コールバックURL
+         */
+        public String getCallbackUrl() {
+            return callbackUrl;
+        }
+    }
+}
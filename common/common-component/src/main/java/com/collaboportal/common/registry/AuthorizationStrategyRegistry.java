@@ -5,20 +5,72 @@ import org.springframework.stereotype.Component;
 import com.collaboportal.common.strategy.authorization.AuthorizationStrategy;
 
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 //Filter从层面
 @Component
 public class AuthorizationStrategyRegistry {
 
-    private final Map<String, AuthorizationStrategy> strategies = new ConcurrentHashMap<>();
+    /** 認証戦略Bean名の接尾辞（例: "oauth2AuthStrategy" → タイプ "oauth2"） */
+    public static final String BEAN_NAME_SUFFIX = "AuthStrategy";
+
+    // 認証タイプと戦略のマップ（起動時に確定し、以降は変更しない）
+    private final Map<String, AuthorizationStrategy> strategies;
 
     public AuthorizationStrategyRegistry(Map<String, AuthorizationStrategy> strategyMap) {
-        this.strategies.putAll(strategyMap);
+        // Bean名の接尾辞を除いた認証タイプをキーとし、リクエストごとの文字列連結を不要にする
+        Map<String, AuthorizationStrategy> byType = new HashMap<>();
+        strategyMap.forEach((beanName, strategy) -> {
+            if (beanName.endsWith(BEAN_NAME_SUFFIX)) {
+                byType.put(beanName.substring(0, beanName.length() - BEAN_NAME_SUFFIX.length()), strategy);
+            }
+        });
+        this.strategies = Collections.unmodifiableMap(byType);
     }
 
+    /**
+     * 認証タイプに対応する戦略を取得します。
+     *
+     * @param type 認証タイプ（例: "oauth2", "database"）
+     * @return 認証戦略。未登録の場合はnull
+     */
     public AuthorizationStrategy getStrategy(String type) {
-        return strategies.get(type + "AuthStrategy");
+        return type == null ? null : strategies.get(type);
+    }
+
+    /**
+     * 認証タイプに対応する戦略を取得します。未登録の場合は例外を送出します。
+     *
+     * @param type 認証タイプ
+     * @return 認証戦略
+     * @throws IllegalArgumentException 未登録の認証タイプの場合
+     */
+    public AuthorizationStrategy requireStrategy(String type) {
+        AuthorizationStrategy strategy = getStrategy(type);
+        if (strategy == null) {
+            throw new IllegalArgumentException("サポートされていない認証タイプ: " + type + " (登録済み: " + strategies.keySet() + ")");
+        }
+        return strategy;
+    }
+
+    /**
+     * 登録済みの認証タイプを取得します。
+     *
+     * @return 認証タイプの集合
+     */
+    public Set<String> getTypes() {
+        return strategies.keySet();
+    }
+
+    /**
+     * 登録済みの戦略をすべて取得します。
+     *
+     * @return 認証タイプと戦略の不変マップ
+     */
+    public Map<String, AuthorizationStrategy> getStrategies() {
+        return strategies;
     }
 }
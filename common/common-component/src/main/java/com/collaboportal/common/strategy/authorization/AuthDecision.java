@@ -0,0 +1,123 @@
+package com.collaboportal.common.strategy.authorization;
+
+/**
+ * 認証判定結果
+ * 認証戦略は失敗を例外で通知する代わりにこの型を返し、
+ * フィルターやインターセプターが結果に応じてレスポンスを生成します。
+ *
+ * <ul>
+ * <li>{@link Allow} : 認証成功。後続処理へ進む</li>
+ * <li>{@link Redirect} : 認証ページ等へリダイレクトする</li>
+ * <li>{@link Reject} : 指定ステータスでリクエストを拒否する</li>
+ * <li>{@link Challenge} : WWW-Authenticate ヘッダー付きの401で認証を要求する</li>
+ * </ul>
+ */
+public sealed interface AuthDecision {
+
+    /**
+     * 認証成功の判定結果を返します。
+     *
+     * @return 認証成功（共有インスタンス）
+     */
+    static AuthDecision allow() {
+        return Allow.INSTANCE;
+    }
+
+    /**
+     * リダイレクトの判定結果を生成します。
+     *
+     * @param location リダイレクト先URL
+     * @return リダイレクト
+     */
+    static AuthDecision redirect(String location) {
+        return new Redirect(location);
+    }
+
+    /**
+     * 拒否の判定結果を生成します。
+     *
+     * @param status  HTTPステータス
+     * @param message エラーメッセージ
+     * @return 拒否
+     */
+    static AuthDecision reject(int status, String message) {
+        return new Reject(status, message);
+    }
+
+    /**
+     * 401拒否の判定結果を生成します。
+     *
+     * @param message エラーメッセージ
+     * @return 拒否
+     */
+    static AuthDecision unauthorized(String message) {
+        return new Reject(401, message);
+    }
+
+    /**
+     * 認証要求の判定結果を生成します。
+     *
+     * @param authenticate WWW-Authenticate ヘッダー値（例: {@code Bearer realm="api"}）
+     * @param message      エラーメッセージ
+     * @return 認証要求
+     */
+    static AuthDecision challenge(String authenticate, String message) {
+        return new Challenge(authenticate, message);
+    }
+
+    /**
+     * 後続処理へ進んでよいか判定します。
+     *
+     * @return 認証成功の場合はtrue
+     */
+    default boolean isAllowed() {
+        return false;
+    }
+
+    /**
+     * 認証成功
+     */
+    final class Allow implements AuthDecision {
+
+        private static final Allow INSTANCE = new Allow();
+
+        private Allow() {
+        }
+
+        @Override
+        public boolean isAllowed() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "Allow";
+        }
+    }
+
+    /**
+     * リダイレクト
+     *
+     * @param location リダイレクト先URL
+     */
+    record Redirect(String location) implements AuthDecision {
+    }
+
+    /**
+     * 拒否
+     *
+     * @param status  HTTPステータス
+     * @param message エラーメッセージ
+     */
+    record Reject(int status, String message) implements AuthDecision {
+    }
+
+    /**
+     * 認証要求
+     *
+     * @param authenticate WWW-Authenticate ヘッダー値
+     * @param message      エラーメッセージ
+     */
+    record Challenge(String authenticate, String message) implements AuthDecision {
+    }
+}
@@ -0,0 +1,36 @@
+package com.collaboportal.common.strategy.authorization;
+
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.exception.AuthenticationException;
+
+/**
+ * 判定結果を返す認証戦略
+ * 失敗時に例外を送出せず {@link AuthDecision} を返します。
+ * 従来の {@link AuthorizationStrategy#authenticate} 呼び出しに対しては、
+ * 判定結果をレスポンスへ反映（リダイレクト）または例外へ変換して互換動作を提供します。
+ */
+@FunctionalInterface
+public interface AuthDecisionStrategy extends AuthorizationStrategy {
+
+    @Override
+    AuthDecision decide(BaseRequest req, BaseResponse resp);
+
+    /**
+     * 従来の呼び出し方式との互換実装
+     * リダイレクトはレスポンスへ直接書き込み、拒否と認証要求は {@link AuthenticationException} に変換します。
+     */
+    @Override
+    default void authenticate(BaseRequest req, BaseResponse resp) throws AuthenticationException {
+        AuthDecision decision = decide(req, resp);
+        if (decision instanceof AuthDecision.Redirect redirect) {
+            resp.redirect(redirect.location());
+            resp.flush();
+        } else if (decision instanceof AuthDecision.Reject reject) {
+            throw new AuthenticationException(reject.message());
+        } else if (decision instanceof AuthDecision.Challenge challenge) {
+            resp.setHeader("WWW-Authenticate", challenge.authenticate());
+            throw new AuthenticationException(challenge.message());
+        }
+    }
+}
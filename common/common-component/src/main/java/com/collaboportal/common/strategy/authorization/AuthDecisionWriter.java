@@ -0,0 +1,52 @@
+package com.collaboportal.common.strategy.authorization;
+
+import java.io.IOException;
+
+import com.collaboportal.common.model.ErrorResponseBody;
+import com.collaboportal.common.utils.Message;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 認証判定結果をサーブレットレスポンスへ書き込むユーティリティ
+ * フィルターとインターセプターで共通のレスポンス形式を提供します。
+ */
+public class AuthDecisionWriter {
+
+    // JSON変換用（スレッドセーフ）
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private AuthDecisionWriter() {
+    }
+
+    /**
+     * 拒否系の判定結果をレスポンスへ書き込みます。
+     * {@link AuthDecision.Allow} の場合は何もしません。
+     *
+     * @param decision 判定結果
+     * @param response サーブレットレスポンス
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(AuthDecision decision, HttpServletResponse response) throws IOException {
+        if (decision instanceof AuthDecision.Redirect redirect) {
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader("Location", redirect.location());
+        } else if (decision instanceof AuthDecision.Reject reject) {
+            writeError(response, reject.status(), reject.message());
+        } else if (decision instanceof AuthDecision.Challenge challenge) {
+            response.setHeader("WWW-Authenticate", challenge.authenticate());
+            writeError(response, HttpServletResponse.SC_UNAUTHORIZED, challenge.message());
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        if (response.getContentType() == null) {
+            response.setContentType("application/json;charset=UTF-8");
+        }
+        ErrorResponseBody body = new ErrorResponseBody(Integer.toString(status),
+                message != null ? message : Message.W401, Message.ERROR_LEVEL_WARNING);
+        response.getWriter().print(OBJECT_MAPPER.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,183 @@
+package com.collaboportal.common.strategy.authorization;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.collaboportal.common.Router.RouteRules;
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.registry.AuthorizationStrategyRegistry;
+import com.collaboportal.common.utils.Message;
+
+/**
+ * 認証戦略ディスパッチャー
+ * 起動時にルートパターンと認証タイプの対応表をコンパイルし、認証タイプを解決済みの戦略インスタンスに置き換えます。
+ * リクエストごとの戦略選択はヘッダー値のマップ参照、またはルート評価1回で完了し、文字列の組み立ては行いません。
+ *
+ * <p>解決順序は以下の通りです。</p>
+ * <ol>
+ * <li>上書きヘッダー（デフォルト {@code Authorization-Type}）が指定されている場合、その認証タイプの戦略</li>
+ * <li>宣言順で最初にマッチしたルートの戦略</li>
+ * <li>デフォルトの戦略</li>
+ * </ol>
+ *
+ * <p>存在しない認証タイプは起動時に {@link IllegalStateException} となり、
+ * リクエスト時に未知の認証タイプがヘッダーで指定された場合は400拒否、戦略を解決できない場合は401拒否の判定結果を返します。</p>
+ */
+public final class AuthStrategyDispatcher implements AuthDecisionStrategy {
+
+    /** デフォルトの上書きヘッダー名 */
+    public static final String DEFAULT_OVERRIDE_HEADER = "Authorization-Type";
+
+    // 上書きヘッダー名（nullの場合はヘッダーによる上書きを行わない）
+    private final String overrideHeader;
+
+    // ヘッダー値と戦略の対応表
+    private final Map<String, AuthorizationStrategy> byType;
+
+    // ルートと戦略の対応表
+    private final RouteRules<AuthorizationStrategy> routes;
+
+    private AuthStrategyDispatcher(String overrideHeader, Map<String, AuthorizationStrategy> byType,
+            RouteRules<AuthorizationStrategy> routes) {
+        this.overrideHeader = overrideHeader;
+        this.byType = byType;
+        this.routes = routes;
+    }
+
+    /**
+     * ビルダーを生成します。
+     *
+     * @param registry 認証戦略レジストリ
+     * @return ビルダー
+     */
+    public static Builder builder(AuthorizationStrategyRegistry registry) {
+        return new Builder(registry);
+    }
+
+    /**
+     * リクエストに対応する認証戦略を選択し、判定結果を返します。
+     * 対象の戦略が解決できない場合（デフォルトの戦略が未設定の場合）は、認証なしで通さず401拒否とします。
+     */
+    @Override
+    public AuthDecision decide(BaseRequest req, BaseResponse resp) {
+        if (overrideHeader != null) {
+            String type = req.getHeader(overrideHeader);
+            if (type != null && !type.isEmpty()) {
+                AuthorizationStrategy strategy = byType.get(type);
+                if (strategy == null) {
+                    return AuthDecision.reject(400, "サポートされていない認証タイプ: " + type);
+                }
+                return strategy.decide(req, resp);
+            }
+        }
+        AuthorizationStrategy strategy = routes.resolve(req.getMethod(), req.getRequestPath());
+        return strategy == null ? AuthDecision.unauthorized(Message.W401) : strategy.decide(req, resp);
+    }
+
+    /**
+     * パスに対応する認証戦略を取得します（ヘッダーによる上書きは考慮しません）。
+     *
+     * @param method HTTPメソッド
+     * @param path   リクエストパス
+     * @return 認証戦略。対象外の場合はnull
+     */
+    public AuthorizationStrategy resolve(String method, String path) {
+        return routes.resolve(method, path);
+    }
+
+    /**
+     * 認証タイプに対応する認証戦略を取得します。
+     *
+     * @param type 認証タイプ
+     * @return 認証戦略。未登録の場合はnull
+     */
+    public AuthorizationStrategy resolveType(String type) {
+        return type == null ? null : byType.get(type);
+    }
+
+    /**
+     * 認証戦略ディスパッチャーのビルダー
+     */
+    public static final class Builder {
+
+        private final AuthorizationStrategyRegistry registry;
+        private final RouteRules.Builder<AuthorizationStrategy> rules = RouteRules.builder();
+        private String overrideHeader = DEFAULT_OVERRIDE_HEADER;
+
+        private Builder(AuthorizationStrategyRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * パスパターンに認証タイプを割り当てます。宣言順に評価されます。
+         *
+         * @param type     認証タイプ
+         * @param patterns ルートパターン
+         * @return このビルダー
+         * @throws IllegalStateException 認証タイプが未登録の場合
+         */
+        public Builder route(String type, String... patterns) {
+            return route(type, Arrays.asList(patterns));
+        }
+
+        /**
+         * パスパターンに認証タイプを割り当てます。宣言順に評価されます。
+         *
+         * @param type     認証タイプ
+         * @param patterns ルートパターン
+         * @return このビルダー
+         * @throws IllegalStateException 認証タイプが未登録の場合
+         */
+        public Builder route(String type, List<String> patterns) {
+            if (patterns == null || patterns.isEmpty()) {
+                return this;
+            }
+            rules.rule().match(patterns).then(require(type));
+            return this;
+        }
+
+        /**
+         * どのルートにもマッチしない場合の認証タイプを設定します。
+         *
+         * @param type 認証タイプ（nullの場合はどのルートにもマッチしないリクエストを401拒否とする）
+         * @return このビルダー
+         * @throws IllegalStateException 認証タイプが未登録の場合
+         */
+        public Builder defaultType(String type) {
+            rules.otherwise(type == null || type.isEmpty() ? null : require(type));
+            return this;
+        }
+
+        /**
+         * 上書きヘッダー名を設定します。
+         *
+         * @param header ヘッダー名（nullの場合はヘッダーによる上書きを無効化）
+         * @return このビルダー
+         */
+        public Builder overrideHeader(String header) {
+            this.overrideHeader = header;
+            return this;
+        }
+
+        /**
+         * 対応表を凍結してディスパッチャーを生成します。
+         *
+         * @return ディスパッチャー
+         */
+        public AuthStrategyDispatcher build() {
+            return new AuthStrategyDispatcher(overrideHeader, new HashMap<>(registry.getStrategies()), rules.build());
+        }
+
+        private AuthorizationStrategy require(String type) {
+            AuthorizationStrategy strategy = registry.getStrategy(type);
+            if (strategy == null) {
+                throw new IllegalStateException(
+                        "未登録の認証タイプがルートに指定されています: " + type + " (登録済み: " + registry.getTypes() + ")");
+            }
+            return strategy;
+        }
+    }
+}
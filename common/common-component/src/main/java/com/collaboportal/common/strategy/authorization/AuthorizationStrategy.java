@@ -7,4 +7,23 @@ import com.collaboportal.common.exception.AuthenticationException;
 @FunctionalInterface
 public interface AuthorizationStrategy {
     void authenticate(BaseRequest req, BaseResponse resp) throws AuthenticationException;
+
+    /**
+     * 認証を行い、判定結果を返します。
+     * 例外で失敗を通知する従来の戦略向けのアダプター実装で、
+     * {@link AuthenticationException} を401拒否に変換します。
+     * 例外を使わない戦略は {@link AuthDecisionStrategy} を実装してください。
+     *
+     * @param req  リクエスト
+     * @param resp レスポンス
+     * @return 判定結果
+     */
+    default AuthDecision decide(BaseRequest req, BaseResponse resp) {
+        try {
+            authenticate(req, resp);
+            return AuthDecision.allow();
+        } catch (AuthenticationException e) {
+            return AuthDecision.unauthorized(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,211 @@
+package com.collaboportal.common.trace;
+
+import java.util.Arrays;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.CommonContext;
+import com.collaboportal.common.context.web.AttributeSlots;
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * リクエスト単位の処理段階ごとの処理時間
+ * 段階（{@link TimingStage}）のインデックスを添字とする配列でナノ秒の処理時間を保持し、
+ * 記録と同時に段階ごとのヒストグラムにも加算します。
+ * 記録した処理時間は {@link #toServerTiming()} で {@code Server-Timing} ヘッダーの値として出力できます。
+ *
+ * <p>リクエストの処理中でない場合（{@link #current()} で取得できない場合）もヒストグラムへの記録は行われます。
+ * コンテキストの伝播（{@link com.collaboportal.common.context.ContextSnapshot}）により別スレッドからも記録されるため、
+ * 段階ごとの配列の読み書きはインスタンスのロックで直列化します（1リクエストあたり数回で、通常は競合しません）。</p>
+ *
+ * <pre>
+ * RequestTimings timings = RequestTimings.current();
+ * long start = System.nanoTime();
+ * ...
+ * timings.record(STAGE, System.nanoTime() - start);
+ * </pre>
+ */
+public final class RequestTimings {
+
+    // リクエストに紐付かない記録（ヒストグラムのみに加算する）
+    private static final RequestTimings DETACHED = new RequestTimings(false);
+
+    private final boolean attached;
+    // 段階ごとの処理時間の合計（未記録は0）
+    private long[] durations;
+    // 段階ごとの開始時刻（計測中でない場合は0）
+    private long[] starts;
+
+    private RequestTimings(boolean attached) {
+        this.attached = attached;
+        if (attached) {
+            int size = Math.max(TimingStage.count(), 8);
+            this.durations = new long[size];
+            this.starts = new long[size];
+        }
+    }
+
+    /**
+     * リクエストの処理時間を取得します。未作成の場合は作成してリクエストに保存します。
+     *
+     * @param request リクエスト
+     * @return 処理時間
+     */
+    public static RequestTimings of(HttpServletRequest request) {
+        AttributeSlots slots = AttributeSlots.of(request);
+        RequestTimings timings = slots.get(CommonAttributeKeys.REQUEST_TIMINGS);
+        if (timings == null) {
+            // 伝播先のスレッドと同時に作成した場合も1つのインスタンスを共有する
+            synchronized (slots) {
+                timings = slots.get(CommonAttributeKeys.REQUEST_TIMINGS);
+                if (timings == null) {
+                    timings = new RequestTimings(true);
+                    slots.set(CommonAttributeKeys.REQUEST_TIMINGS, timings);
+                }
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * 現在のスレッドに束縛されたリクエストの処理時間を取得します。
+     *
+     * @return 処理時間。リクエストの処理中でない場合はヒストグラムのみに記録するインスタンス
+     */
+    public static RequestTimings current() {
+        CommonContext context = ConfigManager.peekCommonContext();
+        if (context != null) {
+            BaseRequest request = context.getRequest();
+            if (request != null && request.getSource() instanceof HttpServletRequest servletRequest) {
+                return of(servletRequest);
+            }
+        }
+        return DETACHED;
+    }
+
+    /**
+     * 段階の計測を開始します。
+     *
+     * @param stage 処理段階
+     * @return 開始時刻（{@link System#nanoTime()}）
+     */
+    public long begin(TimingStage stage) {
+        long start = System.nanoTime();
+        if (attached) {
+            synchronized (this) {
+                ensureCapacity(stage.getIndex());
+                starts[stage.getIndex()] = start;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * {@link #begin(TimingStage)} で開始した段階の計測を終了して記録します。
+     *
+     * @param stage 処理段階
+     * @param start 開始時刻
+     */
+    public void end(TimingStage stage, long start) {
+        if (attached) {
+            synchronized (this) {
+                if (stage.getIndex() < starts.length) {
+                    starts[stage.getIndex()] = 0L;
+                }
+            }
+        }
+        record(stage, System.nanoTime() - start);
+    }
+
+    /**
+     * 段階の処理時間を記録します。同じ段階を複数回記録した場合は合計します。
+     *
+     * @param stage 処理段階
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void record(TimingStage stage, long nanos) {
+        stage.getHistogram().record(nanos);
+        if (attached) {
+            synchronized (this) {
+                ensureCapacity(stage.getIndex());
+                durations[stage.getIndex()] += nanos;
+            }
+        }
+    }
+
+    /**
+     * 記録済みの段階の処理時間を取得します。
+     *
+     * @param stage 処理段階
+     * @return 処理時間（ナノ秒）。未記録の場合は0
+     */
+    public long getDuration(TimingStage stage) {
+        if (!attached) {
+            return 0L;
+        }
+        synchronized (this) {
+            return stage.getIndex() < durations.length ? durations[stage.getIndex()] : 0L;
+        }
+    }
+
+    /**
+     * {@code Server-Timing} ヘッダーの値を作成します。
+     * 計測中の段階は現在までの経過時間を出力します。
+     *
+     * @return ヘッダーの値（例: {@code ctx;dur=0.012, auth;dur=1.204}）。記録がない場合は空文字
+     */
+    public String toServerTiming() {
+        if (!attached) {
+            return "";
+        }
+        long now = System.nanoTime();
+        StringBuilder sb = new StringBuilder(128);
+        synchronized (this) {
+            appendServerTiming(sb, now);
+        }
+        return sb.toString();
+    }
+
+    // 記録済みの段階を追記する（ロック内で呼び出す）
+    private void appendServerTiming(StringBuilder sb, long now) {
+        for (int i = 0; i < durations.length; i++) {
+            long nanos = durations[i];
+            if (starts[i] != 0L) {
+                nanos += now - starts[i];
+            }
+            if (nanos == 0L && starts[i] == 0L) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(TimingStage.byIndex(i).getName()).append(";dur=");
+            appendMillis(sb, nanos);
+        }
+    }
+
+    // ナノ秒をミリ秒（小数点以下3桁）で追記する
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        long micros = Math.max(nanos, 0L) / 1_000L;
+        sb.append(micros / 1_000L).append('.');
+        long fraction = micros % 1_000L;
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    // 配列の生成後に登録された段階の場合のみ拡張する（ロック内で呼び出す）
+    private void ensureCapacity(int index) {
+        if (index >= durations.length) {
+            int size = Math.max(index + 1, TimingStage.count());
+            durations = Arrays.copyOf(durations, size);
+            starts = Arrays.copyOf(starts, size);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.collaboportal.common.trace;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * {@code Server-Timing} ヘッダーを付与するレスポンスラッパー
+ * ヘッダーはレスポンスのコミット前にしか設定できないため、ボディの書き込み開始・フラッシュ・エラー応答・リダイレクトの
+ * 直前にその時点までの処理時間を設定します。ボディを書き込まなかった場合は {@link #addServerTiming()} で設定してください。
+ */
+public class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    /** Server-Timingヘッダー名 */
+    public static final String HEADER = "Server-Timing";
+
+    private final RequestTimings timings;
+    private boolean added;
+
+    /**
+     * コンストラクタ
+     *
+     * @param response レスポンス
+     * @param timings  リクエストの処理時間
+     */
+    public ServerTimingResponseWrapper(HttpServletResponse response, RequestTimings timings) {
+        super(response);
+        this.timings = timings;
+    }
+
+    /**
+     * 未設定かつ未コミットの場合に {@code Server-Timing} ヘッダーを設定します。
+     */
+    public void addServerTiming() {
+        if (added || isCommitted()) {
+            return;
+        }
+        added = true;
+        String value = timings.toServerTiming();
+        if (!value.isEmpty()) {
+            setHeader(HEADER, value);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        addServerTiming();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        addServerTiming();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        addServerTiming();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        addServerTiming();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        addServerTiming();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        addServerTiming();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,140 @@
+package com.collaboportal.common.trace;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.collaboportal.common.utils.LatencyHistogram;
+
+/**
+ * 計測対象の処理段階
+ * 段階は名前ごとに1度だけ登録され、登録順に連番のインデックスと処理時間のヒストグラムが割り当てられます。
+ * 名前は {@code Server-Timing} ヘッダーのメトリクス名としてそのまま出力されるため、英数字と「-」「_」のみを使用してください。
+ *
+ * <p>段階は {@code static final} フィールドとして定義し、リクエストごとに生成しないでください。</p>
+ */
+public final class TimingStage {
+
+    // 登録済みの段階（名前 → 段階）
+    private static final Map<String, TimingStage> REGISTRY = new ConcurrentHashMap<>();
+    // 登録順の段階
+    private static final List<TimingStage> STAGES = new CopyOnWriteArrayList<>();
+
+    /** 要求全体（コンテキスト束縛フィルターの入口から出口まで） */
+    public static final TimingStage TOTAL = of("total");
+    /** リクエストコンテキストの束縛 */
+    public static final TimingStage CONTEXT_BINDING = of("ctx");
+    /** メンテナンスモードの判定 */
+    public static final TimingStage MAINTENANCE = of("maint");
+    /** 認証の前処理（beforeAuth） */
+    public static final TimingStage BEFORE_AUTH = of("before-auth");
+    /** 認証戦略の実行 */
+    public static final TimingStage AUTHENTICATE = of("auth");
+    /** 認証後の後続処理（コントローラー） */
+    public static final TimingStage CONTROLLER = of("app");
+
+    private final String name;
+    private final int index;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private TimingStage(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * 段階を登録して取得します。登録済みの場合は既存の段階を返します。
+     *
+     * @param name 段階の名前
+     * @return 処理段階
+     */
+    public static TimingStage of(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("処理段階の名前は必須です");
+        }
+        return REGISTRY.computeIfAbsent(name, n -> {
+            synchronized (STAGES) {
+                TimingStage stage = new TimingStage(n, STAGES.size());
+                STAGES.add(stage);
+                return stage;
+            }
+        });
+    }
+
+    /**
+     * 登録済みの段階数を取得します。
+     *
+     * @return 段階数
+     */
+    static int count() {
+        return STAGES.size();
+    }
+
+    /**
+     * インデックスに対応する段階を取得します。
+     *
+     * @param index インデックス
+     * @return 処理段階
+     */
+    static TimingStage byIndex(int index) {
+        return STAGES.get(index);
+    }
+
+    /**
+     * 全段階の処理時間の統計情報を取得します。
+     *
+     * @return 段階名と統計情報（件数・平均・p50・p90・p99・最大値、マイクロ秒）のマップ
+     */
+    public static Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (TimingStage stage : STAGES) {
+            if (stage.histogram.getCount() > 0) {
+                stats.put(stage.name, stage.histogram.getStatistics());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 全段階の処理時間の記録を破棄します。
+     */
+    public static void resetStatistics() {
+        for (TimingStage stage : STAGES) {
+            stage.histogram.reset();
+        }
+    }
+
+    /**
+     * 段階の名前を取得します。
+     *
+     * @return 名前
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 段階のインデックスを取得します。
+     *
+     * @return インデックス
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 段階の処理時間のヒストグラムを取得します。
+     *
+     * @return ヒストグラム
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        return "TimingStage[" + name + "#" + index + "]";
+    }
+}
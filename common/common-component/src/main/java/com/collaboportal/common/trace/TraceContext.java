@@ -0,0 +1,189 @@
+package com.collaboportal.common.trace;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.CommonContext;
+import com.collaboportal.common.context.web.AttributeSlots;
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
+import com.collaboportal.common.utils.TraceIdGenerator;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * W3C Trace Context（{@code traceparent} ヘッダー）のトレース情報
+ * {@code 00-<trace-id 32桁>-<parent-id 16桁>-<trace-flags 2桁>} 形式の解析と生成を行います。
+ * 受信したリクエストの {@code traceparent} を引き継ぎ、このサーバーの処理を新しいスパンとして表します。
+ */
+public final class TraceContext {
+
+    /** traceparentヘッダー名 */
+    public static final String HEADER = "traceparent";
+
+    // 対応するバージョン
+    private static final String VERSION = "00";
+    // traceparentの長さ（バージョン00）
+    private static final int LENGTH = 55;
+
+    private final String traceId;
+    private final String spanId;
+    private final String flags;
+    private final String traceparent;
+
+    private TraceContext(String traceId, String spanId, String flags) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.flags = flags;
+        this.traceparent = VERSION + '-' + traceId + '-' + spanId + '-' + flags;
+    }
+
+    /**
+     * 新しいトレースを開始します。
+     *
+     * @param generator IDの生成方式
+     * @return トレース情報
+     */
+    public static TraceContext newRoot(TraceIdGenerator generator) {
+        return new TraceContext(generator.nextTraceId(), generator.nextSpanId(), "01");
+    }
+
+    /**
+     * 指定したトレースIDで新しいトレースを開始します。
+     *
+     * @param traceId   トレースID（16進小文字32桁でない場合は新しく生成します）
+     * @param generator IDの生成方式
+     * @return トレース情報
+     */
+    public static TraceContext newRoot(String traceId, TraceIdGenerator generator) {
+        if (traceId == null || !isHex(traceId, 0, 32) || isZero(traceId, 0, 32)) {
+            return newRoot(generator);
+        }
+        return new TraceContext(traceId, generator.nextSpanId(), "01");
+    }
+
+    /**
+     * traceparentヘッダーを解析します。
+     *
+     * @param header ヘッダーの値
+     * @return トレース情報。形式が不正な場合はnull
+     */
+    public static TraceContext parse(String header) {
+        if (header == null || header.length() < LENGTH) {
+            return null;
+        }
+        String value = header.trim();
+        // バージョン00は55文字ちょうど、将来のバージョンは後続のフィールドを無視する
+        if (value.length() < LENGTH || value.startsWith("ff")
+                || (value.startsWith(VERSION) && value.length() != LENGTH)
+                || (value.length() > LENGTH && value.charAt(LENGTH) != '-')) {
+            return null;
+        }
+        if (!isHex(value, 0, 2) || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || !isHex(value, 3, 35) || !isHex(value, 36, 52) || !isHex(value, 53, 55)
+                || isZero(value, 3, 35) || isZero(value, 36, 52)) {
+            return null;
+        }
+        return new TraceContext(value.substring(3, 35), value.substring(36, 52), value.substring(53, 55));
+    }
+
+    /**
+     * リクエストに設定されたトレース情報を取得します。
+     *
+     * @param request リクエスト
+     * @return トレース情報。未設定の場合はnull
+     */
+    public static TraceContext of(HttpServletRequest request) {
+        return AttributeSlots.of(request).get(CommonAttributeKeys.TRACE_CONTEXT);
+    }
+
+    /**
+     * 現在のスレッドに束縛されたリクエストのトレース情報を取得します。
+     *
+     * @return トレース情報。リクエストの処理中でない場合や未設定の場合はnull
+     */
+    public static TraceContext current() {
+        CommonContext context = ConfigManager.peekCommonContext();
+        if (context == null) {
+            return null;
+        }
+        BaseRequest request = context.getRequest();
+        if (request != null && request.getSource() instanceof HttpServletRequest servletRequest) {
+            return of(servletRequest);
+        }
+        return null;
+    }
+
+    /**
+     * 同じトレースの子スパンを作成します（外部呼び出しへの伝搬用）。
+     *
+     * @param generator IDの生成方式
+     * @return 子スパンのトレース情報
+     */
+    public TraceContext child(TraceIdGenerator generator) {
+        return new TraceContext(traceId, generator.nextSpanId(), flags);
+    }
+
+    /**
+     * トレースIDを取得します。
+     *
+     * @return トレースID（16進小文字32桁）
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * スパンIDを取得します。
+     *
+     * @return スパンID（16進小文字16桁）
+     */
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * サンプリング対象か判定します。
+     *
+     * @return trace-flagsのsampledビットが立っている場合はtrue
+     */
+    public boolean isSampled() {
+        return (Character.digit(flags.charAt(1), 16) & 1) == 1;
+    }
+
+    /**
+     * traceparentヘッダーの値を取得します。
+     *
+     * @return traceparentヘッダーの値
+     */
+    public String toTraceparent() {
+        return traceparent;
+    }
+
+    @Override
+    public String toString() {
+        return traceparent;
+    }
+
+    // 16進小文字のみで構成されているか判定する
+    private static boolean isHex(String value, int from, int to) {
+        if (value.length() < to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // すべて0か判定する
+    private static boolean isZero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.collaboportal.common.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * リクエスト単位のCookieインデックス
+ * {@code request.getCookies()} を最初のアクセス時に1度だけ走査し、Cookie名ごとの値を保持します。
+ * インデックスはリクエスト属性に保存されるため、同じリクエストを包むすべてのラッパーやフィルターで共有され、
+ * 2回目以降のCookie参照はハッシュ参照1回で完了します。
+ *
+ * <p>同名のCookieが複数ある場合も、最初の値・最後の値・最後の空でない値をそれぞれ保持し、
+ * 配列を先頭から走査した場合と同じ結果を返します。</p>
+ */
+public final class CookieIndex {
+
+    /** インデックスを保存するリクエスト属性名 */
+    public static final String ATTRIBUTE_NAME = CookieIndex.class.getName();
+
+    // Cookieを持たないリクエスト用の共有インスタンス
+    private static final CookieIndex EMPTY = new CookieIndex(Map.of());
+
+    // Cookie名と値のマップ
+    private final Map<String, Entry> entries;
+
+    private CookieIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * リクエストのCookieインデックスを取得します。未作成の場合は作成してリクエスト属性に保存します。
+     *
+     * @param request リクエスト
+     * @return Cookieインデックス
+     */
+    public static CookieIndex of(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTE_NAME);
+        if (cached instanceof CookieIndex index) {
+            return index;
+        }
+        CookieIndex index = build(request.getCookies());
+        request.setAttribute(ATTRIBUTE_NAME, index);
+        return index;
+    }
+
+    /**
+     * Cookie配列からインデックスを作成します。
+     *
+     * @param cookies Cookie配列（null可）
+     * @return Cookieインデックス
+     */
+    public static CookieIndex build(Cookie[] cookies) {
+        if (cookies == null || cookies.length == 0) {
+            return EMPTY;
+        }
+        Map<String, Entry> entries = new HashMap<>(cookies.length * 2);
+        for (Cookie cookie : cookies) {
+            if (cookie == null || cookie.getName() == null) {
+                continue;
+            }
+            String value = cookie.getValue();
+            Entry entry = entries.get(cookie.getName());
+            if (entry == null) {
+                entries.put(cookie.getName(), new Entry(value));
+            } else {
+                entry.add(value);
+            }
+        }
+        return new CookieIndex(entries);
+    }
+
+    /**
+     * 指定したCookie名の最初の値を取得します。
+     *
+     * @param name Cookie名
+     * @return Cookie値。存在しない場合はnull
+     */
+    public String getFirstValue(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : entry.first;
+    }
+
+    /**
+     * 指定したCookie名の最後の値を取得します。
+     *
+     * @param name Cookie名
+     * @return Cookie値。存在しない場合はnull
+     */
+    public String getLastValue(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : entry.last;
+    }
+
+    /**
+     * 指定したCookie名のうち、空でない最後の値を取得します。
+     *
+     * @param name Cookie名
+     * @return Cookie値。空でない値が存在しない場合はnull
+     */
+    public String getLastNonEmptyValue(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? null : entry.lastNonEmpty;
+    }
+
+    /**
+     * 指定したCookie名が存在するか判定します。
+     *
+     * @param name Cookie名
+     * @return 存在する場合はtrue
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Cookie名の件数を取得します。
+     *
+     * @return Cookie名の件数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 同名Cookieの値
+     */
+    private static final class Entry {
+        private final String first;
+        private String last;
+        private String lastNonEmpty;
+
+        private Entry(String value) {
+            this.first = value;
+            add(value);
+        }
+
+        private void add(String value) {
+            this.last = value;
+            if (value != null && !value.isEmpty()) {
+                this.lastNonEmpty = value;
+            }
+        }
+    }
+}
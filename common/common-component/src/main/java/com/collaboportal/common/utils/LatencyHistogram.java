@@ -0,0 +1,146 @@
+package com.collaboportal.common.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 処理時間のヒストグラム
+ * ナノ秒の値を2のべき乗ごとに16分割した区間（相対誤差約6%）で集計します。
+ * 記録は配列要素の加算のみでロックを取得せず、区間数は固定のためメモリ使用量は値の範囲によらず一定です。
+ *
+ * <p>パーセンタイルは該当区間の上限値を返すため、実際の値以上（悲観側）になります。</p>
+ */
+public final class LatencyHistogram {
+
+    // 2のべき乗あたりの区間数（2^SUB_BUCKET_BITS）
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // long の範囲をすべて表現できる区間数
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 処理時間を記録します。
+     *
+     * @param nanos 処理時間（ナノ秒）。負の値は0として記録します
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 記録件数を取得します。
+     *
+     * @return 記録件数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 最大値を取得します。
+     *
+     * @return 最大値（ナノ秒）
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 平均値を取得します。
+     *
+     * @return 平均値（ナノ秒）。記録がない場合は0
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * パーセンタイル値を取得します。
+     *
+     * @param percentile パーセンタイル（0〜100）
+     * @return 該当区間の上限値（ナノ秒）。記録がない場合は0
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * 記録をすべて破棄します。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * 統計情報を取得します（時間はマイクロ秒）。
+     *
+     * @return 件数・平均・p50・p90・p99・最大値のマップ
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", getCount());
+        stats.put("meanMicros", getMean() / 1_000.0);
+        stats.put("p50Micros", getPercentile(50) / 1_000.0);
+        stats.put("p90Micros", getPercentile(90) / 1_000.0);
+        stats.put("p99Micros", getPercentile(99) / 1_000.0);
+        stats.put("maxMicros", getMax() / 1_000.0);
+        return stats;
+    }
+
+    // 値に対応する区間の番号
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    // 区間の上限値
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (SUB_BUCKET_COUNT + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -8,6 +8,7 @@ public class Message {
 	public static final String W404 = "業務エラー";
 	public static final String W409 = "DB排他エラー";
 	public static final String W500 = "システムエラー";
+	public static final String W503 = "メンテナンス中です";
 	public static final String E404 = "指定されたURLは存在しません";
 	public static final String ERROR_LEVEL_ERROR = "E";
 	public static final String ERROR_LEVEL_WARNING = "W";
@@ -22,6 +23,7 @@ public class Message {
 	public static final int NOT_FOUND = 404;
 	public static final int CONFLICT = 409;
 	public static final int SYSTEM_ERROR = 500;
+	public static final int SERVICE_UNAVAILABLE = 503;
 	public static final String SHAIN_KUBUN_OTOKUISAMA = "0";
 	public static final String SHAIN_KUBUN_SHAIN = "1";
 	public static final String SHAIN_KUBUN_GROUP_SHAIN = "2";
@@ -0,0 +1,56 @@
+package com.collaboportal.common.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * トレースIDの生成方式
+ * {@link #fast()} はスレッドごとの乱数（{@link ThreadLocalRandom}）から W3C Trace Context の
+ * {@code trace-id} 形式（16進小文字32桁、すべて0は除く）のIDを生成します。
+ * 共有の {@code SecureRandom} を使用する {@link UUID#randomUUID()} と異なり、高負荷時にスレッド間で競合しません。
+ *
+ * <p>生成するIDは推測可能なため、認証やセッションの識別には使用しないでください。</p>
+ */
+@FunctionalInterface
+public interface TraceIdGenerator {
+
+    /**
+     * 新しいトレースIDを生成します。
+     *
+     * @return トレースID
+     */
+    String nextTraceId();
+
+    /**
+     * 新しいスパンID（W3C Trace Context の {@code parent-id} 形式、16進小文字16桁）を生成します。
+     *
+     * @return スパンID
+     */
+    default String nextSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0L);
+        char[] chars = new char[16];
+        TraceIds.writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * スレッドごとの乱数を使用する生成方式（既定）を取得します。
+     *
+     * @return 生成方式
+     */
+    static TraceIdGenerator fast() {
+        return TraceIds.FAST;
+    }
+
+    /**
+     * {@link UUID#randomUUID()} を使用する従来の生成方式を取得します。
+     *
+     * @return 生成方式
+     */
+    static TraceIdGenerator uuid() {
+        return TraceIds.UUID;
+    }
+}
@@ -0,0 +1,40 @@
+package com.collaboportal.common.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link TraceIdGenerator} の標準実装
+ */
+final class TraceIds {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    // スレッドごとの乱数から128ビットのIDを生成する
+    static final TraceIdGenerator FAST = () -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0L && low == 0L);
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    };
+
+    // 従来のUUID形式
+    static final TraceIdGenerator UUID = () -> java.util.UUID.randomUUID().toString();
+
+    private TraceIds() {
+    }
+
+    // 64ビット値を16進小文字16桁で書き込む
+    static void writeHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
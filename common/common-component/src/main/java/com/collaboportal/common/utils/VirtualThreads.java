@@ -0,0 +1,134 @@
+package com.collaboportal.common.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 仮想スレッド（Java 21以降）の利用ユーティリティ
+ * ライブラリはJava 17向けにコンパイルされるため、仮想スレッドのAPIは実行時にMethodHandleで解決し、
+ * 利用できないJVMではプラットフォームスレッドにフォールバックします。
+ */
+public final class VirtualThreads {
+
+    // Thread#ofVirtual → Builder#name → Builder#factory（未対応環境ではnull）
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    // Thread#isVirtual（未対応環境ではnull）
+    private static final MethodHandle IS_VIRTUAL;
+    // Executors#newThreadPerTaskExecutor（未対応環境ではnull）
+    private static final MethodHandle PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle isVirtual = null;
+        MethodHandle perTaskExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            perTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        IS_VIRTUAL = isVirtual;
+        PER_TASK_EXECUTOR = perTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 実行中のJVMで仮想スレッドが利用できるか判定します。
+     *
+     * @return 利用できる場合はtrue
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 指定したスレッドが仮想スレッドか判定します。
+     *
+     * @param thread スレッド
+     * @return 仮想スレッドの場合はtrue
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 仮想スレッドを生成するスレッドファクトリーを取得します。
+     *
+     * @param namePrefix スレッド名の接頭辞（連番が付与されます）
+     * @return スレッドファクトリー
+     * @throws IllegalStateException 仮想スレッドが利用できない場合
+     */
+    public static ThreadFactory virtualThreadFactory(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("仮想スレッドは実行中のJVMで利用できません: "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable e) {
+            throw new IllegalStateException("仮想スレッドのファクトリーを生成できません: " + e, e);
+        }
+    }
+
+    /**
+     * ブロッキング処理（外部API呼び出し・DB参照等）用のExecutorServiceを生成します。
+     * 仮想スレッドが利用できる場合はタスクごとに仮想スレッドを生成し、
+     * 利用できない場合は指定したスレッド数のプラットフォームスレッドプールを生成します。
+     *
+     * @param namePrefix      スレッド名の接頭辞
+     * @param fallbackThreads フォールバック時のスレッド数
+     * @return ExecutorService
+     */
+    public static ExecutorService newBlockingExecutor(String namePrefix, int fallbackThreads) {
+        if (isSupported()) {
+            try {
+                return (ExecutorService) PER_TASK_EXECUTOR.invokeExact(virtualThreadFactory(namePrefix));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return Executors.newFixedThreadPool(fallbackThreads, platformThreadFactory(namePrefix));
+    }
+
+    // フォールバック用のデーモンスレッドファクトリー
+    private static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicLong sequence = new AtomicLong();
+        return task -> {
+            Thread thread = new Thread(task, namePrefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.collaboportal.common.Router;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+/**
+ * {@link RouteTrieMatcher} のテスト
+ * 認証フィルターのインクルード/エクスクルード判定はPathPatternを置き換えるため、
+ * 同じパターンとパスの組み合わせでPathPatternと同じ結果になることを確認します。
+ */
+class RouteTrieMatcherTest {
+
+    private static final List<String> PATTERNS = List.of(
+            // リテラル・末尾スラッシュ
+            "/", "/api", "/api/", "/api/users", "/api/users/", "/API/users", "/api//detail",
+            // * と {var}
+            "/*", "/api/*", "/api/*/", "/api/*/detail", "/api/*/*", "/api/{id}", "/api/{id}/detail", "/{a}/{b}",
+            // 末尾の ** と {*var}
+            "/**", "/api/**", "/api/users/**", "/api/{*rest}",
+            // トライで表現できずPathPatternで評価するパターン
+            "/static/*.html", "/api/{id:\\d+}", "/api/v?",
+            // 先頭の区切り文字がないパターン
+            "api/users", "**", "*");
+
+    private static final List<String> PATHS = List.of(
+            "", "/", "//api", "/api", "/api/", "/api/users", "/api/users/", "/api/users//", "/API/users",
+            "/api/users/1", "/api/users/1/", "/api/users/1/detail", "/api/1/detail", "/api/1/detail/", "/api//detail",
+            "/api/v1", "/api/123", "/api/12a", "/static/index.html", "/static/a/index.html", "/x/y", "/x/y/z",
+            // エンコード・マトリクス変数・先頭の区切り文字なし（PathContainerによる解析にフォールバック）
+            "/api/us%65rs", "/api/users%2F1", "/api/%2F", "/api/users;jsessionid=1", "/api;v=1/users", "api/users");
+
+    static Stream<Arguments> patternAndPath() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String pattern : PATTERNS) {
+            for (String path : PATHS) {
+                cases.add(Arguments.of(pattern, path));
+            }
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{0} <- \"{1}\"")
+    @MethodSource("patternAndPath")
+    void matchesLikePathPattern(String pattern, String path) {
+        boolean expected = matches(pattern, path);
+
+        RouteTrieMatcher includes = RouteTrieMatcher.compile(List.of(pattern));
+        assertEquals(expected, includes.matchesInclude(path), "include");
+        assertEquals(expected, includes.isTarget(path), "isTarget");
+
+        RouteTrieMatcher excludes = RouteTrieMatcher.compile(null, List.of(pattern));
+        assertEquals(expected, excludes.matchesExclude(path), "exclude");
+        assertFalse(excludes.isTarget(path), "exclude only");
+    }
+
+    @ParameterizedTest(name = "\"{0}\"")
+    @MethodSource("paths")
+    void combinesIncludesAndExcludesLikePathPattern(String path) {
+        List<String> includes = List.of("/api/**", "/admin/*", "/static/*.html");
+        List<String> excludes = List.of("/api/public/**", "/api/{id}/health", "/static/login.html", "/admin/");
+        boolean expected = includes.stream().anyMatch(p -> matches(p, path))
+                && excludes.stream().noneMatch(p -> matches(p, path));
+        assertEquals(expected, RouteTrieMatcher.compile(includes, excludes).isTarget(path));
+    }
+
+    static Stream<String> paths() {
+        return Stream.concat(PATHS.stream(), Stream.of(
+                "/api/public", "/api/public/docs", "/api/1/health", "/api/1/health/", "/admin/", "/admin/users",
+                "/static/login.html", "/static/top.html", "/api/p%75blic/docs"));
+    }
+
+    @Test
+    void rejectsDoubleWildcardInTheMiddleLikePathPattern() {
+        // PathPatternは ** をパターン末尾でのみ許可する
+        assertThrows(PatternParseException.class, () -> PathPatternParser.defaultInstance.parse("/api/**/detail"));
+        assertThrows(PatternParseException.class, () -> RouteTrieMatcher.compile(List.of("/api/**/detail")));
+        assertThrows(PatternParseException.class, () -> RouteTrieMatcher.compile(null, List.of("/api/**/")));
+    }
+
+    @Test
+    void countsPatternsEvaluatedByPathPattern() {
+        RouteTrieMatcher matcher = RouteTrieMatcher.compile(
+                List.of("/api/**", "/static/*.html", "api/users"), List.of("/api/{id:\\d+}", "/login"));
+        assertEquals(3, matcher.getIncludeCount());
+        assertEquals(2, matcher.getExcludeCount());
+        assertEquals(3, matcher.getFallbackCount());
+    }
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        assertFalse(RouteTrieMatcher.EMPTY.isTarget("/"));
+        assertFalse(RouteTrieMatcher.EMPTY.matchesExclude("/api"));
+        assertEquals(0, RouteTrieMatcher.EMPTY.match(null));
+        assertTrue(RouteTrieMatcher.compile(List.of("/**")).isTarget("/"));
+    }
+
+    private static boolean matches(String pattern, String path) {
+        PathPattern parsed = PathPatternParser.defaultInstance.parse(pattern);
+        return parsed.matches(PathContainer.parsePath(path));
+    }
+}
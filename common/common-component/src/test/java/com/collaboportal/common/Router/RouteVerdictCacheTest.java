@@ -0,0 +1,128 @@
+package com.collaboportal.common.Router;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link RouteVerdictCache} のテスト
+ */
+class RouteVerdictCacheTest {
+
+    private static final RouteTrieMatcher MATCHER = RouteTrieMatcher.compile(List.of("/api/**"), List.of("/api/public/**"));
+
+    @Test
+    void returnsMatcherVerdictAndCountsHitsAndMisses() {
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, 8);
+        assertTrue(cache.isTarget("/api/users"));
+        assertFalse(cache.isTarget("/api/public/docs"));
+        assertFalse(cache.isTarget("/static/app.js"));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+
+        // 2回目以降はキャッシュから同じ判定を返す
+        assertTrue(cache.isTarget("/api/users"));
+        assertFalse(cache.isTarget("/api/public/docs"));
+        assertFalse(cache.isTarget("/static/app.js"));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void doesNotCacheNullOrLongPaths() {
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, 8);
+        String longPath = "/api/" + "a".repeat(RouteVerdictCache.MAX_PATH_LENGTH);
+        assertTrue(cache.isTarget(longPath));
+        assertTrue(cache.isTarget(longPath));
+        assertFalse(cache.isTarget(null));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    void rejectsOneHitPathsOnceFull() {
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, 4);
+        for (int i = 0; i < 4; i++) {
+            String path = "/api/hot/" + i;
+            for (int n = 0; n < 5; n++) {
+                cache.isTarget(path);
+            }
+        }
+        assertEquals(4, cache.size());
+
+        // 1回しか到達しないパスは、より頻度の高い登録済みパスを追い出さない
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cache.isTarget("/api/once/" + i));
+        }
+        assertEquals(4, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(100, cache.getRejectionCount());
+        long hits = cache.getHitCount();
+        for (int i = 0; i < 4; i++) {
+            cache.isTarget("/api/hot/" + i);
+        }
+        assertEquals(hits + 4, cache.getHitCount());
+    }
+
+    @Test
+    void admitsPathThatBecomesMoreFrequentThanVictim() {
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, 4);
+        for (int i = 0; i < 4; i++) {
+            cache.isTarget("/api/cold/" + i);
+        }
+        // 登録済みのパス（頻度1）より多く到達したパスは受け入れられ、いずれかを追い出す
+        for (int n = 0; n < 3; n++) {
+            cache.isTarget("/api/new");
+        }
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        long hits = cache.getHitCount();
+        cache.isTarget("/api/new");
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    @Test
+    void keepsHotPathsUnderUniquePathFlood() {
+        int maxSize = 64;
+        int hotCount = 16;
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, maxSize);
+        // よく使われるパスと、ランダムな404パス（毎回異なる）が混在するトラフィック
+        for (int i = 0; i < 20_000; i++) {
+            cache.isTarget("/api/hot/" + (i % hotCount));
+            if (i % 3 == 0) {
+                cache.isTarget("/api/missing/" + i);
+            }
+        }
+        assertTrue(cache.size() <= maxSize);
+        long hits = cache.getHitCount();
+        for (int i = 0; i < hotCount; i++) {
+            assertTrue(cache.isTarget("/api/hot/" + i));
+        }
+        assertEquals(hits + hotCount, cache.getHitCount());
+        assertTrue(cache.getRejectionCount() > 0);
+    }
+
+    @Test
+    void reportsStatistics() {
+        RouteVerdictCache cache = new RouteVerdictCache(MATCHER, 2);
+        cache.isTarget("/api/a");
+        cache.isTarget("/api/a");
+        Map<String, Object> stats = cache.getStatistics();
+        assertEquals(1, stats.get("size"));
+        assertEquals(2, stats.get("max_size"));
+        assertEquals(1L, stats.get("hit_count"));
+        assertEquals(1L, stats.get("miss_count"));
+        assertEquals(0.5d, stats.get("hit_rate"));
+    }
+
+    @Test
+    void rejectsNonPositiveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new RouteVerdictCache(MATCHER, 0));
+    }
+}
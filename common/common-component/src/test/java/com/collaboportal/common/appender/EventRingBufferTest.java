@@ -0,0 +1,130 @@
+package com.collaboportal.common.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * {@link EventRingBuffer} のテスト
+ */
+class EventRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(2, new EventRingBuffer<String>(2).capacity());
+        assertEquals(8, new EventRingBuffer<String>(5).capacity());
+        assertEquals(16, new EventRingBuffer<String>(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<String>(1));
+    }
+
+    @Test
+    void pollReturnsNullWhenEmpty() {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(4);
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.size());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void offerReturnsFalseWhenFull() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        // 1件取り出すと1件だけ追加できる
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    void pollReturnsElementsInInsertionOrderAcrossWrapAround() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // 容量を何周も超えて追加・取り出しを繰り返す
+        for (int round = 0; round < 10; round++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        Integer value;
+        while ((value = buffer.poll()) != null) {
+            assertEquals(expected++, value);
+        }
+        assertEquals(next, expected);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @Timeout(30)
+    void multipleProducersDeliverEveryElementOnceInPerProducerOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        EventRingBuffer<long[]> buffer = new EventRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < perProducer; seq++) {
+                        long[] element = { producer, seq };
+                        // 満杯の場合は消費者が取り出すまで再試行する（CPUが少ない環境でも消費者が進むよう譲る）
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // 生産者ごとに次に届くべき通番を確認する（欠落・重複・順序の入れ替わりを検出）
+            long[] expected = new long[producers];
+            int received = 0;
+            while (received < producers * perProducer) {
+                long[] element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                int producer = (int) element[0];
+                assertEquals(expected[producer], element[1], "生産者" + producer + "の通番");
+                expected[producer]++;
+                received++;
+            }
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            for (int p = 0; p < producers; p++) {
+                assertEquals(perProducer, expected[p]);
+            }
+            assertNull(buffer.poll());
+            assertTrue(buffer.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.collaboportal.common.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ConfigBinder} のテスト
+ */
+class ConfigBinderTest {
+
+    // テスト用の設定クラス
+    static class SampleConfig {
+        private String name = "default";
+        private int maxCount = 10;
+        private Long retryLimit;
+        private boolean enabled;
+        private double ratio = 0.5;
+        private char separator = ',';
+        private Duration cookieExpiration = Duration.ofMinutes(30);
+        private TimeUnit timeUnit = TimeUnit.SECONDS;
+        private List<String> includeList = new ArrayList<>();
+        private Set<Integer> allowedPorts = new LinkedHashSet<>();
+        private Nested innerConfig = new Nested();
+        private transient String ignored = "keep";
+    }
+
+    static class Nested {
+        private int poolSize = 1;
+        private String hostName;
+    }
+
+    enum Mode {
+        READ_ONLY, READ_WRITE
+    }
+
+    static class ModeConfig {
+        private Mode mode;
+    }
+
+    private static final ConfigBinder<SampleConfig> BINDER = ConfigBinder.of(SampleConfig.class);
+
+    @Test
+    void returnsSameBinderForSameClass() {
+        assertSame(BINDER, ConfigBinder.of(SampleConfig.class));
+    }
+
+    @Test
+    void convertsScalarTypes() {
+        SampleConfig config = BINDER.bind(Map.of(
+                "name", "portal",
+                "maxCount", " 42 ",
+                "retryLimit", "3",
+                "enabled", "TRUE",
+                "ratio", "0.25",
+                "separator", ";",
+                "timeUnit", "milliseconds"));
+        assertEquals("portal", config.name);
+        assertEquals(42, config.maxCount);
+        assertEquals(3L, config.retryLimit);
+        assertTrue(config.enabled);
+        assertEquals(0.25, config.ratio);
+        assertEquals(';', config.separator);
+        assertEquals(TimeUnit.MILLISECONDS, config.timeUnit);
+    }
+
+    @Test
+    void convertsEnumWithHyphen() {
+        // 列挙型はハイフンをアンダースコアとして扱う
+        assertEquals(Mode.READ_ONLY, ConfigBinder.of(ModeConfig.class).bind(Map.of("mode", "read-only")).mode);
+    }
+
+    @Test
+    void convertsDurations() {
+        assertEquals(Duration.ofSeconds(30), BINDER.bind(Map.of("cookieExpiration", "30s")).cookieExpiration);
+        assertEquals(Duration.ofMinutes(1), BINDER.bind(Map.of("cookieExpiration", "PT1M")).cookieExpiration);
+        assertEquals(Duration.ofMillis(500), ConfigBinder.parseDuration("500ms"));
+        assertEquals(Duration.ofMillis(250), ConfigBinder.parseDuration("250"));
+        assertEquals(Duration.ofMinutes(5), ConfigBinder.parseDuration("5m"));
+        assertEquals(Duration.ofHours(1), ConfigBinder.parseDuration(" 1H "));
+        assertEquals(Duration.ofDays(2), ConfigBinder.parseDuration("2d"));
+        assertThrows(IllegalArgumentException.class, () -> ConfigBinder.parseDuration("5w"));
+    }
+
+    @Test
+    void convertsCommaSeparatedCollections() {
+        SampleConfig config = BINDER.bind(Map.of(
+                "includeList", "/api/**, /auth/** ,,",
+                "allowedPorts", "80,443,80"));
+        assertEquals(List.of("/api/**", "/auth/**"), config.includeList);
+        assertEquals(Set.of(80, 443), config.allowedPorts);
+        assertTrue(config.allowedPorts instanceof LinkedHashSet);
+    }
+
+    @Test
+    void acceptsKebabCaseKeys() {
+        SampleConfig config = BINDER.bind(Map.of(
+                "max-count", "7",
+                "cookie-expiration", "1h",
+                "time-unit", "days",
+                "include-list", "/a",
+                "inner-config.pool-size", "4",
+                "inner-config.host-name", "db"));
+        assertEquals(7, config.maxCount);
+        assertEquals(Duration.ofHours(1), config.cookieExpiration);
+        assertEquals(TimeUnit.DAYS, config.timeUnit);
+        assertEquals(List.of("/a"), config.includeList);
+        assertEquals(4, config.innerConfig.poolSize);
+        assertEquals("db", config.innerConfig.hostName);
+    }
+
+    @Test
+    void fieldNameKeyTakesPrecedenceOverKebabCase() {
+        SampleConfig config = BINDER.bind(Map.of(
+                "maxCount", "1",
+                "max-count", "2",
+                "innerConfig.poolSize", "3",
+                "inner-config.pool-size", "4"));
+        assertEquals(1, config.maxCount);
+        assertEquals(3, config.innerConfig.poolSize);
+    }
+
+    @Test
+    void blankValuesKeepDefaultsExceptForStrings() {
+        SampleConfig config = BINDER.bind(Map.of(
+                "maxCount", " ",
+                "cookieExpiration", "",
+                "enabled", "",
+                "name", ""));
+        assertEquals(10, config.maxCount);
+        assertEquals(Duration.ofMinutes(30), config.cookieExpiration);
+        assertFalse(config.enabled);
+        assertEquals("", config.name);
+    }
+
+    @Test
+    void keepsUnspecifiedFieldsOfExistingTarget() {
+        SampleConfig target = new SampleConfig();
+        target.maxCount = 99;
+        SampleConfig config = BINDER.bind(Map.of("name", "x", "ignored", "changed"), target);
+        assertSame(target, config);
+        assertEquals(99, config.maxCount);
+        assertEquals("x", config.name);
+        // transientのフィールドは割り当て対象外
+        assertEquals("keep", config.ignored);
+    }
+
+    @Test
+    void invalidValuesThrowIllegalArgumentException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BINDER.bind(Map.of("maxCount", "ten")));
+        assertTrue(e.getMessage().contains("maxCount"));
+        assertThrows(IllegalArgumentException.class, () -> BINDER.bind(Map.of("timeUnit", "fortnight")));
+        assertThrows(IllegalArgumentException.class, () -> BINDER.bind(Map.of("cookieExpiration", "3x")));
+        assertThrows(IllegalArgumentException.class, () -> BINDER.bind(Map.of("allowedPorts", "80,http")));
+    }
+
+    @Test
+    void copyDoesNotShareCollectionsOrNestedConfig() {
+        SampleConfig source = BINDER.bind(Map.of("includeList", "/a,/b", "allowedPorts", "80", "name", "src"));
+        SampleConfig copy = BINDER.copy(source);
+        assertEquals("src", copy.name);
+        assertEquals(source.includeList, copy.includeList);
+        assertNotSame(source.includeList, copy.includeList);
+        assertNotSame(source.allowedPorts, copy.allowedPorts);
+        assertNotSame(source.innerConfig, copy.innerConfig);
+
+        copy.includeList.add("/c");
+        copy.innerConfig.poolSize = 8;
+        assertEquals(List.of("/a", "/b"), source.includeList);
+        assertEquals(1, source.innerConfig.poolSize);
+    }
+
+    @Test
+    void copyOfUnmodifiableCollectionIsModifiable() {
+        SampleConfig source = new SampleConfig();
+        source.includeList = List.of("/a");
+        SampleConfig copy = BINDER.copy(source);
+        copy.includeList.add("/b");
+        assertEquals(List.of("/a", "/b"), copy.includeList);
+    }
+
+    @Test
+    void copyKeepsNullValues() {
+        SampleConfig source = new SampleConfig();
+        source.includeList = null;
+        source.innerConfig = null;
+        SampleConfig copy = BINDER.copy(source);
+        assertNull(copy.includeList);
+        assertNull(copy.innerConfig);
+        assertNull(copy.retryLimit);
+    }
+}
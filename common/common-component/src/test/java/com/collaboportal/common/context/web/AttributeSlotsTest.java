@@ -0,0 +1,78 @@
+package com.collaboportal.common.context.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * {@link AttributeSlots} のテスト
+ */
+class AttributeSlotsTest {
+
+    private static final AttributeKey<String> KEY = AttributeKey.of("attributeSlotsTest.key", String.class);
+
+    @Test
+    void slotsAreSharedThroughRequestAttribute() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        AttributeSlots slots = AttributeSlots.of(request);
+        assertSame(slots, request.getAttribute(AttributeSlots.ATTRIBUTE_NAME));
+        assertSame(slots, AttributeSlots.of(new HttpServletRequestWrapper(request)));
+
+        slots.set(KEY, "value");
+        assertEquals("value", AttributeSlots.of(request).get(KEY));
+        slots.set(KEY, null);
+        assertNull(slots.get(KEY));
+    }
+
+    @Test
+    @Timeout(30)
+    void concurrentCreationInstallsSingleTable() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                // 属性の取得と保存の間に他のスレッドが割り込みやすいリクエスト
+                MockHttpServletRequest request = new MockHttpServletRequest() {
+                    @Override
+                    public Object getAttribute(String name) {
+                        Object value = super.getAttribute(name);
+                        Thread.yield();
+                        return value;
+                    }
+                };
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<AttributeSlots>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    // 伝播先ごとに異なるラッパーから取得する
+                    HttpServletRequestWrapper wrapper = new HttpServletRequestWrapper(request);
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        AttributeSlots slots = AttributeSlots.of(wrapper);
+                        slots.set(KEY, Thread.currentThread().getName());
+                        return slots;
+                    }));
+                }
+                start.countDown();
+                AttributeSlots installed = AttributeSlots.of(request);
+                for (Future<AttributeSlots> result : results) {
+                    assertSame(installed, result.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
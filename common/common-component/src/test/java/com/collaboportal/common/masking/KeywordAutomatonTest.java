@@ -0,0 +1,81 @@
+package com.collaboportal.common.masking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link KeywordAutomaton} のテスト
+ */
+class KeywordAutomatonTest {
+
+    // テキストを走査し、検出したキーワードを「開始位置:キーワード」で返す
+    private static List<String> scan(List<String> keywords, String text) {
+        KeywordAutomaton automaton = new KeywordAutomaton(keywords);
+        List<String> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.next(state, text.charAt(i));
+            int[] ids = automaton.outputs(state);
+            if (ids != null) {
+                for (int id : ids) {
+                    matches.add((i + 1 - automaton.length(id)) + ":" + keywords.get(id));
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void findsKeywords() {
+        assertEquals(List.of("5:token", "16:secret"),
+                scan(List.of("token", "secret"), "user=token1 key=secret"));
+    }
+
+    @Test
+    void noMatchReturnsNoOutputs() {
+        assertTrue(scan(List.of("token", "secret"), "user=alice mail=none").isEmpty());
+    }
+
+    @Test
+    void reportsOverlappingKeywordsLongestFirst() {
+        // 同じ位置で終わるキーワードは長い順
+        assertEquals(List.of("0:password", "4:word"), scan(List.of("word", "password"), "password"));
+        // 接頭辞の関係にあるキーワードはそれぞれの終端で検出する
+        assertEquals(List.of("0:pass", "0:password"), scan(List.of("pass", "password"), "password"));
+    }
+
+    @Test
+    void followsFailureTransitions() {
+        // "she" の途中から "he"・"hers" に移る
+        assertEquals(List.of("1:she", "2:he", "2:hers"), scan(List.of("he", "she", "his", "hers"), "ushers"));
+        // 途中で失敗しても取りこぼさない
+        assertEquals(List.of("3:token"), scan(List.of("token"), "tootoken"));
+    }
+
+    @Test
+    void ignoresCaseOfAsciiLetters() {
+        assertEquals(List.of("0:password"), scan(List.of("password"), "PASSWORD"));
+        assertEquals(List.of("4:password"), scan(List.of("password"), "userPassWord"));
+        // キーワード側の大文字も同様
+        assertEquals(List.of("0:ApiKey"), scan(List.of("ApiKey"), "apikey"));
+    }
+
+    @Test
+    void matchesNonAsciiKeywords() {
+        assertEquals(List.of("0:パスワード"), scan(List.of("パスワード", "token"), "パスワード=abc"));
+        assertEquals(List.of("3:暗証番号"), scan(List.of("暗証番号"), "新しい暗証番号"));
+        // キーワードに含まれない非ASCII文字は初期状態に戻る
+        assertTrue(scan(List.of("パスワード"), "パス・ワード").isEmpty());
+    }
+
+    @Test
+    void ignoresCaseOfNonAsciiLetters() {
+        assertEquals(List.of("0:straße"), scan(List.of("straße"), "STRAßE"));
+        assertEquals(List.of("0:пароль"), scan(List.of("пароль"), "ПАРОЛЬ"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.collaboportal.common.strategy.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.Test;
+
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.exception.AuthenticationException;
+
+/**
+ * {@link AuthDecision} と、判定結果・例外による通知方式の相互変換のテスト
+ */
+class AuthDecisionTest {
+
+    private final BaseRequest request = mock(BaseRequest.class);
+    private final BaseResponse response = mock(BaseResponse.class);
+
+    @Test
+    void onlyAllowIsAllowed() {
+        assertTrue(AuthDecision.allow().isAllowed());
+        assertSame(AuthDecision.allow(), AuthDecision.allow());
+        assertFalse(AuthDecision.redirect("/").isAllowed());
+        assertFalse(AuthDecision.reject(403, "禁止").isAllowed());
+        assertFalse(AuthDecision.challenge("Basic", "要認証").isAllowed());
+        assertEquals(401, ((AuthDecision.Reject) AuthDecision.unauthorized("要認証")).status());
+    }
+
+    @Test
+    void legacyStrategyExceptionBecomesUnauthorized() {
+        AuthorizationStrategy failing = (req, resp) -> {
+            throw new AuthenticationException("DB認証に失敗しました");
+        };
+        AuthDecision.Reject reject = assertInstanceOf(AuthDecision.Reject.class, failing.decide(request, response));
+        assertEquals(401, reject.status());
+        assertEquals("DB認証に失敗しました", reject.message());
+
+        AuthorizationStrategy passing = (req, resp) -> {
+        };
+        assertSame(AuthDecision.allow(), passing.decide(request, response));
+    }
+
+    @Test
+    void allowDoesNotTouchResponse() throws Exception {
+        AuthDecisionStrategy allow = (req, resp) -> AuthDecision.allow();
+        allow.authenticate(request, response);
+        verifyNoInteractions(response);
+    }
+
+    @Test
+    void redirectIsWrittenToResponse() throws Exception {
+        AuthDecisionStrategy redirect = (req, resp) -> AuthDecision.redirect("/auth/login");
+        redirect.authenticate(request, response);
+        verify(response).redirect("/auth/login");
+        verify(response).flush();
+    }
+
+    @Test
+    void rejectBecomesException() {
+        AuthDecisionStrategy reject = (req, resp) -> AuthDecision.unauthorized("期限切れ");
+        AuthenticationException e = assertThrows(AuthenticationException.class,
+                () -> reject.authenticate(request, response));
+        assertEquals("期限切れ", e.getMessage());
+        verify(response, never()).redirect("/auth/login");
+    }
+
+    @Test
+    void challengeSetsAuthenticateHeaderAndBecomesException() {
+        AuthDecisionStrategy challenge = (req, resp) -> AuthDecision.challenge("Bearer realm=\"api\"", "トークンがありません");
+        AuthenticationException e = assertThrows(AuthenticationException.class,
+                () -> challenge.authenticate(request, response));
+        assertEquals("トークンがありません", e.getMessage());
+        verify(response).setHeader("WWW-Authenticate", "Bearer realm=\"api\"");
+    }
+}
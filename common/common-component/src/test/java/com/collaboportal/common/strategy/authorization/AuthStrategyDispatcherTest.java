@@ -0,0 +1,145 @@
+package com.collaboportal.common.strategy.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.exception.AuthenticationException;
+import com.collaboportal.common.registry.AuthorizationStrategyRegistry;
+import com.collaboportal.common.utils.Message;
+
+/**
+ * {@link AuthStrategyDispatcher} のテスト
+ */
+class AuthStrategyDispatcherTest {
+
+    // 判定結果を返す戦略
+    private static final AuthDecisionStrategy OAUTH2 = (req, resp) -> AuthDecision.redirect("/auth/login");
+    private static final AuthDecisionStrategy API_KEY = (req, resp) -> AuthDecision.allow();
+    // 例外で失敗を通知する従来の戦略
+    private static final AuthorizationStrategy DATABASE = (req, resp) -> {
+        throw new AuthenticationException("DB認証に失敗しました");
+    };
+
+    private final AuthorizationStrategyRegistry registry = new AuthorizationStrategyRegistry(Map.of(
+            "oauth2AuthStrategy", OAUTH2,
+            "apiKeyAuthStrategy", API_KEY,
+            "databaseAuthStrategy", DATABASE));
+
+    private final BaseResponse response = mock(BaseResponse.class);
+
+    @Test
+    void headerOverridesRoute() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("oauth2", "/api/**")
+                .build();
+        assertTrue(dispatcher.decide(request("GET", "/api/users", "apiKey"), response).isAllowed());
+    }
+
+    @Test
+    void unknownHeaderTypeIsRejectedWith400() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("apiKey", "/api/**")
+                .build();
+        AuthDecision.Reject reject = assertInstanceOf(AuthDecision.Reject.class,
+                dispatcher.decide(request("GET", "/api/users", "saml"), response));
+        assertEquals(400, reject.status());
+        assertTrue(reject.message().contains("saml"));
+    }
+
+    @Test
+    void emptyHeaderFallsBackToRoute() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("apiKey", "/api/**")
+                .build();
+        assertTrue(dispatcher.decide(request("GET", "/api/users", ""), response).isAllowed());
+    }
+
+    @Test
+    void firstDeclaredMatchingRouteWins() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("oauth2", "/api/admin/**", "/portal/*")
+                .route("apiKey", "/api/**")
+                .defaultType("database")
+                .build();
+        assertInstanceOf(AuthDecision.Redirect.class, dispatcher.decide(request("GET", "/api/admin/users", null), response));
+        assertInstanceOf(AuthDecision.Redirect.class, dispatcher.decide(request("POST", "/portal/top", null), response));
+        assertTrue(dispatcher.decide(request("GET", "/api/users", null), response).isAllowed());
+        assertSame(OAUTH2, dispatcher.resolve("GET", "/api/admin/users"));
+        assertSame(API_KEY, dispatcher.resolve("GET", "/api/users"));
+        assertSame(DATABASE, dispatcher.resolve("GET", "/other"));
+    }
+
+    @Test
+    void defaultTypeIsUsedWhenNoRouteMatches() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("apiKey", "/api/**")
+                .defaultType("oauth2")
+                .build();
+        AuthDecision.Redirect redirect = assertInstanceOf(AuthDecision.Redirect.class,
+                dispatcher.decide(request("GET", "/portal", null), response));
+        assertEquals("/auth/login", redirect.location());
+    }
+
+    @Test
+    void unresolvedRequestIsRejectedWith401() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .route("apiKey", "/api/**")
+                .defaultType(null)
+                .build();
+        AuthDecision.Reject reject = assertInstanceOf(AuthDecision.Reject.class,
+                dispatcher.decide(request("GET", "/portal", null), response));
+        assertEquals(401, reject.status());
+        assertEquals(Message.W401, reject.message());
+        assertNull(dispatcher.resolve("GET", "/portal"));
+    }
+
+    @Test
+    void headerOverrideCanBeDisabled() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .overrideHeader(null)
+                .defaultType("oauth2")
+                .build();
+        assertInstanceOf(AuthDecision.Redirect.class, dispatcher.decide(request("GET", "/api", "apiKey"), response));
+        assertSame(API_KEY, dispatcher.resolveType("apiKey"));
+        assertNull(dispatcher.resolveType(null));
+    }
+
+    @Test
+    void legacyStrategyFailureBecomes401() {
+        AuthStrategyDispatcher dispatcher = AuthStrategyDispatcher.builder(registry)
+                .defaultType("database")
+                .build();
+        AuthDecision.Reject reject = assertInstanceOf(AuthDecision.Reject.class,
+                dispatcher.decide(request("GET", "/api", null), response));
+        assertEquals(401, reject.status());
+        assertEquals("DB認証に失敗しました", reject.message());
+    }
+
+    @Test
+    void unregisteredTypesFailAtBuildTime() {
+        assertThrows(IllegalStateException.class,
+                () -> AuthStrategyDispatcher.builder(registry).route("saml", "/saml/**"));
+        assertThrows(IllegalStateException.class,
+                () -> AuthStrategyDispatcher.builder(registry).defaultType("saml"));
+    }
+
+    private static BaseRequest request(String method, String path, String authType) {
+        BaseRequest request = mock(BaseRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getRequestPath()).thenReturn(path);
+        when(request.getHeader(AuthStrategyDispatcher.DEFAULT_OVERRIDE_HEADER)).thenReturn(authType);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.collaboportal.common.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * {@link TraceContext#parse(String)} のテスト
+ */
+class TraceContextTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+    private static final String VALID = "00-" + TRACE_ID + "-" + SPAN_ID + "-01";
+
+    @Test
+    void parsesValidHeader() {
+        TraceContext context = TraceContext.parse(VALID);
+        assertNotNull(context);
+        assertEquals(TRACE_ID, context.getTraceId());
+        assertEquals(SPAN_ID, context.getSpanId());
+        assertTrue(context.isSampled());
+        assertEquals(VALID, context.toTraceparent());
+    }
+
+    @Test
+    void parsesUnsampledFlags() {
+        TraceContext context = TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00");
+        assertNotNull(context);
+        assertFalse(context.isSampled());
+    }
+
+    @Test
+    void trimsSurroundingWhitespace() {
+        assertNotNull(TraceContext.parse("  " + VALID + " "));
+    }
+
+    @Test
+    void acceptsFutureVersionWithTrailingFields() {
+        // 将来のバージョンは後続のフィールドを無視する
+        TraceContext context = TraceContext.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01-extra");
+        assertNotNull(context);
+        assertEquals(TRACE_ID, context.getTraceId());
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            // 長さが不足・超過
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-1",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-010",
+            // バージョンffは無効、バージョンが16進でない
+            "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "0x-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            // 将来のバージョンで後続のフィールドの区切りがない
+            "01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01x",
+            // 区切り文字の位置が不正
+            "00_4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736_00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7_01",
+            "00-4bf92f3577b34da6a3ce929d0e0e473-600f067aa0ba902b7-01",
+            // 16進以外の文字・大文字の16進
+            "00-4bf92f3577b34da6a3ce929d0e0e473g-00f067aa0ba902b7-01",
+            "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00F067AA0BA902B7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-0z",
+            // 全て0のトレースID・スパンID
+            "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+            "   ",
+    })
+    void rejectsMalformedHeader(String header) {
+        assertNull(TraceContext.parse(header));
+    }
+}
@@ -0,0 +1,86 @@
+package com.collaboportal.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * {@link CookieIndex} のテスト
+ */
+class CookieIndexTest {
+
+    @Test
+    void indexesValuesByName() {
+        CookieIndex index = CookieIndex.build(new Cookie[] {
+                new Cookie("AuthToken", "jwt"),
+                new Cookie("lang", "ja") });
+        assertEquals("jwt", index.getFirstValue("AuthToken"));
+        assertEquals("ja", index.getLastValue("lang"));
+        assertTrue(index.contains("lang"));
+        assertFalse(index.contains("missing"));
+        assertNull(index.getFirstValue("missing"));
+        assertNull(index.getLastValue("missing"));
+        assertNull(index.getLastNonEmptyValue("missing"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void duplicateNamesBehaveLikeLinearScan() {
+        CookieIndex index = CookieIndex.build(new Cookie[] {
+                new Cookie("track", "first"),
+                new Cookie("track", "second"),
+                new Cookie("track", ""),
+                new Cookie("other", "x") });
+        assertEquals("first", index.getFirstValue("track"));
+        assertEquals("", index.getLastValue("track"));
+        assertEquals("second", index.getLastNonEmptyValue("track"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void emptyValuesHaveNoNonEmptyValue() {
+        CookieIndex index = CookieIndex.build(new Cookie[] { new Cookie("track", "") });
+        assertTrue(index.contains("track"));
+        assertEquals("", index.getFirstValue("track"));
+        assertNull(index.getLastNonEmptyValue("track"));
+    }
+
+    @Test
+    void nullOrEmptyCookiesShareEmptyIndex() {
+        CookieIndex empty = CookieIndex.build(null);
+        assertEquals(0, empty.size());
+        assertSame(empty, CookieIndex.build(new Cookie[0]));
+        assertEquals(0, CookieIndex.build(new Cookie[] { null }).size());
+    }
+
+    @Test
+    void indexIsBuiltOncePerRequestAndSharedAcrossWrappers() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("AuthToken", "jwt"));
+        CookieIndex index = CookieIndex.of(request);
+        assertSame(index, request.getAttribute(CookieIndex.ATTRIBUTE_NAME));
+        assertSame(index, CookieIndex.of(request));
+        // ラッパーもリクエスト属性を通じて同じインデックスを参照する
+        assertSame(index, CookieIndex.of(new HttpServletRequestWrapper(request)));
+
+        // 作成後にCookieを差し替えても、同じリクエストでは最初のインデックスを使用する
+        request.setCookies(new Cookie("AuthToken", "other"));
+        assertEquals("jwt", CookieIndex.of(request).getFirstValue("AuthToken"));
+    }
+
+    @Test
+    void requestWithoutCookiesGetsEmptyIndex() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        CookieIndex index = CookieIndex.of(request);
+        assertEquals(0, index.size());
+        assertSame(index, CookieIndex.of(request));
+    }
+}
@@ -1,7 +1,6 @@
 package com.collaboportal.common.jwt.utils;
 
-import com.collaboportal.common.ConfigManager;
-import com.collaboportal.common.model.MaintenanceBody;
+import com.collaboportal.common.model.MaintenanceMode;
 
 /**
  * JWTメンテナンス関連のユーティリティクラス
@@ -10,12 +9,11 @@ public class JwtMaintenanceUtil {
 
     /**
      * コールバックURLを解決する
-     * メンテナンスモードの場合はポート番号を442に設定
+     * メンテナンスモードの場合はポート番号を442に設定（状態の遷移時に計算済みのURLを返す）
      * @return 解決されたコールバックURL
      */
     public static String resolveCallbackUrl(){
-        String portSuffix = isMaintenanceMode()? ":442" : "";
-        return ConfigManager.getConfig().getCollaboportalBaseurl() + portSuffix + "/auth/callback";
+        return MaintenanceMode.current().getCallbackUrl();
     }
 
     /**
@@ -23,7 +21,7 @@ public class JwtMaintenanceUtil {
      * @return メンテナンスモードの場合はtrue、それ以外はfalse
      */
     public static boolean isMaintenanceMode(){
-        return "1".equals(MaintenanceBody.getMentFlg());
+        return MaintenanceMode.current().isMaintenance();
     }
 
 }
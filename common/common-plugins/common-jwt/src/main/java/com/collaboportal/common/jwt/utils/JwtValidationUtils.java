@@ -1,10 +1,8 @@
 package com.collaboportal.common.jwt.utils;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.util.Arrays;
 import java.util.List;
 
 
@@ -12,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.utils.CookieIndex;
 
 /**
  * JWT検証ユーティリティクラス
@@ -73,14 +72,7 @@ public class JwtValidationUtils {
      * @return トークン
      */
     public static String extractTokenFromCookie(HttpServletRequest request) {
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            return Arrays.stream(cookies)
-                    .filter(c -> "AuthToken".equals(c.getName()))
-                    .map(Cookie::getValue)
-                    .findFirst().orElse(null);
-        }
-        return null;
+        return CookieIndex.of(request).getFirstValue("AuthToken");
     }
 
     /**
@@ -1,14 +1,17 @@
 package com.collaboportal.common.login.strategy;
 
+import com.collaboportal.common.context.web.AttributeKey;
+import com.collaboportal.common.context.web.AttributeSlots;
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.context.web.BaseResponse;
-import com.collaboportal.common.exception.AuthenticationException;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
 import com.collaboportal.common.jwt.constants.JwtConstants;
 
 import com.collaboportal.common.jwt.service.JwtService;
 import com.collaboportal.common.login.model.DTO.UserMasterEPL;
 import com.collaboportal.common.login.service.LoginUserMasterService;
-import com.collaboportal.common.strategy.authorization.AuthorizationStrategy;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionStrategy;
 import com.collaboportal.common.utils.Message;
 
 import io.jsonwebtoken.ExpiredJwtException;
@@ -32,13 +35,25 @@ import org.springframework.stereotype.Component;
  * - トークンが存在しない、期限切れ、または無効な場合はログインページにリダイレクト
  */
 @Component("databaseAuthStrategy")
-public class DatabaseAuthStrategy implements AuthorizationStrategy {
+public class DatabaseAuthStrategy implements AuthDecisionStrategy {
 
     /**
      * ログレコーダー、認証プロセス中の各種状態とエラー情報を記録するために使用
      */
     private static final Logger logger = LoggerFactory.getLogger(DatabaseAuthStrategy.class);
 
+    /**
+     * ログインページへのリダイレクト判定（不変のため共有）
+     */
+    private static final AuthDecision LOGIN_REDIRECT = AuthDecision.redirect("/login.html");
+
+    /**
+     * 認証済みユーザー情報の型付き属性キー
+     * 認証成功時にリクエストへ設定され、後続の処理はDBを再検索せずに {@code CommonHolder.getStorage().get(AUTHENTICATED_USER)} で参照できる
+     */
+    public static final AttributeKey<UserMasterEPL> AUTHENTICATED_USER = AttributeKey.of("login.authenticatedUser",
+            UserMasterEPL.class);
+
     /**
      * JWTトークンユーティリティクラス、トークンの生成、検証、操作に使用
      */
@@ -66,14 +81,14 @@ public class DatabaseAuthStrategy implements AuthorizationStrategy {
      * 2. トークンが存在するかを確認
      * 3. トークンが存在する場合、有効性と期限切れ状態を検証
      * 4. 有効なトークンに対して、ユーザー情報を抽出しトークンを更新
-     * 5. 無効または存在しないトークンに対して、ログインページにリダイレクト
+     * 5. 無効または存在しないトークンに対して、ログインページへのリダイレクト判定を返す
      * 
      * @param request  ベースリクエストオブジェクト、HTTPリクエストの関連情報を含む
      * @param response ベースレスポンスオブジェクト、HTTPレスポンスの関連情報を設定するために使用
-     * @throws AuthenticationException 認証プロセス中にエラーが発生した場合に投げられる
+     * @return 認証判定結果
      */
     @Override
-    public void authenticate(BaseRequest request, BaseResponse response) throws AuthenticationException {
+    public AuthDecision decide(BaseRequest request, BaseResponse response) {
         logger.debug("请求头：{}", request.getHeader("Authorization-Type"));
         logger.debug("データベース認証戦略の実行を開始します...");
 
@@ -85,18 +100,14 @@ public class DatabaseAuthStrategy implements AuthorizationStrategy {
         // トークンが存在するかを確認
         // トークンが存在しないか空文字列の場合、ユーザーがまだログインしていないか、ログイン状態が失効していることを表す
         if (token == null || token.isEmpty()) {
-            response.redirect("/login.html");
-            response.flush();
-            return;
+            return LOGIN_REDIRECT;
         }
 
         try {
             // トークンが期限切れかを検証
             // JWTトークンは期限切れ時間情報を含み、ここで現在時間がトークンの有効期限を超えているかを確認
             if (!jwtService.validateToken(token, JwtConstants.VALIDATE_TYPE_EXPIRED)) {
-                response.redirect("/login.html");
-                response.flush();
-                return;
+                return LOGIN_REDIRECT;
             }
 
             // JWTトークンからユーザー情報を抽出
@@ -107,9 +118,7 @@ public class DatabaseAuthStrategy implements AuthorizationStrategy {
             // ユーザー情報が空かを確認
             // トークンが有効でも、ユーザー情報が含まれていない場合は認証失敗と見なす
             if ("".equals(email) || email == null) {
-                response.redirect("/login.html");
-                response.flush();
-                return;
+                return LOGIN_REDIRECT;
             }
             UserMasterEPL userInfo = loginUserMasterService.loadByEmail(email);
             
@@ -119,22 +128,22 @@ public class DatabaseAuthStrategy implements AuthorizationStrategy {
             
             // 認証成功、成功メッセージを記録
             logger.info("ユーザーデータベース認証成功：{}。", userInfo.getUserMail());
+            AttributeSlots slots = AttributeSlots.of(request);
+            slots.set(AUTHENTICATED_USER, userInfo);
+            slots.set(CommonAttributeKeys.AUTH_TOKEN, token);
             logger.debug("トークン検証完了 - 認証戦略での処理を終了します");
+            return AuthDecision.allow();
 
         } catch (ExpiredJwtException e) {
             // JWT期限切れ例外をキャッチ
             // これは正常なビジネスフローであり、トークンが期限切れの場合は再ログインが必要
             logger.info("認証トークンが期限切れです（例外キャッチ）。ログインページにリダイレクトします。");
-            response.redirect("/login.html");
-            response.flush();
-            return;
+            return LOGIN_REDIRECT;
         } catch (Exception e) {
             // その他の可能な例外をキャッチ（トークン形式エラー、署名無効など）
             // エラーを記録してログインページにリダイレクト
             logger.error("データベーストークン検証プロセス中にエラーが発生しました。ログインページにリダイレクトします。", e);
-            response.redirect("/login.html");
-            response.flush();
-            return;
+            return LOGIN_REDIRECT;
         }
     }
 }
@@ -2,6 +2,8 @@ package com.collaboportal.common.oauth2.chain;
 
 import com.collaboportal.common.oauth2.context.OAuth2ProviderContext;
 import com.collaboportal.common.oauth2.handler.JwtValidationHandler;
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.TimingStage;
 
 /**
  * JWT検証チェーン処理器、連結リストを使用して責任の鎖パターンを実装
@@ -13,6 +15,8 @@ import com.collaboportal.common.oauth2.handler.JwtValidationHandler;
  * 4. 拡張性：条件付きハンドラーや並列処理分岐を簡単に挿入可能
  * 5. 順序保証：追加順序に厳密に従ってハンドラーを実行し、責任の鎖パターンの期待動作に合致
  * 6. デバッグ容易：各ノードが独立しており、特定のハンドラーを単独でテスト・デバッグしやすい
+ *
+ * 各ハンドラーの処理時間は追加時に決定した処理段階（{@code jwt-<名前>}）として記録されます。
  */
 public class JwtValidationChain {
 
@@ -21,10 +25,13 @@ public class JwtValidationChain {
      */
     private static class HandlerNode {
         JwtValidationHandler handler;
+        // 処理時間を記録する段階（追加時に決定し、実行時には登録処理を行わない）
+        TimingStage stage;
         HandlerNode next;
         
-        HandlerNode(JwtValidationHandler handler) {
+        HandlerNode(JwtValidationHandler handler, TimingStage stage) {
             this.handler = handler;
+            this.stage = stage;
             this.next = null;
         }
     }
@@ -33,6 +40,8 @@ public class JwtValidationChain {
     private HandlerNode head;
     // 連結リストの末尾ノード、効率的な新しいハンドラー追加に使用
     private HandlerNode tail;
+    // 追加済みのハンドラー数（名前を省略した場合の採番に使用）
+    private int size;
 
     /**
      * ハンドラーをチェーンの末尾に追加
@@ -42,7 +51,20 @@ public class JwtValidationChain {
      * @return チェーンインスタンス、流暢な呼び出しをサポート
      */
     public JwtValidationChain addHandler(JwtValidationHandler handler) {
-        HandlerNode newNode = new HandlerNode(handler);
+        return addHandler("handler-" + size, handler);
+    }
+
+    /**
+     * 名前を付けてハンドラーをチェーンの末尾に追加
+     * 処理時間は {@code jwt-<名前>} の処理段階として記録されます。
+     * 
+     * @param name    ハンドラーの名前（英数字と「-」「_」のみ）
+     * @param handler 追加するJWT検証ハンドラー
+     * @return チェーンインスタンス、流暢な呼び出しをサポート
+     */
+    public JwtValidationChain addHandler(String name, JwtValidationHandler handler) {
+        HandlerNode newNode = new HandlerNode(handler, TimingStage.of("jwt-" + name));
+        size++;
         
         if (head == null) {
             // 最初のノードは同時に先頭と末尾
@@ -65,9 +87,17 @@ public class JwtValidationChain {
      * @return すべてのハンドラーが成功した場合はtrue、いずれかのハンドラーが失敗した場合はfalse
      */
     public boolean execute(OAuth2ProviderContext context) {
+        RequestTimings timings = RequestTimings.current();
         HandlerNode current = head;
         while (current != null) {
-            if (!current.handler.handle(context)) {
+            long start = timings.begin(current.stage);
+            boolean handled;
+            try {
+                handled = current.handler.handle(context);
+            } finally {
+                timings.end(current.stage, start);
+            }
+            if (!handled) {
                 // 短絡実行：いずれかのハンドラーが失敗した場合、即座に戻る
                 return false;
             }
@@ -1,9 +1,10 @@
 package com.collaboportal.common.oauth2.strategy;
 
 import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.web.AttributeSlots;
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.context.web.BaseResponse;
-import com.collaboportal.common.exception.AuthenticationException;
+import com.collaboportal.common.context.web.CommonAttributeKeys;
 import com.collaboportal.common.jwt.constants.JwtConstants;
 import com.collaboportal.common.jwt.service.JwtService;
 import com.collaboportal.common.jwt.utils.CookieUtil;
@@ -15,20 +16,23 @@ import com.collaboportal.common.oauth2.factory.OAuth2ClientRegistrationFactory;
 import com.collaboportal.common.oauth2.model.OAuth2ClientRegistration;
 import com.collaboportal.common.oauth2.registry.JwtTokenStrategyRegistry;
 import com.collaboportal.common.oauth2.utils.JwtValidationUtils;
-import com.collaboportal.common.strategy.authorization.AuthorizationStrategy;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionStrategy;
 import com.collaboportal.common.utils.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component("oauth2AuthStrategy")
-public class OAuth2AuthStrategy implements AuthorizationStrategy {
+public class OAuth2AuthStrategy implements AuthDecisionStrategy {
 
     private static final Logger logger = LoggerFactory.getLogger(OAuth2AuthStrategy.class);
 
     private final JwtService jwtService;
     private final OAuth2ClientRegistrationFactory clientRegistrationFactory;
     private final JwtTokenStrategyRegistry jwtTokenStrategyRegistry;
+    // 検証チェーン（ハンドラーは状態を持たないため、リクエストごとに構築せず共有する）
+    private final JwtValidationChain validationChain;
 
     private final String localAuthPage = "/testEnv";
 
@@ -40,38 +44,38 @@ public class OAuth2AuthStrategy implements AuthorizationStrategy {
         this.clientRegistrationFactory = clientRegistrationFactory;
         this.jwtTokenStrategyRegistry = new JwtTokenStrategyRegistry();
         registerDefaultStrategies();
+        this.validationChain = buildValidationChain();
         logger.debug("OAuth2AuthStrategy の初期化が完了しました。");
     }
 
     /**
      * 認証戦略のコア実装。
      * 複雑なOAuth2認証とリダイレクトロジックを処理するために、検証チェーンを構築し実行します。
+     * リダイレクトが必要な場合はレスポンスへ直接書き込まず、判定結果として返します。
      */
     @Override
-    public void authenticate(BaseRequest request, BaseResponse response) throws AuthenticationException {
+    public AuthDecision decide(BaseRequest request, BaseResponse response) {
         logger.debug("请求头：{}", request.getHeader("Authorization-Type"));
         logger.debug("OAuth2認証戦略の実行を開始します...");
         OAuth2ProviderContext context = OAuth2ProviderContext.builder().request(request).response(response).build();
-        // 2. 責任チェーンを構築し実行します
-        JwtValidationChain chain = buildValidationChain();
-        boolean success = chain.execute(context);
+        // 2. 構築済みの責任チェーンを実行します
+        boolean success = validationChain.execute(context);
 
         // 3. チェーンの実行結果に基づいて処理を行います
         if (success) {
             // チェーンが正常に実行された場合（トークンが有効または更新されたことを意味する）、認証は成功です
             logger.info("OAuth2認証が成功し、トークンは有効です。");
-        } else {
-            // チェーンの実行が中断された場合（リダイレクトが必要であることを意味する）、RedirectExceptionをスローします
-            String redirectUrl = context.getAuthProviderUrl();
-            if (redirectUrl == null || redirectUrl.isBlank()) {
-                logger.error("OAuth2認証は失敗しましたが、リダイレクトURLが提供されていません。");
-                throw new OAuth2ConfigurationException("OAuth2認証は失敗し、リダイレクトアドレスを特定できません。");
-            }
-            logger.info("OAuth2認証にはリダイレクトが必要です。ターゲットアドレス: {}", redirectUrl);
-            response.redirect(redirectUrl);
-            response.flush();
+            return AuthDecision.allow();
+        }
+
+        // チェーンの実行が中断された場合（リダイレクトが必要であることを意味する）、リダイレクト判定を返します
+        String redirectUrl = context.getAuthProviderUrl();
+        if (redirectUrl == null || redirectUrl.isBlank()) {
+            logger.error("OAuth2認証は失敗しましたが、リダイレクトURLが提供されていません。");
+            throw new OAuth2ConfigurationException("OAuth2認証は失敗し、リダイレクトアドレスを特定できません。");
         }
-        return;
+        logger.info("OAuth2認証にはリダイレクトが必要です。ターゲットアドレス: {}", redirectUrl);
+        return AuthDecision.redirect(redirectUrl);
     }
 
     private void registerDefaultStrategies() {
@@ -82,11 +86,11 @@ public class OAuth2AuthStrategy implements AuthorizationStrategy {
 
     private JwtValidationChain buildValidationChain() {
         JwtValidationChain chain = new JwtValidationChain();
-        chain.addHandler(this::providerIdHandler);
-        chain.addHandler(this::oauthContextHandler);
-        chain.addHandler(this::stateResolveHandler);
-        chain.addHandler(this::cookieCheckHandler);
-        chain.addHandler(this::tokenValidationHandler);
+        chain.addHandler("providerId", this::providerIdHandler);
+        chain.addHandler("oauthContext", this::oauthContextHandler);
+        chain.addHandler("state", this::stateResolveHandler);
+        chain.addHandler("cookie", this::cookieCheckHandler);
+        chain.addHandler("token", this::tokenValidationHandler);
         return chain;
     }
 
@@ -130,8 +134,8 @@ public class OAuth2AuthStrategy implements AuthorizationStrategy {
     }
 
     private boolean cookieCheckHandler(OAuth2ProviderContext context) {
-        if (context.getRequest().getCookieValue(Message.Cookie.AUTH) == null
-                || context.getRequest().getCookieValue(Message.Cookie.AUTH).isEmpty()) {
+        String authCookie = context.getRequest().getCookieValue(Message.Cookie.AUTH);
+        if (authCookie == null || authCookie.isEmpty()) {
             logger.debug("認証Cookieが検出されませんでした。");
             if (!JwtValidationUtils.isUseCookieAuthorization(context.getRequest())) {
                 logger.warn("現在のパスではCookieモードの使用が許可されていません。認証は拒否されました。");
@@ -166,6 +170,7 @@ public class OAuth2AuthStrategy implements AuthorizationStrategy {
             String updatedToken = jwtService.generateToken(token, JwtConstants.GENERATE_REFRESH_FROM_OLD);
             logger.debug("トークンの検証に成功し、更新されました。");
             JwtValidationUtils.setCookie(context.getResponse(), Message.Cookie.AUTH, updatedToken);
+            AttributeSlots.of(context.getRequest()).set(CommonAttributeKeys.AUTH_TOKEN, updatedToken);
             return true;
         } catch (Exception e) {
             logger.warn("トークン検証エラー: {}", e.getMessage(), e);
@@ -2,7 +2,7 @@ package com.collaboportal.common.oauth2.template.ext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.model.MaintenanceMode;
 import com.collaboportal.common.context.oauth2.CallbackContext;
 import com.collaboportal.common.context.web.BaseResponse;
 import com.collaboportal.common.jwt.constants.JwtConstants;
@@ -137,7 +137,7 @@ public class CallbackLoginTemplate extends OAuth2LoginTemplate {
             logger.debug("認証用Cookie（{}）の設定が完了しました。", Message.Cookie.AUTH);
 
             // 成功時のリダイレクト処理
-            performSuccessRedirect(context.getResponse(), ConfigManager.getConfig().getIndexPage(), email);
+            performSuccessRedirect(context.getResponse(), MaintenanceMode.current().getIndexPage(), email);
 
         } catch (OAuth2AuthorizationException | OAuth2UserException e) {
             // OAuth関連の制御された例外
@@ -179,7 +179,7 @@ public class CallbackLoginTemplate extends OAuth2LoginTemplate {
 
             // 2. ユーザーをアプリケーションのトップページにリダイレクト
             //    (フロントエンドのJavaScriptがCookieを読み取り、/#/errorに遷移させる)
-            String indexPage = ConfigManager.getConfig().getIndexPage();
+            String indexPage = MaintenanceMode.current().getIndexPage();
             logger.warn("{}, トップページ ({}) へリダイレクトします。", logMessage, indexPage);
             
             response.redirect(indexPage);
@@ -1,5 +1,7 @@
 package com.collaboportal.common.oauth2.utils;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import com.collaboportal.common.oauth2.processor.APIClientProcessor;
@@ -10,29 +12,39 @@ import retrofit2.converter.gson.GsonConverterFactory;
 
 public class APIClient {
 
+    // 全APIClientで共有するHTTPクライアント（接続プールとディスパッチャーを呼び出しごとに生成しない）
+    private static final OkHttpClient SHARED_CLIENT = new OkHttpClient.Builder()
+            .connectTimeout(30, TimeUnit.SECONDS) // 接続タイムアウト
+            .readTimeout(30, TimeUnit.SECONDS) // 読み込みタイムアウト
+            .writeTimeout(30, TimeUnit.SECONDS) // 書き込みタイムアウト
+            .addInterceptor(new TraceparentInterceptor()) // 処理中のリクエストのトレース情報を伝搬
+            .build();
+
+    // ベースURLごとに生成済みのサービス
+    private static final Map<String, APIClientProcessor> PROCESSORS = new ConcurrentHashMap<>();
+
     /** サービス */
     APIClientProcessor apiClientProcessor;
 
     /**
      * セットアップ
+     * 同じベースURLに対するサービスは共有され、HTTP接続も再利用されます。
      * 
      * @param baseUrl ベースURL
      */
     public APIClient(String baseUrl) {
+        apiClientProcessor = PROCESSORS.computeIfAbsent(baseUrl, APIClient::createProcessor);
+    }
 
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS) // 接続タイムアウト
-                .readTimeout(30, TimeUnit.SECONDS) // 読み込みタイムアウト
-                .writeTimeout(30, TimeUnit.SECONDS) // 書き込みタイムアウト
-                .build();
-
+    // ベースURLに対するサービスを生成する
+    private static APIClientProcessor createProcessor(String baseUrl) {
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(baseUrl)
                 .addConverterFactory(GsonConverterFactory.create())
-                .client(client)
+                .client(SHARED_CLIENT)
                 .build();
 
-        apiClientProcessor = retrofit.create(APIClientProcessor.class);
+        return retrofit.create(APIClientProcessor.class);
     }
 
     /**
@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.Router.RouteTrieMatcher;
 import com.collaboportal.common.context.web.BaseCookie;
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.context.web.BaseResponse;
@@ -93,6 +94,9 @@ public class JwtValidationUtils {
                 callback);
     }
 
+    // Cookieからトークンを抽出するパス（起動時にコンパイル）
+    private static final RouteTrieMatcher COOKIE_TOKEN_ROUTE = RouteTrieMatcher.compile(List.of("/mr", "/", "/index.html"));
+
     /**
      * パスに基づいて認証戦略を決定する
      * 
@@ -100,11 +104,6 @@ public class JwtValidationUtils {
      * @return 認証戦略 ("cookie" または "header")
      */
     public static String decideStrategyByPath(BaseRequest request) {
-        String path = request.getRequestPath();
-        if ("/mr".equals(path) || "/".equals(path) || "/index.html".equals(path)) {
-            return "cookie";
-        } else {
-            return "header";
-        }
+        return COOKIE_TOKEN_ROUTE.isTarget(request.getRequestPath()) ? "cookie" : "header";
     }
 }
\ No newline at end of file
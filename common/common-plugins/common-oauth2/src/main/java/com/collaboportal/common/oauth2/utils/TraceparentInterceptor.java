@@ -0,0 +1,49 @@
+package com.collaboportal.common.oauth2.utils;
+
+import java.io.IOException;
+
+import com.collaboportal.common.trace.TraceContext;
+import com.collaboportal.common.utils.TraceIdGenerator;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 外部API呼び出しに {@code traceparent} ヘッダーを付与するインターセプター
+ * 処理中のリクエストのトレース情報から子スパンを作成し、呼び出し先に同じトレースIDを伝搬します。
+ * 呼び出し元のスレッドでリクエストが処理中でない場合（非同期呼び出し等）や、ヘッダーが設定済みの場合は何もしません。
+ */
+public class TraceparentInterceptor implements Interceptor {
+
+    // スパンIDの生成方式
+    private final TraceIdGenerator idGenerator;
+
+    /**
+     * コンストラクタ
+     */
+    public TraceparentInterceptor() {
+        this(TraceIdGenerator.fast());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param idGenerator スパンIDの生成方式
+     */
+    public TraceparentInterceptor(TraceIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        TraceContext context = TraceContext.current();
+        if (context == null || request.header(TraceContext.HEADER) != null) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder()
+                .header(TraceContext.HEADER, context.child(idGenerator).toTraceparent())
+                .build());
+    }
+}
@@ -1,7 +1,6 @@
 package com.collaboportal.common.servlet;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -14,9 +13,9 @@ import com.collaboportal.common.application.ApplicationInfo;
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.error.InternalErrorCode;
 import com.collaboportal.common.exception.CommonException;
+import com.collaboportal.common.utils.CookieIndex;
 
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -105,12 +104,7 @@ public class RequestForServlet implements BaseRequest {
 	 */
 	@Override
 	public String getCookieValue(String name) {
-		return request.getCookies() == null ? null
-				: Arrays.stream(request.getCookies())
-						.filter(cookie -> cookie.getName().equals(name))
-						.findFirst()
-						.map(Cookie::getValue)
-						.orElse(null);
+		return CookieIndex.of(request).getFirstValue(name);
 	}
 
 	/**
@@ -121,15 +115,7 @@ public class RequestForServlet implements BaseRequest {
 	 */
 	@Override
 	public String getCookieFirstValue(String name) {
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			for (Cookie cookie : cookies) {
-				if (cookie != null && name.equals(cookie.getName())) {
-					return cookie.getValue();
-				}
-			}
-		}
-		return null;
+		return CookieIndex.of(request).getFirstValue(name);
 	}
 
 	/**
@@ -140,16 +126,7 @@ public class RequestForServlet implements BaseRequest {
 	 */
 	@Override
 	public String getCookieLastValue(String name) {
-		String value = null;
-		Cookie[] cookies = request.getCookies();
-		if (cookies != null) {
-			for (Cookie cookie : cookies) {
-				if (cookie != null && name.equals(cookie.getName())) {
-					value = cookie.getValue();
-				}
-			}
-		}
-		return value;
+		return CookieIndex.of(request).getLastValue(name);
 	}
 
 	/**
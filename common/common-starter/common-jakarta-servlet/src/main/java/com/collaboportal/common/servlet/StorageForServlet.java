@@ -1,6 +1,7 @@
 
 package com.collaboportal.common.servlet;
 
+import com.collaboportal.common.context.web.AttributeSlots;
 import com.collaboportal.common.context.web.BaseStorage;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +18,11 @@ public class StorageForServlet implements BaseStorage {
 	 * 底层Request对象
 	 */
 	protected HttpServletRequest request;
+
+	/**
+	 * 型付き属性のスロット表（最初のアクセス時に取得）
+	 */
+	private AttributeSlots slots;
 	
 	/**
 	 * 实例化
@@ -34,6 +40,20 @@ public class StorageForServlet implements BaseStorage {
 		return request;
 	}
 
+	/**
+	 * 型付き属性のスロット表を取得します。
+	 * スロット表はリクエスト属性として共有され、このラッパーでは参照を保持して再取得を省きます。
+	 */
+	@Override
+	public AttributeSlots getSlots() {
+		AttributeSlots current = slots;
+		if (current == null) {
+			current = AttributeSlots.of(request);
+			slots = current;
+		}
+		return current;
+	}
+
 	/**
 	 * 在 [Request作用域] 里写入一个值 
 	 */
@@ -0,0 +1,141 @@
+package com.collaboportal.common.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * コンパイル済みPathPatternキャッシュクラス
+ * ルートパターン文字列ごとにPathPatternを一度だけ解析し、上限付きで並行に再利用します。
+ */
+public class PathPatternCache {
+
+    // デフォルトの最大キャッシュ件数
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    // パターン文字列とコンパイル済みパターンのマップ
+    private final Map<String, PathPattern> patterns = new ConcurrentHashMap<>();
+
+    // パターン解析器
+    private final PathPatternParser parser;
+
+    // 最大キャッシュ件数
+    private final int maxSize;
+
+    // ヒット件数
+    private final LongAdder hitCount = new LongAdder();
+
+    // ミス件数
+    private final LongAdder missCount = new LongAdder();
+
+    // 追い出し件数
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param parser  パターン解析器
+     * @param maxSize 最大キャッシュ件数
+     */
+    public PathPatternCache(PathPatternParser parser, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSizeは1以上を指定してください: " + maxSize);
+        }
+        this.parser = parser;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * コンパイル済みパターンを取得します。未登録の場合は解析して登録します。
+     *
+     * @param pattern ルートパターン
+     * @return コンパイル済みパターン
+     */
+    public PathPattern get(String pattern) {
+        PathPattern compiled = patterns.get(pattern);
+        if (compiled != null) {
+            hitCount.increment();
+            return compiled;
+        }
+        missCount.increment();
+        compiled = parser.parse(pattern);
+        if (patterns.size() >= maxSize) {
+            evictOne();
+        }
+        PathPattern existing = patterns.putIfAbsent(pattern, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * 上限到達時に任意の1件を追い出します。
+     * ルートパターンは設定由来で件数が限られるため、追い出しは例外的な経路です。
+     */
+    private void evictOne() {
+        Iterator<String> it = patterns.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * キャッシュをすべて破棄します（統計は保持します）。
+     */
+    public void clear() {
+        patterns.clear();
+    }
+
+    /**
+     * 現在のキャッシュ件数を取得します。
+     *
+     * @return キャッシュ件数
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * キャッシュ統計情報を取得します。
+     *
+     * @return 統計情報マップ
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = getHitCount();
+        long misses = getMissCount();
+        stats.put("size", size());
+        stats.put("max_size", maxSize);
+        stats.put("hit_count", hits);
+        stats.put("miss_count", misses);
+        stats.put("eviction_count", getEvictionCount());
+        stats.put("hit_rate", hits + misses == 0 ? 0.0d : (double) hits / (hits + misses));
+        return stats;
+    }
+
+    /**
+     * 統計情報をリセットします。
+     */
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+}
@@ -1,14 +1,127 @@
 package com.collaboportal.common.utils;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.springframework.http.server.PathContainer;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
 
+/**
+ * パスパターンマッチングユーティリティ
+ * コンパイル済みパターンをキャッシュし、同一リクエストパスの解析結果をスレッド単位で再利用します。
+ */
 public class PathPatternParserUtil {
-    public static boolean match(String pattern, String path) {
-		PathPattern pathPattern = PathPatternParser.defaultInstance.parse(pattern);
-		PathContainer pathContainer = PathContainer.parsePath(path);
-		return pathPattern.matches(pathContainer);
-    }
+
+	// コンパイル済みパターンキャッシュ
+	private static final PathPatternCache PATTERN_CACHE = new PathPatternCache(PathPatternParser.defaultInstance,
+			PathPatternCache.DEFAULT_MAX_SIZE);
+
+	// 直近に解析したリクエストパス（スレッド単位）
+	private static final ThreadLocal<ParsedPath> LAST_PATH = new ThreadLocal<>();
+
+	private PathPatternParserUtil() {
+	}
+
+	/**
+	 * パターンとパスのマッチングを行います。
+	 *
+	 * @param pattern ルートパターン
+	 * @param path    リクエストパス
+	 * @return マッチした場合はtrue
+	 */
+	public static boolean match(String pattern, String path) {
+		return match(pattern, parsePath(path));
+	}
+
+	/**
+	 * パターンと解析済みパスのマッチングを行います。
+	 *
+	 * @param pattern       ルートパターン
+	 * @param pathContainer 解析済みパス
+	 * @return マッチした場合はtrue
+	 */
+	public static boolean match(String pattern, PathContainer pathContainer) {
+		return PATTERN_CACHE.get(pattern).matches(pathContainer);
+	}
+
+	/**
+	 * パターンのいずれかがパスにマッチするか判定します。パスの解析は一度だけ行います。
+	 *
+	 * @param patterns ルートパターンのコレクション
+	 * @param path     リクエストパス
+	 * @return いずれかがマッチした場合はtrue
+	 */
+	public static boolean matchAny(Collection<String> patterns, String path) {
+		if (patterns == null || patterns.isEmpty()) {
+			return false;
+		}
+		PathContainer pathContainer = parsePath(path);
+		for (String pattern : patterns) {
+			if (match(pattern, pathContainer)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * コンパイル済みパターンを取得します。
+	 *
+	 * @param pattern ルートパターン
+	 * @return コンパイル済みパターン
+	 */
+	public static PathPattern getPattern(String pattern) {
+		return PATTERN_CACHE.get(pattern);
+	}
+
+	/**
+	 * リクエストパスを解析します。
+	 * 同一スレッドで直前と同じパスが渡された場合は前回の解析結果を返すため、
+	 * 1リクエスト内で複数パターンを評価してもパスの解析は一度で済みます。
+	 *
+	 * @param path リクエストパス
+	 * @return 解析済みパス
+	 */
+	public static PathContainer parsePath(String path) {
+		ParsedPath last = LAST_PATH.get();
+		if (last != null && last.path.equals(path)) {
+			return last.container;
+		}
+		PathContainer container = PathContainer.parsePath(path);
+		LAST_PATH.set(new ParsedPath(path, container));
+		return container;
+	}
+
+	/**
+	 * パターンキャッシュの統計情報を取得します。
+	 *
+	 * @return ヒット/ミス/追い出し件数を含む統計情報
+	 */
+	public static Map<String, Object> getCacheStatistics() {
+		return PATTERN_CACHE.getStatistics();
+	}
+
+	/**
+	 * パターンキャッシュを取得します。
+	 *
+	 * @return パターンキャッシュ
+	 */
+	public static PathPatternCache getPatternCache() {
+		return PATTERN_CACHE;
+	}
+
+	/**
+	 * 解析済みパスの保持クラス
+	 */
+	private static final class ParsedPath {
+		private final String path;
+		private final PathContainer container;
+
+		private ParsedPath(String path, PathContainer container) {
+			this.path = path;
+			this.container = container;
+		}
+	}
 
 }
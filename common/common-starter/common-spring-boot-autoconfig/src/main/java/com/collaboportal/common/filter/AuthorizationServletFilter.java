@@ -5,19 +5,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletResponse;
 
-import com.collaboportal.common.Router.CommonRouter;
+import com.collaboportal.common.Router.RouteTrieMatcher;
+import com.collaboportal.common.Router.RouteVerdictCache;
 import com.collaboportal.common.context.CommonHolder;
 
 import com.collaboportal.common.exception.BackResultException;
 import com.collaboportal.common.exception.StopMatchException;
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionWriter;
 import com.collaboportal.common.strategy.authorization.AuthorizationErrorStrategy;
 import com.collaboportal.common.strategy.authorization.AuthorizationStrategy;
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.TimingStage;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 認可サーブレットフィルター
@@ -32,14 +42,81 @@ public class AuthorizationServletFilter implements Filter, AuthFilter {
     /**
      * インターセプトルート
      * このリストに含まれるパターンにマッチするリクエストは認証が必要です
+     * 変更はルートマッチャーの再構築と合わせて行うため、外部からは追加・設定メソッドでのみ変更できます
      */
-    public List<String> includeList = new ArrayList<>();
+    private List<String> includeList = new ArrayList<>();
 
     /**
      * 通過ルート
      * このリストに含まれるパターンにマッチするリクエストは認証をスキップします
+     * 変更はルートマッチャーの再構築と合わせて行うため、外部からは追加・設定メソッドでのみ変更できます
      */
-    public List<String> excludeList = new ArrayList<>();
+    private List<String> excludeList = new ArrayList<>();
+
+    /**
+     * includeList/excludeListをコンパイルしたルートマッチャーとパス単位の判定キャッシュ
+     * ルート設定の変更時に丸ごと差し替えるため、リクエスト処理中は常に一貫した状態を参照し、
+     * 差し替えと同時にキャッシュも無効化されます
+     */
+    private volatile RouteVerdictCache routes = new RouteVerdictCache(RouteTrieMatcher.EMPTY);
+
+    /**
+     * 判定キャッシュの最大件数
+     */
+    private int routeCacheSize = RouteVerdictCache.DEFAULT_MAX_SIZE;
+
+    /**
+     * includeList/excludeListからルートマッチャーを再構築します
+     * 追加・設定メソッドは自動で再構築するため、通常は呼び出す必要はありません
+     * @return このフィルターインスタンス
+     */
+    public synchronized AuthorizationServletFilter rebuildRoutes() {
+        RouteTrieMatcher matcher = RouteTrieMatcher.compile(new ArrayList<>(includeList), new ArrayList<>(excludeList));
+        routes = new RouteVerdictCache(matcher, routeCacheSize);
+        return this;
+    }
+
+    /**
+     * インクルードリストを取得します
+     * @return インクルードパスの変更不可のコピー
+     */
+    public synchronized List<String> getIncludeList() {
+        return Collections.unmodifiableList(new ArrayList<>(includeList));
+    }
+
+    /**
+     * エクスクルードリストを取得します
+     * @return エクスクルードパスの変更不可のコピー
+     */
+    public synchronized List<String> getExcludeList() {
+        return Collections.unmodifiableList(new ArrayList<>(excludeList));
+    }
+
+    /**
+     * 判定キャッシュの最大件数を設定します
+     * @param routeCacheSize 最大件数
+     * @return このフィルターインスタンス
+     */
+    public synchronized AuthorizationServletFilter setRouteCacheSize(int routeCacheSize) {
+        this.routeCacheSize = routeCacheSize;
+        return rebuildRoutes();
+    }
+
+    /**
+     * 現在のルートマッチャーを取得します
+     * @return コンパイル済みルートマッチャー
+     */
+    public RouteTrieMatcher getRouteMatcher() {
+        return routes.getMatcher();
+    }
+
+    /**
+     * 判定キャッシュの統計情報を取得します
+     * @return ヒット率などの統計情報
+     */
+    public Map<String, Object> getRouteCacheStatistics() {
+        return routes.getStatistics();
+    }
 
     /**
      * インクルードパスを追加します
@@ -47,9 +124,9 @@ public class AuthorizationServletFilter implements Filter, AuthFilter {
      * @return このフィルターインスタンス
      */
     @Override
-    public AuthorizationServletFilter addInclude(String... paths) {
+    public synchronized AuthorizationServletFilter addInclude(String... paths) {
         includeList.addAll(Arrays.asList(paths));
-        return this;
+        return rebuildRoutes();
     }
 
     /**
@@ -58,31 +135,33 @@ public class AuthorizationServletFilter implements Filter, AuthFilter {
      * @return このフィルターインスタンス
      */
     @Override
-    public AuthorizationServletFilter addExclude(String... paths) {
+    public synchronized AuthorizationServletFilter addExclude(String... paths) {
         excludeList.addAll(Arrays.asList(paths));
-        return this;
+        return rebuildRoutes();
     }
 
     /**
      * インクルードリストを設定します
-     * @param pathList パスリスト
+     * リストはコピーして保持するため、呼び出し後に元のリストを変更しても影響しません
+     * @param pathList パスリスト（nullの場合は空）
      * @return このフィルターインスタンス
      */
     @Override
-    public AuthorizationServletFilter setIncludeList(List<String> pathList) {
-        includeList = pathList;
-        return this;
+    public synchronized AuthorizationServletFilter setIncludeList(List<String> pathList) {
+        includeList = pathList == null ? new ArrayList<>() : new ArrayList<>(pathList);
+        return rebuildRoutes();
     }
 
     /**
      * エクスクルードリストを設定します
-     * @param pathList パスリスト
+     * リストはコピーして保持するため、呼び出し後に元のリストを変更しても影響しません
+     * @param pathList パスリスト（nullの場合は空）
      * @return このフィルターインスタンス
      */
     @Override
-    public AuthorizationServletFilter setExcludeList(List<String> pathList) {
-        excludeList = pathList;
-        return this;
+    public synchronized AuthorizationServletFilter setExcludeList(List<String> pathList) {
+        excludeList = pathList == null ? new ArrayList<>() : new ArrayList<>(pathList);
+        return rebuildRoutes();
     }
 
     /**
@@ -152,18 +231,34 @@ public class AuthorizationServletFilter implements Filter, AuthFilter {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
+        AuthDecision decision;
+        // 前処理・認証・後続処理の処理時間を段階ごとに記録する
+        RequestTimings timings = RequestTimings.current();
         try {
-            logger.info("[AUTH    ] tid={} uri={}", Thread.currentThread().getId(), CommonHolder.getRequest().getRequestPath());
+            BaseRequest req = CommonHolder.getRequest();
+            BaseResponse resp = CommonHolder.getResponse();
+            String path = req.getRequestPath();
+            logger.info("[AUTH    ] tid={} uri={}", Thread.currentThread().getId(), path);
 
             // グローバル前処理フィルターを実行
             // この処理はすべてのリクエストに対して実行されます（includeList/excludeListの制限を受けません）
-            beforeAuth.authenticate(CommonHolder.getRequest(), CommonHolder.getResponse());
-            
+            long start = timings.begin(TimingStage.BEFORE_AUTH);
+            try {
+                decision = beforeAuth.decide(req, resp);
+            } finally {
+                timings.end(TimingStage.BEFORE_AUTH, start);
+            }
+
             // ルートマッチングを実行し、条件に合致した場合のみ認証処理を実行
-            CommonRouter.match(includeList).notMatch(excludeList).check(r -> {
+            if (decision.isAllowed() && routes.isTarget(path)) {
                 // メイン認証処理を実行
-                auth.authenticate(CommonHolder.getRequest(), CommonHolder.getResponse());
-            });
+                start = timings.begin(TimingStage.AUTHENTICATE);
+                try {
+                    decision = auth.decide(req, resp);
+                } finally {
+                    timings.end(TimingStage.AUTHENTICATE, start);
+                }
+            }
 
         } catch (StopMatchException e) {
             // ルートマッチング失敗時の例外処理
@@ -183,8 +278,20 @@ public class AuthorizationServletFilter implements Filter, AuthFilter {
             return;
         }
 
+        // 認証が拒否された場合：判定結果をレスポンスに書き込み、後続処理には進まない
+        if (!decision.isAllowed()) {
+            logger.debug("認証判定結果: {}", decision);
+            AuthDecisionWriter.write(decision, (HttpServletResponse) response);
+            return;
+        }
+
         // 正常処理時：次のフィルターまたはサーブレットに処理を委譲
-        chain.doFilter(request, response);
+        long start = timings.begin(TimingStage.CONTROLLER);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            timings.end(TimingStage.CONTROLLER, start);
+        }
     }
 
 }
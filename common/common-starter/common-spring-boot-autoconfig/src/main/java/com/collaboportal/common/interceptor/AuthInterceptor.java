@@ -12,6 +12,9 @@ import com.collaboportal.common.exception.BackResultException;
 import com.collaboportal.common.exception.CommonException;
 import com.collaboportal.common.exception.StopMatchException;
 import com.collaboportal.common.funcs.ParamFunction;
+import com.collaboportal.common.funcs.ParamRetFunction;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionWriter;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -25,6 +28,12 @@ public class AuthInterceptor implements HandlerInterceptor {
 
 	public Function<Object, Void> handleFunction;
 
+	/**
+	 * 認証判定関数
+	 * 拒否の判定結果を返した場合、例外を経由せずにレスポンスへ書き込み処理を中断します。
+	 */
+	public ParamRetFunction<Object, AuthDecision> decision;
+
 	public AuthInterceptor() {
 	}
 
@@ -41,11 +50,31 @@ public class AuthInterceptor implements HandlerInterceptor {
 		return this;
 	}
 
+	/**
+	 * 認証判定関数を設定します。
+	 *
+	 * @param decision 認証判定関数
+	 * @return このインターセプター
+	 */
+	public AuthInterceptor setDecision(ParamRetFunction<Object, AuthDecision> decision) {
+		this.decision = decision;
+		return this;
+	}
+
 	@Override
 	@SuppressWarnings("all")
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
 
+		if (decision != null) {
+			AuthDecision result = decision.run(handler);
+			if (!result.isAllowed()) {
+				logger.warn("認証に失敗しました: {}", result);
+				AuthDecisionWriter.write(result, response);
+				return false;
+			}
+		}
+
 		try {
 			auth.run(handler);
 
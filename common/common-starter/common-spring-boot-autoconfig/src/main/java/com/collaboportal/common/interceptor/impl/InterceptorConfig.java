@@ -9,11 +9,12 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.collaboportal.common.Router.CommonRouter;
+import com.collaboportal.common.Router.RouteTrieMatcher;
 import com.collaboportal.common.context.CommonHolder;
-import com.collaboportal.common.exception.StopMatchException;
 import com.collaboportal.common.interceptor.AuthInterceptor;
 import com.collaboportal.common.jwt.constants.JwtConstants;
 import com.collaboportal.common.jwt.service.JwtService;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
 import com.collaboportal.common.utils.Message;
 
 @AutoConfiguration
@@ -22,6 +23,9 @@ public class InterceptorConfig implements WebMvcConfigurer {
 
     private static final Logger logger = LoggerFactory.getLogger(InterceptorConfig.class);
 
+    // 認証対象ルート（起動時にコンパイル）
+    private static final RouteTrieMatcher NORMALITY_CHECK_ROUTE = CommonRouter.compile("/api/v1/normality-check");
+
     private final JwtService jwtService;
 
     public InterceptorConfig(JwtService jwtService) {
@@ -31,26 +35,21 @@ public class InterceptorConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new AuthInterceptor(
+        registry.addInterceptor(new AuthInterceptor().setDecision(
             handler -> {
-                CommonRouter.match("/api/v1/normality-check").check(
-                    r ->{
-                        logger.info("認証開始");
-                        if(CommonHolder.getRequest().getCookieValue(Message.Cookie.AUTH) != null && !CommonHolder.getRequest().getCookieValue(Message.Cookie.AUTH).isEmpty()){
-                            boolean result = jwtService.validateToken(
-                                CommonHolder.getRequest().getCookieValue(Message.Cookie.AUTH), 
-                                JwtConstants.VALIDATE_TYPE_DATABASE_DATABASE
-                            );
-                            logger.info("認證結束");
-                            logger.debug("認證結果: {}", result);
-                            if (!result) {
-                                throw new StopMatchException("認證失敗");
-                            }
-                        } else {
-                            logger.info("トークンが存在しません");
-                        }
-                    }
-                );
+                if (!CommonRouter.isMatchCurrURI(NORMALITY_CHECK_ROUTE)) {
+                    return AuthDecision.allow();
+                }
+                logger.info("認証開始");
+                String token = CommonHolder.getRequest().getCookieValue(Message.Cookie.AUTH);
+                if (token == null || token.isEmpty()) {
+                    logger.info("トークンが存在しません");
+                    return AuthDecision.allow();
+                }
+                boolean result = jwtService.validateToken(token, JwtConstants.VALIDATE_TYPE_DATABASE_DATABASE);
+                logger.info("認證結束");
+                logger.debug("認證結果: {}", result);
+                return result ? AuthDecision.allow() : AuthDecision.unauthorized(Message.W401);
             }
         )).addPathPatterns("/**");
     }
@@ -1,10 +1,15 @@
 package com.collaboportal.common.spring;
 
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 import com.collaboportal.common.config.CommonConfig;
+import com.collaboportal.common.config.ConfigFileWatcher;
 
 /**
  * 共通設定の自動設定クラス
@@ -23,4 +28,17 @@ public class CommonConfigAutoConfiguration {
     public CommonConfig getCommonConfig(){
         return new CommonConfig();
     }
+
+    /**
+     * 設定ファイルの変更監視Beanを生成する
+     * "common.config.watch-file"にファイルシステム上の設定ファイルが指定された場合のみ有効になり、
+     * ファイルの変更を検知するとConfigManagerの設定スナップショットを差し替える
+     * @param watchFile 監視する設定ファイルのパス
+     * @return ConfigFileWatcher 設定ファイル監視オブジェクト
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnExpression("!'${common.config.watch-file:}'.isEmpty()")
+    public ConfigFileWatcher commonConfigFileWatcher(@Value("${common.config.watch-file}") String watchFile) {
+        return new ConfigFileWatcher(Path.of(watchFile));
+    }
 }
@@ -1,17 +1,20 @@
 // ファイルパス: com/collaboportal/common/spring/common/CommonAuthConfiguration.java
 package com.collaboportal.common.spring.common;
 
-import com.collaboportal.common.context.CommonHolder;
-
 import com.collaboportal.common.filter.AuthorizationServletFilter;
 import com.collaboportal.common.registry.AuthorizationStrategyRegistry;
-import com.collaboportal.common.strategy.authorization.AuthorizationStrategy;
+import com.collaboportal.common.spring.oauth2.OAuth2ConfigurationProperties;
+import com.collaboportal.common.strategy.authorization.AuthStrategyDispatcher;
+
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -19,9 +22,12 @@ public class CommonAuthConfiguration implements WebMvcConfigurer {
 
     Logger logger = LoggerFactory.getLogger(CommonAuthConfiguration.class);
 
+    // OAuth2認証戦略の認証タイプ
+    private static final String OAUTH2_AUTH_TYPE = "oauth2";
+
     @Bean
-    public AuthorizationServletFilter getAuthorizationServletFilter(
-            AuthorizationStrategyRegistry strategyRegistry) {
+    public AuthorizationServletFilter getAuthorizationServletFilter(AuthorizationStrategyRegistry strategyRegistry,
+            ObjectProvider<OAuth2ConfigurationProperties> oauth2Properties, Environment environment) {
         return new AuthorizationServletFilter()
                 .addInclude("/**")
                 .addExclude("/static/**",
@@ -32,20 +38,41 @@ public class CommonAuthConfiguration implements WebMvcConfigurer {
                         "/login.html", "/auth/login", "/error", "/static/**", "/favicon.ico",
                         "/testEnv",
                         "/testEnv.html")
-                .setAuth((res, resp) -> {
-                    try {
-                        String authorizationType = CommonHolder.getRequest().getHeader("Authorization-Type");
-                        AuthorizationStrategy strategy = strategyRegistry.getStrategy(authorizationType);
-                        if (strategy == null) {
-                            throw new UnsupportedOperationException("サポートされていない認証タイプ: " + authorizationType);
-                        }
-                        strategy.authenticate(CommonHolder.getRequest(), CommonHolder.getResponse());
-                    } catch (Exception e) {
-                        // ❶ 重要ポイント：完全なスタックトレースを出力
-                        logger.error("認証例外: {}", e.getMessage(), e);
-                    }
-                });
+                .setAuth(buildStrategyDispatcher(strategyRegistry, oauth2Properties.getIfAvailable(), environment));
+
+    }
 
+    /**
+     * 認証戦略ディスパッチャーを生成します。
+     * OAuth2プロバイダーの pathPatterns を "oauth2" タイプのルートとしてコンパイルし、
+     * {@code common.auth.defaultType} をどのルートにもマッチしない場合の認証タイプとします。
+     * デフォルトの認証タイプが未設定の場合は警告を出力し、ヘッダーとルートのいずれにも該当しないリクエストを401拒否とします。
+     * 未登録の認証タイプが指定されている場合は起動時に失敗します。
+     * ディスパッチャー自体も認証戦略であるため、レジストリへの循環登録を避けるようBeanにはしません。
+     */
+    private AuthStrategyDispatcher buildStrategyDispatcher(AuthorizationStrategyRegistry strategyRegistry,
+            OAuth2ConfigurationProperties properties, Environment environment) {
+        AuthStrategyDispatcher.Builder builder = AuthStrategyDispatcher.builder(strategyRegistry);
+        if (properties != null) {
+            properties.getProviders().forEach((providerId, provider) -> {
+                if (provider.getPathPatterns() != null && provider.getPathPatterns().length > 0) {
+                    logger.debug("OAuth2認証ルートを登録します: {} -> {}", providerId, Arrays.toString(provider.getPathPatterns()));
+                    builder.route(OAUTH2_AUTH_TYPE, provider.getPathPatterns());
+                }
+            });
+        }
+        String defaultType = environment.getProperty("common.auth.defaultType");
+        if (defaultType == null || defaultType.isBlank()) {
+            // 従来通りヘッダーのみで認証タイプを選択する構成を許容し、解決できないリクエストはディスパッチャーで401拒否とする
+            logger.warn("デフォルトの認証タイプが設定されていません（common.auth.defaultType）。"
+                    + "Authorization-Typeヘッダーとルートのいずれにも該当しないリクエストは401で拒否します。登録済み認証タイプ: {}",
+                    strategyRegistry.getTypes());
+            builder.defaultType(null);
+        } else {
+            builder.defaultType(defaultType.trim());
+        }
+        logger.info("認証戦略ディスパッチャーを初期化しました。登録済み認証タイプ: {}", strategyRegistry.getTypes());
+        return builder.build();
     }
 
     @Bean
@@ -0,0 +1,54 @@
+package com.collaboportal.common.spring.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.ContextCarrier;
+import com.collaboportal.common.utils.VirtualThreads;
+
+/**
+ * 仮想スレッド実行モードの自動設定クラス
+ * {@code common.execution.virtual-threads=true} の場合に有効になります。
+ *
+ * <ul>
+ * <li>リクエスト処理の仮想スレッド化は {@link VirtualThreadEnvironmentPostProcessor} が行います。</li>
+ * <li>{@code common.execution.scoped-context=true} かつ {@code java.lang.ScopedValue} が利用できる場合、
+ * {@link ConfigManager} のコンテキスト束縛をThreadLocalからScopedValueに切り替えます。</li>
+ * </ul>
+ *
+ * Java 17等で仮想スレッドが利用できない場合は警告を出力し、従来のプラットフォームスレッドで動作します。
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "common.execution", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadAutoConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadAutoConfiguration.class);
+
+    /**
+     * コンストラクタ
+     * 起動時（リクエスト受付前）にコンテキストの束縛方式を決定します。
+     *
+     * @param environment 環境設定
+     */
+    public VirtualThreadAutoConfiguration(Environment environment) {
+        if (!VirtualThreads.isSupported()) {
+            logger.warn("[仮想スレッド] 実行中のJVM（{}）は仮想スレッドに対応していないため、プラットフォームスレッドで動作します",
+                    System.getProperty("java.version"));
+            return;
+        }
+        if (environment.getProperty("common.execution.scoped-context", Boolean.class, false)) {
+            if (ContextCarrier.isScopedValueAvailable()) {
+                ConfigManager.setContextCarrier(ContextCarrier.scopedValue());
+            } else {
+                logger.warn("[仮想スレッド] java.lang.ScopedValue が利用できないため、ThreadLocalでコンテキストを束縛します");
+            }
+        }
+        logger.info("[仮想スレッド] 仮想スレッド実行モードを有効化しました - リクエストスレッド: {}, コンテキスト束縛: {}",
+                environment.getProperty("spring.threads.virtual.enabled", "false"),
+                ConfigManager.getContextCarrier().name());
+    }
+}
@@ -0,0 +1,44 @@
+package com.collaboportal.common.spring.execution;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import com.collaboportal.common.utils.VirtualThreads;
+
+/**
+ * 仮想スレッド実行モードの環境設定
+ * {@code common.execution.virtual-threads=true} かつJava 21以降で起動した場合、
+ * Spring Bootの {@code spring.threads.virtual.enabled} を既定値としてtrueにします。
+ * これによりTomcatのリクエスト処理スレッドと {@code applicationTaskExecutor} が仮想スレッドになり、
+ * IdPとのトークン交換（OkHttpの {@code execute()}）やユーザーマスタ参照などのブロッキング処理が
+ * プラットフォームスレッドを占有しなくなります。
+ *
+ * <p>アプリケーション側で {@code spring.threads.virtual.enabled} を明示している場合はその値を優先します。</p>
+ */
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /** 仮想スレッド実行モードを有効にするプロパティ */
+    public static final String VIRTUAL_THREADS_PROPERTY = "common.execution.virtual-threads";
+
+    // Spring Bootの仮想スレッド有効化プロパティ
+    private static final String SPRING_VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    // 追加するプロパティソース名
+    private static final String PROPERTY_SOURCE_NAME = "commonVirtualThreadDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)
+                || !VirtualThreads.isSupported()
+                || environment.containsProperty(SPRING_VIRTUAL_THREADS_PROPERTY)) {
+            return;
+        }
+        // 最も優先度の低いプロパティソースとして追加し、明示的な設定を上書きしない
+        environment.getPropertySources().addLast(
+                new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(SPRING_VIRTUAL_THREADS_PROPERTY, "true")));
+    }
+}
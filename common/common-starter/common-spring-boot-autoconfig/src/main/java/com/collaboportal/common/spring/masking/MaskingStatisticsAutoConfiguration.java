@@ -0,0 +1,43 @@
+package com.collaboportal.common.spring.masking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.collaboportal.common.LogMaskingManager;
+import com.collaboportal.common.masking.MaskingStatistics;
+
+/**
+ * マスキング統計の公開の自動設定クラス
+ * {@code common.log-mask.statistics-endpoint=true} の場合に、{@link LogMaskingManager#getComprehensiveStatistics()}
+ * （{@link MaskingStatistics} の集計・非同期Appenderのキュー情報を含む）をJSONで返すエンドポイントを登録します。
+ *
+ * <p>パスは {@code common.log-mask.statistics-path}（既定: {@code /api/v1/masking-statistics}）で変更できます。
+ * 認証の対象外URL（{@code common.util.noAuthUrl}）に含めない限り、通常のAPIと同じく認証が必要です。
+ * 集計自体は {@code LogMaskConfig} の {@code enableMaskingStats} が有効な場合のみ行われます。</p>
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "common.log-mask", name = "statistics-endpoint", havingValue = "true")
+public class MaskingStatisticsAutoConfiguration {
+
+    /**
+     * マスキング統計のエンドポイント
+     *
+     * @param path エンドポイントのパス
+     * @return ルーティング
+     */
+    @Bean
+    public RouterFunction<ServerResponse> maskingStatisticsRoute(
+            @Value("${common.log-mask.statistics-path:/api/v1/masking-statistics}") String path) {
+        return RouterFunctions.route()
+                .GET(path, request -> ServerResponse.ok()
+                        .body(LogMaskingManager.getInstance().getComprehensiveStatistics()))
+                .build();
+    }
+}
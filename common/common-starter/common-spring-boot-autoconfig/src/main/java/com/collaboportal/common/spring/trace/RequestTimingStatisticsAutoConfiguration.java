@@ -0,0 +1,40 @@
+package com.collaboportal.common.spring.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.collaboportal.common.trace.TimingStage;
+
+/**
+ * 処理段階ごとの処理時間統計の公開の自動設定クラス
+ * {@code common.trace.statistics-endpoint=true} の場合に、{@link TimingStage#getStatistics()}
+ * （段階ごとの件数・平均・p50・p90・p99・最大値、マイクロ秒）をJSONで返すエンドポイントを登録します。
+ *
+ * <p>パスは {@code common.trace.statistics-path}（既定: {@code /api/v1/request-timing-statistics}）で変更できます。
+ * 認証の対象外URL（{@code common.util.noAuthUrl}）に含めない限り、通常のAPIと同じく認証が必要です。</p>
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "common.trace", name = "statistics-endpoint", havingValue = "true")
+public class RequestTimingStatisticsAutoConfiguration {
+
+    /**
+     * 処理段階ごとの処理時間統計のエンドポイント
+     *
+     * @param path エンドポイントのパス
+     * @return ルーティング
+     */
+    @Bean
+    public RouterFunction<ServerResponse> requestTimingStatisticsRoute(
+            @Value("${common.trace.statistics-path:/api/v1/request-timing-statistics}") String path) {
+        return RouterFunctions.route()
+                .GET(path, request -> ServerResponse.ok().body(TimingStage.getStatistics()))
+                .build();
+    }
+}
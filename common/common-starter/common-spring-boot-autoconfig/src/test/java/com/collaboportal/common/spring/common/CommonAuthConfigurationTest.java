@@ -0,0 +1,86 @@
+package com.collaboportal.common.spring.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.filter.AuthorizationServletFilter;
+import com.collaboportal.common.registry.AuthorizationStrategyRegistry;
+import com.collaboportal.common.strategy.authorization.AuthDecision;
+import com.collaboportal.common.strategy.authorization.AuthDecisionStrategy;
+
+/**
+ * {@link CommonAuthConfiguration} のテスト
+ * スターター同梱の application-common.properties を読み込んで起動し、認証戦略の選択を確認します。
+ */
+class CommonAuthConfigurationTest {
+
+    // 常に認証成功とする戦略
+    private static final AuthDecisionStrategy DATABASE = (req, resp) -> AuthDecision.allow();
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(context -> {
+                try {
+                    context.getEnvironment().getPropertySources()
+                            .addLast(new ResourcePropertySource("classpath:application-common.properties"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .withBean(AuthorizationStrategyRegistry.class,
+                    () -> new AuthorizationStrategyRegistry(Map.of("databaseAuthStrategy", DATABASE)))
+            .withUserConfiguration(CommonAuthConfiguration.class);
+
+    @Test
+    void startsWithDefaultProperties() {
+        runner.run(context -> {
+            assertThat(context).hasNotFailed();
+            AuthorizationServletFilter filter = context.getBean(AuthorizationServletFilter.class);
+
+            // ヘッダーで指定された認証タイプは従来通り選択される
+            assertThat(filter.auth.decide(request("database"), mock(BaseResponse.class)).isAllowed()).isTrue();
+
+            // ヘッダーもルートも該当しない場合は認証なしで通さず401拒否
+            AuthDecision decision = filter.auth.decide(request(null), mock(BaseResponse.class));
+            assertThat(decision).isInstanceOf(AuthDecision.Reject.class);
+            assertThat(((AuthDecision.Reject) decision).status()).isEqualTo(401);
+        });
+    }
+
+    @Test
+    void usesConfiguredDefaultType() {
+        runner.withPropertyValues("common.auth.defaultType=database").run(context -> {
+            assertThat(context).hasNotFailed();
+            AuthorizationServletFilter filter = context.getBean(AuthorizationServletFilter.class);
+            assertThat(filter.auth.decide(request(null), mock(BaseResponse.class)).isAllowed()).isTrue();
+        });
+    }
+
+    @Test
+    void failsOnUnregisteredDefaultType() {
+        runner.withPropertyValues("common.auth.defaultType=unknown").run(context -> {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure()).rootCause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("unknown");
+        });
+    }
+
+    private static BaseRequest request(String authType) {
+        BaseRequest request = mock(BaseRequest.class);
+        when(request.getHeader("Authorization-Type")).thenReturn(authType);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestPath()).thenReturn("/api/v1/users");
+        return request;
+    }
+}
@@ -0,0 +1,51 @@
+package com.collaboportal.common.spring.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.EntityResponse;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.collaboportal.common.trace.TimingStage;
+
+/**
+ * {@link RequestTimingStatisticsAutoConfiguration} のテスト
+ */
+class RequestTimingStatisticsAutoConfigurationTest {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RequestTimingStatisticsAutoConfiguration.class));
+
+    @Test
+    void endpointIsNotRegisteredByDefault() {
+        runner.run(context -> assertThat(context).doesNotHaveBean("requestTimingStatisticsRoute"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void endpointReturnsStageStatistics() {
+        TimingStage.CONTROLLER.getHistogram().record(1_000_000L);
+        runner.withPropertyValues("common.trace.statistics-endpoint=true",
+                "common.trace.statistics-path=/internal/timings")
+                .run(context -> {
+                    RouterFunction<ServerResponse> route = context.getBean("requestTimingStatisticsRoute",
+                            RouterFunction.class);
+                    ServerRequest request = ServerRequest.create(new MockHttpServletRequest("GET", "/internal/timings"),
+                            List.of(new MappingJackson2HttpMessageConverter()));
+                    HandlerFunction<ServerResponse> handler = route.route(request).orElseThrow();
+
+                    Object body = ((EntityResponse<?>) handler.handle(request)).entity();
+                    assertThat((Map<String, Object>) body).containsKey(TimingStage.CONTROLLER.getName());
+                });
+    }
+}
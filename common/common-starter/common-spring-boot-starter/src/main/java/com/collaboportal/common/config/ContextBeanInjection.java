@@ -1,21 +1,36 @@
 package com.collaboportal.common.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
 
+import com.collaboportal.common.context.ContextPropagation;
 import com.collaboportal.common.filter.CommonContextBindingFilter;
+import com.collaboportal.common.filter.CommonContextRebindingFilter;
 
 import jakarta.servlet.DispatcherType;
 
 @Configuration
+// 同じ順序値のフィルターは登録順に並ぶため、LogbookのフィルターよりもctxRebindingFilterを後に登録する
+@AutoConfigureAfter(name = "org.zalando.logbook.autoconfigure.LogbookAutoConfiguration")
 public class ContextBeanInjection {
 
+    /**
+     * リクエストコンテキストを束縛するフィルター
+     *
+     * @param serverTiming 処理段階ごとの処理時間を {@code Server-Timing} ヘッダーに出力するか
+     * @return フィルター登録情報
+     */
     @Bean
-    public FilterRegistrationBean<CommonContextBindingFilter> ctxBindingFilter() {
+    public FilterRegistrationBean<CommonContextBindingFilter> ctxBindingFilter(
+            @Value("${common.trace.server-timing:false}") boolean serverTiming) {
         FilterRegistrationBean<CommonContextBindingFilter> bean = new FilterRegistrationBean<>(
-                new CommonContextBindingFilter());
+                new CommonContextBindingFilter(serverTiming));
         bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
         bean.addUrlPatterns("/*", "/error");
         bean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.ERROR, DispatcherType.INCLUDE, DispatcherType.ASYNC);
@@ -23,4 +38,32 @@ public class ContextBeanInjection {
         return bean;
     }
 
+    /**
+     * 後続のフィルター（Logbook、Spring Security等）がラップしたServletオブジェクトでコンテキストを束縛し直すフィルター
+     * ラップ後のオブジェクトを受け取れるよう、最も内側（Logbookのフィルターと同じ最低優先度）に登録します。
+     *
+     * @return フィルター登録情報
+     */
+    @Bean
+    public FilterRegistrationBean<CommonContextRebindingFilter> ctxRebindingFilter() {
+        FilterRegistrationBean<CommonContextRebindingFilter> bean = new FilterRegistrationBean<>(
+                new CommonContextRebindingFilter());
+        bean.setOrder(Ordered.LOWEST_PRECEDENCE);
+        bean.addUrlPatterns("/*", "/error");
+        bean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.ERROR, DispatcherType.INCLUDE, DispatcherType.ASYNC);
+
+        return bean;
+    }
+
+    /**
+     * リクエストコンテキストを引き継ぐタスクデコレーター
+     * Spring Boot が自動構成する {@code applicationTaskExecutor} に適用され、
+     * {@code @Async} やSpring MVCの非同期処理（Callable等）でも {@code CommonHolder} を参照できるようにします。
+     */
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return ContextPropagation.taskDecorator();
+    }
+
 }
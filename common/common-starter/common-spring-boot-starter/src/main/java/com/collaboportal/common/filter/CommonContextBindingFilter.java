@@ -3,7 +3,10 @@ package com.collaboportal.common.filter;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.collaboportal.common.ConfigManager;
-import com.collaboportal.common.spring.ContextForSpringInJakartaServlet;
+import com.collaboportal.common.spring.BoundRequestContext;
+import com.collaboportal.common.trace.RequestTimings;
+import com.collaboportal.common.trace.ServerTimingResponseWrapper;
+import com.collaboportal.common.trace.TimingStage;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +21,31 @@ public class CommonContextBindingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(CommonContextBindingFilter.class);
 
+    // 処理段階ごとの処理時間をServer-Timingヘッダーに出力するか
+    private final boolean serverTiming;
+
+    public CommonContextBindingFilter() {
+        this(false);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param serverTiming 処理段階ごとの処理時間を {@code Server-Timing} ヘッダーに出力する場合はtrue
+     */
+    public CommonContextBindingFilter(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    /**
+     * サーブレット非同期処理のASYNCディスパッチでもコンテキストを束縛します。
+     * 非同期処理の再開時もコンテナスレッドから {@code CommonHolder} を参照できるようにするためです。
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
@@ -32,12 +60,34 @@ public class CommonContextBindingFilter extends OncePerRequestFilter {
         }
 
         logger.debug("[CTX-SET] tid={} dt={} uri={}", tid, dt, uri); 
-        ConfigManager.setCommonContext(new ContextForSpringInJakartaServlet());
+        // スロット表と処理時間はコンテキストを伝播する前にコンテナスレッドで作成し、以降は作成済みのものを共有する
+        RequestTimings timings = RequestTimings.of(request);
+        long start = timings.begin(TimingStage.TOTAL);
+        // Server-Timingはコミット前にしか設定できないため、ボディの書き込み開始時に設定するラッパーを使用
+        ServerTimingResponseWrapper timingResponse = serverTiming
+                ? new ServerTimingResponseWrapper(response, timings)
+                : null;
+        HttpServletResponse target = timingResponse != null ? timingResponse : response;
+        // リクエスト単位のコンテキストを束縛し、以降の取得はフィールド参照のみで完結させる
+        // 後続のフィルターがラップした場合は CommonContextRebindingFilter がラップ後のオブジェクトで束縛し直す
+        // 束縛は処理の範囲内に限定され、終了時に解除される（ScopedValue方式では仮想スレッドにThreadLocalを残さない）
         try {
-            logger.info("[CTX-CLEAR] tid={} dt={} uri={}", tid, dt, uri); 
-            filterChain.doFilter(request, response);
+            long bindStart = System.nanoTime();
+            ConfigManager.runWithCommonContext(new BoundRequestContext(request, target), () -> {
+                timings.record(TimingStage.CONTEXT_BINDING, System.nanoTime() - bindStart);
+                logger.info("[CTX-CLEAR] tid={} dt={} uri={}", tid, dt, uri); 
+                filterChain.doFilter(request, target);
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
         } finally {
-            ConfigManager.clearContext();
+            if (timingResponse != null) {
+                // ボディを書き込まなかった応答にも設定する（コミット済みの場合は何もしない）
+                timingResponse.addServerTiming();
+            }
+            timings.end(TimingStage.TOTAL, start);
         }
     }
 }
\ No newline at end of file
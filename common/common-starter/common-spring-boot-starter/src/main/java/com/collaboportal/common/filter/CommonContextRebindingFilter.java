@@ -0,0 +1,72 @@
+package com.collaboportal.common.filter;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.collaboportal.common.ConfigManager;
+import com.collaboportal.common.context.CommonContext;
+import com.collaboportal.common.spring.BoundRequestContext;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequestWrapper;
+import jakarta.servlet.ServletResponseWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * ラップ後のServletオブジェクトでコンテキストを束縛し直すフィルター
+ * {@link CommonContextBindingFilter} は最も外側で動作するため、束縛時のServletオブジェクトは
+ * 後続のフィルター（Logbook、Spring Security等）がラップする前のものです。
+ * このフィルターは最も内側に登録し、受け取ったリクエスト・レスポンスが束縛中のものをラップしている場合に限り、
+ * それらを保持する {@link BoundRequestContext} をリクエストごとに1度だけ束縛し直します。
+ * ラップされていない場合は何も生成せずに後続へ進みます。
+ */
+public class CommonContextRebindingFilter extends OncePerRequestFilter {
+
+    /**
+     * ASYNCディスパッチでも {@link CommonContextBindingFilter} が束縛し直すため、同様にラップ後のオブジェクトで束縛し直します。
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+        CommonContext current = ConfigManager.peekCommonContext();
+        if (!(current instanceof BoundRequestContext bound)
+                || !needsRebinding(bound, request, response)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            ConfigManager.runWithCommonContext(new BoundRequestContext(request, response),
+                    () -> filterChain.doFilter(request, response));
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    // 束縛中のServletオブジェクトのいずれかが後続のフィルターでラップされているか
+    private static boolean needsRebinding(BoundRequestContext bound, HttpServletRequest request,
+            HttpServletResponse response) {
+        HttpServletRequest boundRequest = bound.getServletRequest();
+        HttpServletResponse boundResponse = bound.getServletResponse();
+        if (request == boundRequest && response == boundResponse) {
+            return false;
+        }
+        // 別のリクエストの処理中に束縛されたコンテキストを取り違えないよう、ラップの関係を確認する
+        boolean requestWrapped = request == boundRequest
+                || request instanceof ServletRequestWrapper wrapper && wrapper.isWrapperFor(boundRequest);
+        boolean responseWrapped = response == boundResponse
+                || response instanceof ServletResponseWrapper wrapper && wrapper.isWrapperFor(boundResponse);
+        return requestWrapped && responseWrapped;
+    }
+}
@@ -0,0 +1,102 @@
+package com.collaboportal.common.spring;
+
+import java.util.Collection;
+
+import com.collaboportal.common.context.CommonContext;
+import com.collaboportal.common.context.web.BaseRequest;
+import com.collaboportal.common.context.web.BaseResponse;
+import com.collaboportal.common.context.web.BaseStorage;
+import com.collaboportal.common.servlet.RequestForServlet;
+import com.collaboportal.common.servlet.ResponseForServlet;
+import com.collaboportal.common.servlet.StorageForServlet;
+import com.collaboportal.common.utils.PathPatternParserUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * リクエスト単位で束縛される不変のコンテキスト
+ * {@link com.collaboportal.common.filter.CommonContextBindingFilter} がリクエストごとに1つ生成し、
+ * Request/Response/Storage のラッパーとServletオブジェクトを直接保持します。
+ *
+ * <p>{@link ContextForSpringInJakartaServlet} と異なり、取得のたびに
+ * {@code RequestContextHolder} を参照したりラッパーを生成したりせず、フィールドを返すだけです。</p>
+ *
+ * <p>束縛後に後続のフィルター（Logbook、Spring Security等）がServletオブジェクトをラップした場合は、
+ * {@link com.collaboportal.common.filter.CommonContextRebindingFilter} がラップ後のオブジェクトで
+ * 新しいコンテキストを1度だけ束縛し直します。</p>
+ */
+public final class BoundRequestContext implements CommonContext {
+
+	private final HttpServletRequest servletRequest;
+	private final HttpServletResponse servletResponse;
+	private final BaseRequest request;
+	private final BaseResponse response;
+	private final BaseStorage storage;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param servletRequest  現在のリクエスト
+	 * @param servletResponse 現在のレスポンス
+	 */
+	public BoundRequestContext(HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+		this.servletRequest = servletRequest;
+		this.servletResponse = servletResponse;
+		this.request = new RequestForServlet(servletRequest);
+		this.response = new ResponseForServlet(servletResponse);
+		this.storage = new StorageForServlet(servletRequest);
+	}
+
+	@Override
+	public BaseRequest getRequest() {
+		return request;
+	}
+
+	@Override
+	public BaseResponse getResponse() {
+		return response;
+	}
+
+	@Override
+	public BaseStorage getStorage() {
+		return storage;
+	}
+
+	/**
+	 * 束縛されたServletリクエストを取得します。
+	 *
+	 * @return Servletリクエスト
+	 */
+	public HttpServletRequest getServletRequest() {
+		return servletRequest;
+	}
+
+	/**
+	 * 束縛されたServletレスポンスを取得します。
+	 *
+	 * @return Servletレスポンス
+	 */
+	public HttpServletResponse getServletResponse() {
+		return servletResponse;
+	}
+
+	@Override
+	public boolean matchPath(String pattern, String path) {
+		return PathPatternParserUtil.match(pattern, path);
+	}
+
+	@Override
+	public boolean matchAnyPath(Collection<String> patterns, String path) {
+		return PathPatternParserUtil.matchAny(patterns, path);
+	}
+
+	/**
+	 * 束縛中のリクエストに対しては常に有効です。
+	 */
+	@Override
+	public boolean isValid() {
+		return true;
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.collaboportal.common.spring;
 
+import java.util.Collection;
+
 import com.collaboportal.common.context.CommonContext;
 import com.collaboportal.common.context.web.BaseRequest;
 import com.collaboportal.common.context.web.BaseResponse;
@@ -47,6 +49,14 @@ public class ContextForSpringInJakartaServlet implements CommonContext {
 		return PathPatternParserUtil.match(pattern, path);
 	}
 
+	/**
+	 * パターンのいずれかがパスにマッチするか判定します（パス解析は一度のみ）
+	 */
+	@Override
+	public boolean matchAnyPath(Collection<String> patterns, String path) {
+		return PathPatternParserUtil.matchAny(patterns, path);
+	}
+
 	/**
 	 * 今回のリクエストでこのコンテキストが有効かどうかを判定します
 	 */